@@ -0,0 +1,319 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.base.datamodel.data.ProfileInfo;
+import org.omnione.did.base.datamodel.data.ReqVc;
+import org.omnione.did.base.datamodel.data.claim.NationalIdClaimInfo;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.datamodel.enums.SymmetricCipherType;
+import org.omnione.did.base.datamodel.enums.SymmetricPaddingType;
+import org.omnione.did.base.util.BaseCoreVcUtil;
+import org.omnione.did.base.util.BaseCryptoUtil;
+import org.omnione.did.base.util.BaseDigestUtil;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.common.util.DateTimeUtil;
+import org.omnione.did.common.util.JsonUtil;
+import org.omnione.did.core.data.rest.ClaimInfo;
+import org.omnione.did.core.data.rest.IssueVcParam;
+import org.omnione.did.core.data.rest.SignatureVcParams;
+import org.omnione.did.core.manager.VcManager;
+import org.omnione.did.crypto.keypair.EcKeyPair;
+import org.omnione.did.crypto.util.SignatureUtils;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.did.Proof;
+import org.omnione.did.data.model.enums.did.ProofPurpose;
+import org.omnione.did.data.model.enums.did.ProofType;
+import org.omnione.did.data.model.enums.vc.VcType;
+import org.omnione.did.data.model.profile.issue.IssueProfile;
+import org.omnione.did.data.model.vc.DocumentVerificationEvidence;
+import org.omnione.did.data.model.vc.VerifiableCredential;
+import org.omnione.did.issuer.v1.dto.demo.InsertUserReqDto;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplate;
+import org.omnione.did.issuer.v1.service.query.VcSchemaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the Verifiable Credential issuance hot path.
+ * Each benchmark mirrors one stage of {@code IssueServiceBase.issueVc} in isolation,
+ * and {@link #issueVcEndToEnd()} chains them in the same order as the service.
+ * DB and storage round-trips are left out so only per-request CPU and allocation are measured.
+ * The wallet signature is replaced with an in-memory key pair signing the same SHA-256 digest.
+ *
+ * Run with {@code ./gradlew jmh}; results are written to {@code build/results/jmh/results.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IssueVcBenchmark {
+    private static final String HOLDER_DID = "did:omn:holder";
+    private static final String ISSUER_NAME = "issuer";
+    private static final String CERT_VC_REF = "http://127.0.0.1:8091/issuer/api/v1/certificate-vc";
+    private static final String ASSERT_SIGN_KEY_ID = "assert";
+    private static final String CURVE = EccCurveType.SECP_256_R1.toString();
+    private static final String CIPHER = SymmetricCipherType.AES_256_CBC.toString();
+    private static final String PADDING = SymmetricPaddingType.PKCS5.toString();
+    private static final String ISSUER_DID_DOCUMENT = """
+            {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["assert"],"authentication":["auth"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:issuer","keyAgreement":["keyagree"],"proofs":[{"created":"2024-07-12T08:35:17Z","proofPurpose":"assertionMethod","proofValue":"signatureValue..1","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#assert"},{"created":"2024-07-12T08:35:17Z","proofPurpose":"authentication","proofValue":"signatureValue..2","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#auth"}],"service":[{"id":"serviceID-1","serviceEndpoint":["https://did.omnione.net"],"type":"LinkedDomains"},{"id":"serviceID-2","serviceEndpoint":["https://did.omnione.net/ld/certificate/1234"],"type":"LinkedDomains"}],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:issuer","id":"assert","publicKeyMultibase":"zvXsXFNahfw9Cz4KQEdLjBtoUEUiVHoMxWs23j6axNuTP","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"auth","publicKeyMultibase":"z21Fy2h5uqmhw8xSVxBXNtBbVVjPTuKMam8ebz2FR7CD62","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"keyagree","publicKeyMultibase":"znByKCSPznGAKc48CF7i7BhWuhEnz2U7sU4m5TxTrJVEf","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
+            """;
+    private static final String EVIDENCE = """
+            {
+                "evidenceDocument":"BusinessLicense",
+                "subjectPresence":"Physical",
+                "documentPresence":"Physical",
+                "type":"DocumentVerification",
+                "verifier":"did:omn:tas"
+            }
+            """;
+
+    private EcKeyPair issuerSigningKeyPair;
+    private String sessionKey;
+    private String holderPublicKey;
+    private String nonce;
+    private String accIv;
+    private String encReqVc;
+    private String reqVcJson;
+    private byte[] sharedSecretKey;
+    private byte[] mergedKey;
+    private byte[] responseIv;
+    private String vcSchema;
+    private String userData;
+    private IssuanceTemplate issuanceTemplate;
+    private final VcManager vcManager = new VcManager();
+    private VerifiableCredential verifiableCredential;
+    private String vcJson;
+    private IssueProfile issueProfile;
+    private byte[] multibaseSource;
+    private String multibaseEncoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EcKeyPair sessionKeyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1);
+        EcKeyPair holderKeyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1);
+        issuerSigningKeyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1);
+
+        sessionKey = BaseMultibaseUtil.encode(sessionKeyPair.getPrivateKey().getEncoded());
+        holderPublicKey = BaseMultibaseUtil.encode(BaseCryptoUtil.compressPublicKey(
+                ((ECPublicKey) holderKeyPair.getPublicKey()).getEncoded(), EccCurveType.SECP_256_R1));
+        nonce = BaseCryptoUtil.generateNonceWithMultibase(16);
+
+        // Holder side: derive the same key against the issuer session public key and encrypt ReqVc.
+        byte[] issuerPublicKey = BaseCryptoUtil.compressPublicKey(
+                ((ECPublicKey) sessionKeyPair.getPublicKey()).getEncoded(), EccCurveType.SECP_256_R1);
+        byte[] holderSharedSecret = BaseCryptoUtil.generateSharedSecret(issuerPublicKey,
+                holderKeyPair.getPrivateKey().getEncoded(), EccCurveType.SECP_256_R1);
+        byte[] holderMergedKey = BaseCryptoUtil.mergeSharedSecretAndNonce(holderSharedSecret,
+                BaseMultibaseUtil.decode(nonce), SymmetricCipherType.AES_256_CBC);
+
+        ReqVc reqVc = ReqVc.builder()
+                .refId("REFID0000000000000000000001")
+                .profile(new ProfileInfo("f0a3e5c2-7c1c-4a3e-9b58-7b8f2a6c9d10", nonce))
+                .build();
+        reqVcJson = new ObjectMapper().writeValueAsString(reqVc);
+
+        byte[] iv = BaseCryptoUtil.generateInitialVector();
+        accIv = BaseMultibaseUtil.encode(iv);
+        encReqVc = BaseMultibaseUtil.encode(BaseCryptoUtil.encrypt(reqVcJson, holderMergedKey, iv,
+                SymmetricCipherType.AES_256_CBC, SymmetricPaddingType.PKCS5));
+
+        sharedSecretKey = generateSharedSecretKey();
+        mergedKey = mergeSharedSecretAndNonce(sharedSecretKey);
+        responseIv = BaseCryptoUtil.generateInitialVector();
+
+        VcSchemaService vcSchemaService = new VcSchemaService();
+        Field issuerDomain = ReflectionUtils.findField(VcSchemaService.class, "ISSUER_DOMAIN");
+        ReflectionUtils.makeAccessible(issuerDomain);
+        ReflectionUtils.setField(issuerDomain, vcSchemaService, "http://127.0.0.1:8091/issuer");
+        vcSchema = vcSchemaService.getNationalIdSchema();
+        userData = new ObjectMapper().writeValueAsString(new InsertUserReqDto());
+
+        issuanceTemplate = IssuanceTemplate.of(VcPlanId.VCPLANID000000000002, vcSchema, ISSUER_DID_DOCUMENT,
+                EVIDENCE, ISSUER_NAME, CERT_VC_REF);
+
+        verifiableCredential = issueVerifiableCredential();
+        vcJson = verifiableCredential.toJson();
+
+        issueProfile = new IssueProfile();
+        issueProfile.setId("f0a3e5c2-7c1c-4a3e-9b58-7b8f2a6c9d10");
+        issueProfile.setType("IssueProfile");
+        issueProfile.setTitle("National ID");
+        issueProfile.setDescription("National ID");
+        issueProfile.setEncoding("UTF-8");
+        issueProfile.setLanguage("ko");
+        Proof proof = new Proof();
+        proof.setType(ProofType.SECP256R1_SIGNATURE_2018.getRawValue());
+        proof.setProofPurpose(ProofPurpose.ASSERTION_METHOD.getRawValue());
+        proof.setCreated(DateTimeUtil.getCurrentUTCTimeString());
+        proof.setVerificationMethod("did:omn:issuer#" + ASSERT_SIGN_KEY_ID);
+        issueProfile.setProof(proof);
+
+        multibaseSource = BaseCryptoUtil.generateNonce(64);
+        multibaseEncoded = BaseMultibaseUtil.encode(multibaseSource);
+    }
+
+    @Benchmark
+    public byte[] generateSharedSecret() {
+        return generateSharedSecretKey();
+    }
+
+    @Benchmark
+    public byte[] mergeSharedSecretAndNonce() {
+        return mergeSharedSecretAndNonce(sharedSecretKey);
+    }
+
+    @Benchmark
+    public String decryptRequestVc() {
+        return decryptRequestVc(mergedKey);
+    }
+
+    @Benchmark
+    public ReqVc parseRequestVc() throws Exception {
+        return parseRequestVc(reqVcJson);
+    }
+
+    @Benchmark
+    public VerifiableCredential issueVerifiableCredentialAndSign() throws Exception {
+        return issueVerifiableCredential();
+    }
+
+    /**
+     * Baseline for {@link #issueVerifiableCredentialAndSign()}: parses the schema, issuer DID document
+     * and evidence and creates a new {@code VcManager} for every VC, as the service did before
+     * issuance templates were introduced.
+     */
+    @Benchmark
+    public VerifiableCredential issueVerifiableCredentialWithoutTemplate() throws Exception {
+        VcManager manager = new VcManager();
+        DidDocument didDocument = new DidDocument();
+        didDocument.fromJson(ISSUER_DID_DOCUMENT);
+        DocumentVerificationEvidence evidence = new DocumentVerificationEvidence();
+        evidence.fromJson(EVIDENCE);
+
+        IssueVcParam issueVcParam = new IssueVcParam();
+        BaseCoreVcUtil.setVcSchema(issueVcParam, vcSchema);
+        BaseCoreVcUtil.setClaimInfo(issueVcParam, generateClaimInfo(userData));
+        BaseCoreVcUtil.setIssuer(issueVcParam, didDocument.getId(), ISSUER_NAME, CERT_VC_REF);
+        BaseCoreVcUtil.setVcTypes(issueVcParam, List.of(VcType.VERIFIABLE_CREDENTIAL));
+        BaseCoreVcUtil.setEvidence(issueVcParam, evidence);
+        BaseCoreVcUtil.setValidateUntil(issueVcParam, 1);
+
+        VerifiableCredential vc = manager.issueCredential(issueVcParam, HOLDER_DID);
+        return manager.addProof(vc, sign(manager.getOriginDataForSign(ASSERT_SIGN_KEY_ID, didDocument, vc)));
+    }
+
+    @Benchmark
+    public String serializeAndSortProfile() {
+        return JsonUtil.serializeAndSort(issueProfile);
+    }
+
+    @Benchmark
+    public String encryptVerifiableCredential() {
+        return encryptVerifiableCredential(vcJson, mergedKey);
+    }
+
+    @Benchmark
+    public String multibaseEncode() {
+        return BaseMultibaseUtil.encode(multibaseSource);
+    }
+
+    @Benchmark
+    public byte[] multibaseDecode() {
+        return BaseMultibaseUtil.decode(multibaseEncoded);
+    }
+
+    @Benchmark
+    public String issueVcEndToEnd() throws Exception {
+        byte[] secret = generateSharedSecretKey();
+        byte[] key = mergeSharedSecretAndNonce(secret);
+        ReqVc reqVc = parseRequestVc(decryptRequestVc(key));
+        if (!nonce.equals(reqVc.getProfile().getIssuerNonce())) {
+            throw new IllegalStateException("issuer nonce mismatch");
+        }
+        VerifiableCredential vc = issueVerifiableCredential();
+        return encryptVerifiableCredential(vc.toJson(), key) + BaseMultibaseUtil.encode(responseIv);
+    }
+
+    private byte[] generateSharedSecretKey() {
+        return BaseCryptoUtil.generateSharedSecret(BaseMultibaseUtil.decode(holderPublicKey),
+                BaseMultibaseUtil.decode(sessionKey), EccCurveType.fromValue(CURVE));
+    }
+
+    private byte[] mergeSharedSecretAndNonce(byte[] secret) {
+        return BaseCryptoUtil.mergeSharedSecretAndNonce(secret, BaseMultibaseUtil.decode(nonce),
+                SymmetricCipherType.fromDisplayName(CIPHER));
+    }
+
+    private String decryptRequestVc(byte[] key) {
+        byte[] decrypt = BaseCryptoUtil.decrypt(BaseMultibaseUtil.decode(encReqVc), key,
+                BaseMultibaseUtil.decode(accIv),
+                SymmetricCipherType.fromDisplayName(CIPHER),
+                SymmetricPaddingType.fromDisplayName(PADDING));
+        return new String(decrypt);
+    }
+
+    private ReqVc parseRequestVc(String requestVc) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.readValue(requestVc, ReqVc.class);
+    }
+
+    private VerifiableCredential issueVerifiableCredential() throws Exception {
+        IssueVcParam issueVcParam = issuanceTemplate.newIssueVcParam(generateClaimInfo(userData), 1);
+
+        VerifiableCredential vc = vcManager.issueCredential(issueVcParam, HOLDER_DID);
+        return vcManager.addProof(vc, sign(vcManager.getOriginDataForSign(ASSERT_SIGN_KEY_ID,
+                issuanceTemplate.getIssuerDidDocument(), vc)));
+    }
+
+    private List<SignatureVcParams> sign(List<SignatureVcParams> signatureParams) throws Exception {
+        for (SignatureVcParams signatureParam : signatureParams) {
+            byte[] hash = BaseDigestUtil.generateHash(signatureParam.getOriginData().getBytes(StandardCharsets.UTF_8));
+            byte[] sign = SignatureUtils.generateCompactSignature(issuerSigningKeyPair, hash,
+                    org.omnione.did.crypto.enums.EccCurveType.Secp256r1);
+            signatureParam.setSignatureValue(BaseMultibaseUtil.encode(sign));
+        }
+        return signatureParams;
+    }
+
+    private HashMap<String, ClaimInfo> generateClaimInfo(String data) throws Exception {
+        InsertUserReqDto userInfo = new ObjectMapper().readValue(data, InsertUserReqDto.class);
+        return new NationalIdClaimInfo.Builder()
+                .userName(userInfo.getUserName())
+                .birthDate(userInfo.getBirthdate())
+                .address(userInfo.getAddress())
+                .issueDate(userInfo.getIssueDate())
+                .pii(userInfo.getPii())
+                .build()
+                .getClaims();
+    }
+
+    private String encryptVerifiableCredential(String json, byte[] key) {
+        byte[] encrypt = BaseCryptoUtil.encrypt(json, key, responseIv,
+                SymmetricCipherType.fromDisplayName(CIPHER),
+                SymmetricPaddingType.fromDisplayName(PADDING));
+        return BaseMultibaseUtil.encode(encrypt);
+    }
+}
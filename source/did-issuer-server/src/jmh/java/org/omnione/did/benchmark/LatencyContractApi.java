@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.benchmark;
+
+import org.omnione.did.ContractApi;
+import org.omnione.did.data.model.did.InvokedDidDoc;
+import org.omnione.did.data.model.enums.did.DidDocStatus;
+import org.omnione.did.data.model.enums.vc.RoleType;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.exception.BlockChainException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in ContractApi that keeps VC meta in memory and sleeps for a configurable latency
+ * on every call, approximating a ledger round-trip without a Fabric network.
+ */
+public class LatencyContractApi implements ContractApi {
+    private final long latencyMillis;
+    private final Map<String, VcMeta> vcMetas = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+
+    public LatencyContractApi(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    @Override
+    public void registDidDoc(InvokedDidDoc invokedDidDoc, RoleType roleType) {
+        roundTrip();
+    }
+
+    @Override
+    public Object getDidDoc(String didKeyUrl) {
+        roundTrip();
+        return null;
+    }
+
+    @Override
+    public Object updateDidDocStatus(String didKeyUrl, DidDocStatus didDocStatus) {
+        roundTrip();
+        return null;
+    }
+
+    @Override
+    public Object updateDidDocStatus(String didKeyUrl, DidDocStatus didDocStatus, LocalDateTime terminatedTime) {
+        roundTrip();
+        return null;
+    }
+
+    @Override
+    public void registVcMetadata(VcMeta vcMeta) {
+        roundTrip();
+        vcMetas.put(vcMeta.getId(), vcMeta);
+    }
+
+    @Override
+    public Object getVcMetadata(String vcId) throws BlockChainException {
+        roundTrip();
+        return vcMetas.get(vcId);
+    }
+
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        roundTrip();
+        VcMeta vcMeta = vcMetas.get(vcId);
+        if (vcMeta != null) {
+            vcMeta.setStatus(vcStatus.getRawValue());
+        }
+    }
+
+    private void roundTrip() {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
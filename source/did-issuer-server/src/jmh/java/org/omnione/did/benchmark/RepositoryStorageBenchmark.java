@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.property.RepositoryProperty;
+import org.omnione.did.base.util.BaseCryptoUtil;
+import org.omnione.did.base.util.FutureUtil;
+import org.omnione.did.crypto.keypair.EcKeyPair;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.provider.Provider;
+import org.omnione.did.data.model.vc.CredentialSchema;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.api.RepositoryAsyncClient;
+import org.omnione.did.issuer.v1.api.StubRepositoryServer;
+import org.omnione.did.issuer.v1.service.RepositoryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares fetching the previous VC meta of an issuance before its key agreement with overlapping
+ * the fetch with it, against the stand-in repository server with a fixed latency.
+ * {@link #sequential()} reproduces the previous IssueServiceBase, which called the repository and
+ * then did the crypto work; {@link #overlapped()} starts the fetch first, as it does now.
+ * Run with several threads to see the effect of the connection pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class RepositoryStorageBenchmark {
+    private static final String VC_ID = "vc-1";
+
+    @Param({"5"})
+    private long latencyMillis;
+
+    @Param({"64"})
+    private int maxConnections;
+
+    private StubRepositoryServer server;
+    private RepositoryAsyncClient client;
+    private RepositoryServiceImpl repositoryService;
+    private byte[] holderPublicKey;
+    private byte[] sessionKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EcKeyPair holderKeyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1);
+        holderPublicKey = BaseCryptoUtil.compressPublicKey(
+                ((ECPublicKey) holderKeyPair.getPublicKey()).getEncoded(), EccCurveType.SECP_256_R1);
+        sessionKey = BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1).getPrivateKey().getEncoded();
+
+        server = new StubRepositoryServer();
+
+        RepositoryProperty property = new RepositoryProperty();
+        property.setUrl(server.getUrl());
+        property.setMaxConnections(maxConnections);
+        property.setMaxConnectionsPerRoute(maxConnections);
+        client = new RepositoryAsyncClient(property, new ObjectMapper());
+        repositoryService = new RepositoryServiceImpl(client);
+        repositoryService.registerVcMeta(newVcMeta());
+        server.setLatency(Duration.ofMillis(latencyMillis));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        blackhole.consume(repositoryService.getVcMetByVcId(VC_ID));
+        blackhole.consume(BaseCryptoUtil.generateSharedSecret(holderPublicKey, sessionKey, EccCurveType.SECP_256_R1));
+    }
+
+    @Benchmark
+    public void overlapped(Blackhole blackhole) {
+        CompletableFuture<VcMeta> vcMeta = repositoryService.getVcMetByVcIdAsync(VC_ID);
+        blackhole.consume(BaseCryptoUtil.generateSharedSecret(holderPublicKey, sessionKey, EccCurveType.SECP_256_R1));
+        blackhole.consume(FutureUtil.join(vcMeta));
+    }
+
+    private static VcMeta newVcMeta() {
+        Provider issuer = new Provider();
+        issuer.setDid("did:omn:issuer");
+        issuer.setCertVcRef("http://127.0.0.1:8091/issuer/api/v1/certificate-vc");
+
+        CredentialSchema credentialSchema = new CredentialSchema();
+        credentialSchema.setId("http://127.0.0.1:8091/issuer/api/v1/vc/vcschema?name=mdl");
+        credentialSchema.setType("OsdSchemaCredential");
+
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId(VC_ID);
+        vcMeta.setIssuer(issuer);
+        vcMeta.setSubject("did:omn:holder");
+        vcMeta.setCredentialSchema(credentialSchema);
+        vcMeta.setStatus(VcStatus.ACTIVE.getRawValue());
+        vcMeta.setIssuanceDate("2024-07-12T08:35:16Z");
+        vcMeta.setValidFrom("2024-07-12T08:35:16Z");
+        vcMeta.setValidUntil("2025-07-12T08:35:16Z");
+        vcMeta.setFormatVersion("1.0");
+        vcMeta.setLanguage("ko");
+        return vcMeta;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.benchmark;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the transaction step validation path before and after the current step was kept on the transaction row.
+ * The previous path reads the transaction by tx_id and then the latest sub_transaction row,
+ * the current path reads the transaction by tx_id only.
+ * Both run against the Liquibase schema in an in-memory H2 database holding {@link #rows} issuance flows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class TransactionValidateBenchmark {
+    private static final String FIND_TRANSACTION =
+            "select id, status, expired_at, current_step_type, current_step_status from transaction where tx_id = ?";
+    private static final String FIND_LAST_SUB_TRANSACTION =
+            "select type, status from sub_transaction where transaction_id = ? order by step desc limit 1";
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private PreparedStatement findTransaction;
+    private PreparedStatement findLastSubTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:transaction_validate;MODE=PostgreSQL;DEFAULT_NULL_ORDERING=HIGH", "sa", "", true);
+        dataSource.setDriverClassName("org.h2.Driver");
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/changelog/master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        Connection connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("insert into transaction (tx_id, type, status, vc_plan_id, expired_at, "
+                    + "current_step, current_step_type, current_step_status) "
+                    + "select 'tx-' || x, 'ISSUE_VC', 'COMPLETED', 'vcplanid000000000002', "
+                    + "dateadd('HOUR', 1, current_timestamp), 3, 'ISSUE_VC', 'COMPLETED' from system_range(1, " + rows + ")");
+            statement.execute("insert into sub_transaction (step, type, status, transaction_id) "
+                    + "select s.x, case s.x when 1 then 'INSPECT_ISSUE_PROPOSE' when 2 then 'GENERATE_ISSUE_PROFILE' "
+                    + "else 'ISSUE_VC' end, 'COMPLETED', t.x "
+                    + "from system_range(1, " + rows + ") t cross join system_range(1, 3) s");
+            statement.execute("analyze");
+        }
+        findTransaction = connection.prepareStatement(FIND_TRANSACTION);
+        findLastSubTransaction = connection.prepareStatement(FIND_LAST_SUB_TRANSACTION);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public boolean validateFromSubTransaction() throws SQLException {
+        long transactionId;
+        findTransaction.setString(1, randomTxId());
+        try (ResultSet transaction = findTransaction.executeQuery()) {
+            if (!transaction.next() || !"COMPLETED".equals(transaction.getString("status"))) {
+                return false;
+            }
+            transactionId = transaction.getLong("id");
+        }
+
+        findLastSubTransaction.setLong(1, transactionId);
+        try (ResultSet subTransaction = findLastSubTransaction.executeQuery()) {
+            return subTransaction.next()
+                    && "ISSUE_VC".equals(subTransaction.getString("type"))
+                    && "COMPLETED".equals(subTransaction.getString("status"));
+        }
+    }
+
+    @Benchmark
+    public boolean validateFromCurrentStep() throws SQLException {
+        findTransaction.setString(1, randomTxId());
+        try (ResultSet transaction = findTransaction.executeQuery()) {
+            return transaction.next()
+                    && "COMPLETED".equals(transaction.getString("status"))
+                    && "ISSUE_VC".equals(transaction.getString("current_step_type"))
+                    && "COMPLETED".equals(transaction.getString("current_step_status"));
+        }
+    }
+
+    private String randomTxId() {
+        return "tx-" + ThreadLocalRandom.current().nextInt(1, rows + 1);
+    }
+}
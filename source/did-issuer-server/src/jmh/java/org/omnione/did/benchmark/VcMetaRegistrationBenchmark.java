@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.benchmark;
+
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.storage.VcMetaBatchRegistrar;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one-by-one VC meta registration with the write-behind registrar
+ * against a stand-in ledger with a fixed round-trip latency.
+ * Each operation registers {@link #registrations} VC metas, as a dispatcher tick would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class VcMetaRegistrationBenchmark {
+    @Param({"20"})
+    private long latencyMillis;
+
+    @Param({"32"})
+    private int registrations;
+
+    @Param({"4"})
+    private int maxInFlight;
+
+    private LatencyContractApi contractApi;
+    private VcMetaBatchRegistrar registrar;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contractApi = new LatencyContractApi(latencyMillis);
+        registrar = new VcMetaBatchRegistrar(contractApi::registVcMetadata, maxInFlight, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registrar.close();
+    }
+
+    @Benchmark
+    public int sequential() {
+        for (int i = 0; i < registrations; i++) {
+            contractApi.registVcMetadata(newVcMeta());
+        }
+        return registrations;
+    }
+
+    @Benchmark
+    public int pipelined() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(registrations);
+        for (int i = 0; i < registrations; i++) {
+            futures.add(registrar.submit(newVcMeta()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return registrations;
+    }
+
+    private VcMeta newVcMeta() {
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId(UUID.randomUUID().toString());
+        return vcMeta;
+    }
+}
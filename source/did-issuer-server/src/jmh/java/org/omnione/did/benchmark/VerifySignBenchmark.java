@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.benchmark;
+
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.omnione.did.base.datamodel.data.AccE2e;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.util.BaseCryptoUtil;
+import org.omnione.did.base.util.BaseDigestUtil;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.base.util.ValidationUtil;
+import org.omnione.did.common.util.DidUtil;
+import org.omnione.did.common.util.JsonUtil;
+import org.omnione.did.core.manager.DidManager;
+import org.omnione.did.crypto.keypair.EcKeyPair;
+import org.omnione.did.crypto.util.SignatureUtils;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.did.Proof;
+import org.omnione.did.data.model.did.VerificationMethod;
+import org.omnione.did.data.model.enums.did.ProofPurpose;
+import org.omnione.did.data.model.enums.did.ProofType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares proof verification of an AccE2e before and after caching decoded verification keys.
+ * {@link #parseEachTime()} reproduces the previous ValidationUtil.verifySign, which parsed the
+ * DID document and decoded the key on every call; {@link #cachedKey()} calls the current one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VerifySignBenchmark {
+    private static final String VERIFICATION_METHOD = "did:omn:holder?versionId=1#pin";
+
+    private DidDocument didDocument;
+    private String publicKey;
+    private String iv;
+    private Proof signedProof;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EcKeyPair keyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(EccCurveType.SECP_256_R1);
+        String publicKeyMultibase = BaseMultibaseUtil.encode(BaseCryptoUtil.compressPublicKey(
+                ((ECPublicKey) keyPair.getPublicKey()).getEncoded(), EccCurveType.SECP_256_R1));
+
+        didDocument = new DidDocument();
+        didDocument.fromJson("""
+                {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["pin"],"authentication":["pin"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:holder","keyAgreement":["keyagree"],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:holder","id":"pin","publicKeyMultibase":"%s","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:holder","id":"keyagree","publicKeyMultibase":"%s","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
+                """.formatted(publicKeyMultibase, publicKeyMultibase));
+
+        publicKey = BaseMultibaseUtil.encode(BaseCryptoUtil.generateNonce(33));
+        iv = BaseMultibaseUtil.encode(BaseCryptoUtil.generateInitialVector());
+
+        AccE2e accE2e = newAccE2e(unsignedProof());
+        byte[] hash = BaseDigestUtil.generateHash(JsonUtil.serializeAndSort(accE2e).getBytes(StandardCharsets.UTF_8));
+        try {
+            byte[] signature = SignatureUtils.generateCompactSignature(keyPair, hash,
+                    org.omnione.did.crypto.enums.EccCurveType.Secp256r1);
+            signedProof = unsignedProof();
+            signedProof.setProofValue(BaseMultibaseUtil.encode(signature));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public AccE2e parseEachTime() {
+        AccE2e request = newAccE2e(copy(signedProof));
+        Proof proof = request.getProof();
+
+        DidManager didManager = new DidManager();
+        didManager.parse(didDocument.toJson());
+        VerificationMethod publicKeyByKeyId = didManager.getVerificationMethodByKeyId(
+                DidUtil.extractKeyId(proof.getVerificationMethod()));
+
+        request.setProof(unsignedProof());
+        String source = JsonUtil.serializeAndSort(request);
+        BaseCryptoUtil.verifySignature(publicKeyByKeyId.getPublicKeyMultibase(), proof.getProofValue(),
+                BaseDigestUtil.generateHash(source.getBytes(StandardCharsets.UTF_8)), EccCurveType.SECP_256_R1);
+        return request;
+    }
+
+    @Benchmark
+    public AccE2e cachedKey() {
+        AccE2e request = newAccE2e(copy(signedProof));
+        ValidationUtil.verifySign(request, didDocument);
+        return request;
+    }
+
+    private AccE2e newAccE2e(Proof proof) {
+        AccE2e accE2e = AccE2e.builder()
+                .publicKey(publicKey)
+                .iv(iv)
+                .build();
+        accE2e.setProof(proof);
+        return accE2e;
+    }
+
+    private static Proof unsignedProof() {
+        Proof proof = new Proof();
+        proof.setType(ProofType.SECP256R1_SIGNATURE_2018.getRawValue());
+        proof.setCreated("2024-07-12T08:35:17Z");
+        proof.setProofPurpose(ProofPurpose.KEY_AGREEMENT.getRawValue());
+        proof.setVerificationMethod(VERIFICATION_METHOD);
+        return proof;
+    }
+
+    private static Proof copy(Proof source) {
+        Proof proof = unsignedProof();
+        proof.setProofValue(source.getProofValue());
+        return proof;
+    }
+}
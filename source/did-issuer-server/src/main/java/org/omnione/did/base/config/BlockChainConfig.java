@@ -0,0 +1,81 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.omnione.did.base.property.BlockChainBatchProperty;
+import org.omnione.did.base.property.BlockChainPoolProperty;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.base.util.BaseBlockChainUtil;
+import org.omnione.did.issuer.v1.service.storage.ContractApiPool;
+import org.omnione.did.issuer.v1.service.storage.VcMetaBatchRegistrar;
+import org.springframework.util.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * This class configures the gateway pool and the write-behind stage in front of the blockchain storage.
+ */
+@Configuration
+@Profile("!repository & !memory")
+public class BlockChainConfig {
+
+    /**
+     * Creates the pool of blockchain gateways. Gateways are created on first use.
+     * Idle gateways are probed by reading a DID document, by default the issuer's own.
+     *
+     * @param blockChainPoolProperty the pool properties
+     * @param issueProperty the issuer properties
+     * @param meterRegistry the meter registry
+     * @return the gateway pool
+     */
+    @Bean(destroyMethod = "close")
+    public ContractApiPool contractApiPool(BlockChainPoolProperty blockChainPoolProperty, IssueProperty issueProperty,
+                                           MeterRegistry meterRegistry) {
+        String didKeyUrl = StringUtils.hasText(blockChainPoolProperty.getHealthCheckDidKeyUrl())
+                ? blockChainPoolProperty.getHealthCheckDidKeyUrl()
+                : issueProperty.getDid();
+        return new ContractApiPool(
+                BaseBlockChainUtil::initBlockChain,
+                contractApi -> BaseBlockChainUtil.isAvailable(contractApi, didKeyUrl),
+                blockChainPoolProperty,
+                meterRegistry);
+    }
+
+    /**
+     * Creates the write-behind registrar for VC meta on the blockchain.
+     * Its concurrency is capped at the gateway pool size, so registrations do not queue for a gateway.
+     *
+     * @param blockChainBatchProperty the pipelining properties
+     * @param blockChainPoolProperty the gateway pool properties
+     * @param contractApiPool the gateway pool
+     * @return the VC meta batch registrar
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "blockchain.batch", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public VcMetaBatchRegistrar vcMetaBatchRegistrar(BlockChainBatchProperty blockChainBatchProperty,
+                                                     BlockChainPoolProperty blockChainPoolProperty,
+                                                     ContractApiPool contractApiPool) {
+        return new VcMetaBatchRegistrar(
+                vcMeta -> contractApiPool.run("registerVcMeta",
+                        contractApi -> BaseBlockChainUtil.registerVcMeta(contractApi, vcMeta)),
+                Math.min(blockChainBatchProperty.getMaxInFlight(), blockChainPoolProperty.getSize()),
+                blockChainBatchProperty.getQueueCapacity());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.config;
+
+import org.omnione.did.base.property.IssueResultProperty;
+import org.omnione.did.issuer.v1.service.result.IssueResultNotifier;
+import org.omnione.did.issuer.v1.service.result.IssueResultPublisher;
+import org.omnione.did.issuer.v1.service.result.LocalIssueResultPublisher;
+import org.omnione.did.issuer.v1.service.result.PostgresIssueResultPublisher;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * This class selects how issuance completions reach the waiting issue result requests.
+ */
+@Configuration
+public class IssueResultConfig {
+
+    /**
+     * Creates the IssueResultPublisher of the configured relay.
+     *
+     * @param issueResultProperty the issue result properties
+     * @param issueResultNotifier the notifier holding the waiting requests of this node
+     * @param dataSource the data source used by the Postgres relay to send notifications
+     * @param dataSourceProperties the data source properties, used to open the listener connection outside the pool
+     * @return the IssueResultPublisher
+     */
+    @Bean
+    public IssueResultPublisher issueResultPublisher(IssueResultProperty issueResultProperty,
+                                                     IssueResultNotifier issueResultNotifier, DataSource dataSource,
+                                                     DataSourceProperties dataSourceProperties) {
+        return switch (issueResultProperty.getRelay()) {
+            case LOCAL -> new LocalIssueResultPublisher(issueResultNotifier);
+            case POSTGRES -> new PostgresIssueResultPublisher(dataSource, newListenerDataSource(dataSourceProperties),
+                    issueResultNotifier, issueResultProperty);
+        };
+    }
+
+    private static DataSource newListenerDataSource(DataSourceProperties dataSourceProperties) {
+        DriverManagerDataSource listenerDataSource = new DriverManagerDataSource(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        listenerDataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        return listenerDataSource;
+    }
+}
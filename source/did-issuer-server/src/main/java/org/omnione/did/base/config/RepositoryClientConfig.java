@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.omnione.did.base.property.RepositoryProperty;
+import org.omnione.did.issuer.v1.api.RepositoryAsyncClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * This class configures the client of the repository storage.
+ */
+@Configuration
+@Profile("repository")
+public class RepositoryClientConfig {
+
+    /**
+     * Creates the pooled, non-blocking repository API client.
+     *
+     * @param repositoryProperty the client properties
+     * @param objectMapper the object mapper
+     * @return the repository API client
+     */
+    @Bean(destroyMethod = "close")
+    public RepositoryAsyncClient repositoryAsyncClient(RepositoryProperty repositoryProperty, ObjectMapper objectMapper) {
+        return new RepositoryAsyncClient(repositoryProperty, objectMapper);
+    }
+}
@@ -18,13 +18,22 @@ package org.omnione.did.base.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.cloud.endpoint.RefreshEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * The SecurityConfig class is responsible for configuring the security settings of the web application.
@@ -37,6 +46,10 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    private static final List<IpAddressMatcher> LOCAL_ADDRESSES = List.of(
+            new IpAddressMatcher("127.0.0.1"),
+            new IpAddressMatcher("::1"));
+
     static {
     }
 
@@ -56,9 +69,19 @@ public class SecurityConfig {
     private void authorizeHttpRequestsCustomizer(AuthorizeHttpRequestsConfigurer<HttpSecurity>
                                                          .AuthorizationManagerRequestMatcherRegistry configurer) {
         allowedUrlsConfigurer(configurer);
+        // The refresh endpoint rebinds the configuration, so it is only served to requests from the host itself.
+        configurer
+            .requestMatchers(EndpointRequest.to(RefreshEndpoint.class))
+                .access(this::authorizeLocalRequest);
         configurer.anyRequest().permitAll();
     }
 
+    private AuthorizationDecision authorizeLocalRequest(Supplier<Authentication> authentication,
+                                                        RequestAuthorizationContext context) {
+        return new AuthorizationDecision(LOCAL_ADDRESSES.stream()
+                .anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+
     private void allowedUrlsConfigurer(AuthorizeHttpRequestsConfigurer<HttpSecurity>
                                                .AuthorizationManagerRequestMatcherRegistry configurer) {
         // Allowed API
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.omnione.did.base.property.SessionStoreProperty;
+import org.omnione.did.issuer.v1.service.query.E2EQueryService;
+import org.omnione.did.issuer.v1.service.query.VcProfileQueryService;
+import org.omnione.did.issuer.v1.service.session.JpaSessionStore;
+import org.omnione.did.issuer.v1.service.session.MemorySessionStore;
+import org.omnione.did.issuer.v1.service.session.SessionStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class selects the SessionStore that holds the issuance sessions.
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    /**
+     * Creates the SessionStore of the configured type.
+     *
+     * @param sessionStoreProperty the session store properties
+     * @param vcProfileQueryService the VC profile query service used by the JPA store
+     * @param e2EQueryService the E2E query service used by the JPA store
+     * @param meterRegistry the meter registry
+     * @return the SessionStore
+     */
+    @Bean
+    public SessionStore sessionStore(SessionStoreProperty sessionStoreProperty, VcProfileQueryService vcProfileQueryService,
+                                     E2EQueryService e2EQueryService, MeterRegistry meterRegistry) {
+        return switch (sessionStoreProperty.getStore()) {
+            case MEMORY -> new MemorySessionStore(sessionStoreProperty, meterRegistry);
+            case JPA -> new JpaSessionStore(vcProfileQueryService, e2EQueryService);
+        };
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.omnione.did.base.property.StorageCacheProperty;
+import org.omnione.did.base.property.StorageResilienceProperty;
+import org.omnione.did.issuer.v1.service.StorageService;
+import org.omnione.did.issuer.v1.service.storage.CachingStorageService;
+import org.omnione.did.issuer.v1.service.storage.CoalescingStorageService;
+import org.omnione.did.issuer.v1.service.storage.ResilientStorageService;
+import org.omnione.did.issuer.v1.service.storage.VcMetaCachingStorageService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * This class composes the StorageService used by the issuer services.
+ * The active backend (B/C or repository) is wrapped with the configured decorators.
+ * The resilience decorator sits right on the backend, so that cache hits and coalesced lookups
+ * do not take bulkhead permits or count for the circuit breaker.
+ */
+@Configuration
+public class StorageServiceConfig {
+
+    /**
+     * Creates the primary StorageService.
+     *
+     * @param storageBackend the backend selected by the active profile
+     * @param storageCacheProperty the cache properties
+     * @param storageResilienceProperty the bulkhead, circuit breaker and hedging properties
+     * @param meterRegistry the meter registry
+     * @return the decorated StorageService
+     */
+    @Bean
+    @Primary
+    public StorageService storageService(@Qualifier("storageBackend") StorageService storageBackend,
+                                         StorageCacheProperty storageCacheProperty,
+                                         StorageResilienceProperty storageResilienceProperty,
+                                         MeterRegistry meterRegistry) {
+        StorageService storageService = storageBackend;
+        if (storageResilienceProperty.isEnabled()) {
+            storageService = new ResilientStorageService(storageService, storageResilienceProperty, meterRegistry);
+        }
+        if (storageCacheProperty.isCoalesce()) {
+            storageService = new CoalescingStorageService(storageService);
+        }
+        if (storageCacheProperty.getVcMeta().isEnabled()) {
+            storageService = new VcMetaCachingStorageService(storageService, storageCacheProperty.getVcMeta(), meterRegistry);
+        }
+        if (storageCacheProperty.getDidDoc().isEnabled()) {
+            storageService = new CachingStorageService(storageService, storageCacheProperty.getDidDoc(), meterRegistry);
+        }
+        return storageService;
+    }
+}
@@ -28,11 +28,20 @@ public class UrlConstant {
         public static final String GENERATE_ISSUE_PROFILE = "/generate-issue-profile";
         public static final String COMPLETE_VC = "/complete-vc";
         public static final String RESULT = "/result";
+        public static final String WAIT = "/wait";
         public static final String VC = "/vc";
         public static final String STATUS = "/status";
+        public static final String BULK = "/bulk";
+        public static final String RESUME = "/resume";
         public static final String INSPECT_PROPOSE_REVOKE = "/inspect-propose-revoke";
         public static final String REVOKE_VC = "/revoke-vc";
         public static final String COMPLETE_REVOKE = "/complete-revoke";
         public static final String SCHEMA = "/vcschema";
+        public static final String META_STATUS = "/meta-status";
+        public static final String META_CACHE = "/meta-cache";
+        public static final String DID_DOC_CACHE = "/did-doc-cache";
+        public static final String META_OPERATIONS = "/meta-operations";
+        public static final String STATUS_LIST = "/status-list";
+        public static final String INDEX = "/index";
     }
 }
@@ -45,7 +45,7 @@ public class GlobalControllerAdvice {
     public ResponseEntity<ErrorResponse> handleTasException(OpenDidException ex) {
         if (ex.getErrorResponse() != null) {
             ex.printStackTrace();
-            return new ResponseEntity<>(ex.getErrorResponse(), HttpStatus.valueOf(400));
+            return new ResponseEntity<>(ex.getErrorResponse(), HttpStatus.valueOf(ex.getHttpStatus()));
         }
 
         log.error("Error", ex);
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.datamodel.data;
+
+import lombok.*;
+import org.omnione.did.common.util.JsonUtil;
+
+/**
+ * Represents the payload of a VC status update outbox entry.
+ * vcStatus is the raw value of the new status. The VC plan and status list index are kept
+ * because the vc row may already hold a newer VC.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VcStatusUpdate {
+    private String vcStatus;
+    private String vcPlanId;
+    private Integer statusListIndex;
+
+    public String toJson() {
+        return JsonUtil.serializeToJson(this);
+    }
+
+    public static VcStatusUpdate fromJson(String json) {
+        return JsonUtil.deserializeFromJson(json, VcStatusUpdate.class);
+    }
+}
@@ -41,7 +41,8 @@ import java.time.Instant;
 public class CertificateVc extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "certificate_vc_seq")
+    @SequenceGenerator(name = "certificate_vc_seq", sequenceName = "certificate_vc_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "vc", nullable = false)
@@ -39,7 +39,8 @@ import java.time.Instant;
 public class E2E extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "e2e_seq")
+    @SequenceGenerator(name = "e2e_seq", sequenceName = "e2e_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "session_key")
@@ -38,7 +38,8 @@ import java.time.Instant;
 public class RevokeVc extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revoke_vc_seq")
+    @SequenceGenerator(name = "revoke_vc_seq", sequenceName = "revoke_vc_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nonce", nullable = false)
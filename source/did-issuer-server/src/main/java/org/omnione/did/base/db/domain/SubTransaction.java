@@ -39,7 +39,8 @@ import java.time.Instant;
 public class SubTransaction extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sub_transaction_seq")
+    @SequenceGenerator(name = "sub_transaction_seq", sequenceName = "sub_transaction_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "step", nullable = false, columnDefinition = "INTEGER")
@@ -18,6 +18,8 @@ package org.omnione.did.base.db.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.omnione.did.base.db.constant.SubTransactionStatus;
+import org.omnione.did.base.db.constant.SubTransactionType;
 import org.omnione.did.base.db.constant.TransactionStatus;
 import org.omnione.did.base.db.constant.TransactionType;
 import org.springframework.data.annotation.CreatedDate;
@@ -43,7 +45,8 @@ import java.util.List;
 public class Transaction extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "tx_id", nullable = false, length = 40)
@@ -65,4 +68,18 @@ public class Transaction extends BaseEntity implements Serializable {
 
     @Column(name = "expired_at", nullable = false)
     private Instant expiredAt;
+
+    /**
+     * Current step of the transaction, mirroring the latest sub_transaction row.
+     */
+    @Column(name = "current_step", columnDefinition = "INTEGER")
+    private Integer currentStep;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step_type", length = 50, columnDefinition = "VARCHAR(50)")
+    private SubTransactionType currentStepType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step_status", length = 50, columnDefinition = "VARCHAR(50)")
+    private SubTransactionStatus currentStepStatus;
 }
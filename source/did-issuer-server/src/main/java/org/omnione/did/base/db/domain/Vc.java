@@ -43,7 +43,8 @@ import java.time.Instant;
 public class Vc extends BaseEntity implements Serializable {
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_seq")
+    @SequenceGenerator(name = "vc_seq", sequenceName = "vc_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "did")
@@ -66,4 +67,7 @@ public class Vc extends BaseEntity implements Serializable {
 
     @Column(name = "user_id")
     private Long userId;
+
+    @Column(name = "status_list_index")
+    private Integer statusListIndex;
 }
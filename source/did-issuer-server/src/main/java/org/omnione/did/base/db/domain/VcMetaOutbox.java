@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.db.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Entity class for the vc_meta_outbox table.
+ * Represents a pending VC meta operation to be sent to the storage (B/C or repository).
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "vc_meta_outbox")
+public class VcMetaOutbox extends BaseEntity implements Serializable {
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_meta_outbox_seq")
+    @SequenceGenerator(name = "vc_meta_outbox_seq", sequenceName = "vc_meta_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "vc_id", nullable = false, length = 40)
+    private String vcId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 50, columnDefinition = "VARCHAR(50)")
+    private VcMetaOutboxOperation operation;
+
+    @ToString.Exclude
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50, columnDefinition = "VARCHAR(50)")
+    private VcMetaOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
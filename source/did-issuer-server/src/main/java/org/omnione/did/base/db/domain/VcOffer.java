@@ -39,7 +39,8 @@ import java.time.Instant;
 @EntityListeners(AuditingEntityListener.class)
 public class VcOffer extends BaseEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_offer_seq")
+    @SequenceGenerator(name = "vc_offer_seq", sequenceName = "vc_offer_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
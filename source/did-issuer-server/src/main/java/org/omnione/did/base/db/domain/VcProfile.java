@@ -41,7 +41,8 @@ public class VcProfile extends BaseEntity implements Serializable {
      */
     @Id
     @Column(name = "id", nullable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_profile_seq")
+    @SequenceGenerator(name = "vc_profile_seq", sequenceName = "vc_profile_seq", allocationSize = 50)
     private Long id;
 
     /**
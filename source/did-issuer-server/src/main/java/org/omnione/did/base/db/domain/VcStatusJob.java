@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.omnione.did.base.db.constant.VcStatusJobStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Entity class for the vc_status_job table.
+ * Represents a bulk VC status update whose items are processed in the background.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "vc_status_job")
+public class VcStatusJob extends BaseEntity implements Serializable {
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_status_job_seq")
+    @SequenceGenerator(name = "vc_status_job_seq", sequenceName = "vc_status_job_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 40)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50, columnDefinition = "VARCHAR(50)")
+    private VcStatusJobStatus status;
+
+    // The lease is only written by the claim, renew and complete queries, never by saving the entity.
+    @Column(name = "lease_owner", length = 40, insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name = "lease_until", insertable = false, updatable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.omnione.did.base.db.constant.VcStatusJobItemResult;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+
+import java.io.Serializable;
+
+/**
+ * Entity class for the vc_status_job_item table.
+ * Represents one vcId/status pair of a bulk VC status update and its result.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "vc_status_job_item")
+public class VcStatusJobItem extends BaseEntity implements Serializable {
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_status_job_item_seq")
+    @SequenceGenerator(name = "vc_status_job_item_seq", sequenceName = "vc_status_job_item_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "seq", nullable = false)
+    private int seq;
+
+    @Column(name = "vc_id", nullable = false, length = 40)
+    private String vcId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vc_status", nullable = false, length = 20, columnDefinition = "VARCHAR(20)")
+    private VcStatus vcStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "result", nullable = false, length = 50, columnDefinition = "VARCHAR(50)")
+    private VcStatusJobItemResult result;
+
+    @Column(name = "error_code", length = 20)
+    private String errorCode;
+}
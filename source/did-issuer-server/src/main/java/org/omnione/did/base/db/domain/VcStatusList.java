@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Entity class for the vc_status_list table.
+ * Represents the status list of a VC plan: status_size bits per issued VC, at the VC's status list index.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString(exclude = "bits")
+@Entity
+@Table(name = "vc_status_list")
+public class VcStatusList extends BaseEntity implements Serializable {
+    @Id
+    @Column(name = "id", nullable = false)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vc_status_list_seq")
+    @SequenceGenerator(name = "vc_status_list_seq", sequenceName = "vc_status_list_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "vc_plan_id", nullable = false, length = 40)
+    private String vcPlanId;
+
+    @Column(name = "status_size", nullable = false)
+    private int statusSize;
+
+    @Column(name = "capacity", nullable = false)
+    private int capacity;
+
+    @Column(name = "next_index", nullable = false)
+    private int nextIndex;
+
+    @Column(name = "bits", nullable = false)
+    private byte[] bits;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.omnione.did.base.db.domain.E2E;
+import org.omnione.did.base.db.domain.Transaction;
+import org.omnione.did.base.db.domain.User;
+import org.omnione.did.base.db.domain.Vc;
+import org.omnione.did.base.db.domain.VcProfile;
+
+/**
+ * Rows read by the issue VC step, loaded together in a single query keyed by the transaction ID.
+ * The user is null if the holder is not registered, and the VC is null if the holder has no VC of the plan yet.
+ * When the issuance session is kept in the database, its VC profile and E2E are loaded in the same query;
+ * they are null if the transaction has no session.
+ */
+@Getter
+@AllArgsConstructor
+public class IssueVcWorkingSet {
+    private final Transaction transaction;
+    private final User user;
+    private final Vc vc;
+    private final VcProfile vcProfile;
+    private final E2E e2e;
+
+    public IssueVcWorkingSet(Transaction transaction, User user, Vc vc) {
+        this(transaction, user, vc, null, null);
+    }
+}
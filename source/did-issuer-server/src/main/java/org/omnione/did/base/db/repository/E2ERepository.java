@@ -18,7 +18,11 @@ package org.omnione.did.base.db.repository;
 
 import org.omnione.did.base.db.domain.E2E;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +37,23 @@ public interface E2ERepository extends JpaRepository<E2E, Long> {
      * @return An Optional containing the E2E if found, or an empty Optional if not found.
      */
     Optional<E2E> findByTransactionId(Long id);
+
+    /**
+     * Finds a E2E entity by the txId of its associated transaction.
+     *
+     * @param txId The txId of the transaction to search for.
+     * @return An Optional containing the E2E if found, or an empty Optional if not found.
+     */
+    @Query("select e from E2E e join Transaction t on t.id = e.transactionId where t.txId = :txId")
+    Optional<E2E> findByTxId(@Param("txId") String txId);
+
+    /**
+     * Deletes the E2E entities of the given transactions.
+     *
+     * @param transactionIds The IDs of the transactions whose rows are deleted.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from E2E e where e.transactionId in :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") List<Long> transactionIds);
 }
@@ -18,7 +18,11 @@ package org.omnione.did.base.db.repository;
 
 import org.omnione.did.base.db.domain.SubTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +37,14 @@ public interface SubTransactionRepository extends JpaRepository<SubTransaction,
      * @return An Optional containing the SubTransaction if found, or an empty Optional if not found.
      */
     Optional<SubTransaction> findFirstByTransactionIdOrderByStepDesc(Long transactionId);
+
+    /**
+     * Deletes the SubTransaction entities of the given transactions.
+     *
+     * @param transactionIds The IDs of the transactions whose rows are deleted.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from SubTransaction s where s.transactionId in :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") List<Long> transactionIds);
 }
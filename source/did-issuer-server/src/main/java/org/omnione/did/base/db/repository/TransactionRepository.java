@@ -17,8 +17,15 @@
 package org.omnione.did.base.db.repository;
 
 import org.omnione.did.base.db.domain.Transaction;
+import org.omnione.did.base.db.projection.IssueVcWorkingSet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +40,80 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return An Optional containing the Transaction if found, or an empty Optional if not found.
      */
     Optional<Transaction> findByTxId(String txId);
+
+    /**
+     * Finds a transaction together with a user, looked up by ID, and the user's VC of the transaction's VC plan.
+     *
+     * @param txId The ID of the transaction to search for.
+     * @param userId The ID of the user.
+     * @return An Optional containing the working set if the transaction is found, or an empty Optional if not found.
+     */
+    @Query("select new org.omnione.did.base.db.projection.IssueVcWorkingSet(t, u, v) from Transaction t "
+            + "left join User u on u.id = :userId "
+            + "left join Vc v on v.userId = u.id and v.vcPlanId = t.vcPlanId "
+            + "where t.txId = :txId")
+    Optional<IssueVcWorkingSet> findIssueVcWorkingSetByUserId(@Param("txId") String txId, @Param("userId") Long userId);
+
+    /**
+     * Finds a transaction together with a user, looked up by DID, and the user's VC of the transaction's VC plan.
+     *
+     * @param txId The ID of the transaction to search for.
+     * @param did The DID of the user.
+     * @return An Optional containing the working set if the transaction is found, or an empty Optional if not found.
+     */
+    @Query("select new org.omnione.did.base.db.projection.IssueVcWorkingSet(t, u, v) from Transaction t "
+            + "left join User u on u.did = :did "
+            + "left join Vc v on v.userId = u.id and v.vcPlanId = t.vcPlanId "
+            + "where t.txId = :txId")
+    Optional<IssueVcWorkingSet> findIssueVcWorkingSetByDid(@Param("txId") String txId, @Param("did") String did);
+
+    /**
+     * Finds a transaction together with its VC profile and E2E, the user referenced by the VC profile
+     * and the user's VC of the transaction's VC plan.
+     *
+     * @param txId The ID of the transaction to search for.
+     * @return An Optional containing the working set if the transaction is found, or an empty Optional if not found.
+     */
+    @Query("select new org.omnione.did.base.db.projection.IssueVcWorkingSet(t, u, v, p, e) from Transaction t "
+            + "left join VcProfile p on p.transactionId = t.id "
+            + "left join E2E e on e.transactionId = t.id "
+            + "left join User u on u.id = p.userId "
+            + "left join Vc v on v.userId = u.id and v.vcPlanId = t.vcPlanId "
+            + "where t.txId = :txId")
+    Optional<IssueVcWorkingSet> findIssueVcSessionWorkingSetByUserId(@Param("txId") String txId);
+
+    /**
+     * Finds a transaction together with its VC profile and E2E, the user looked up by the DID of the VC profile
+     * and the user's VC of the transaction's VC plan.
+     *
+     * @param txId The ID of the transaction to search for.
+     * @return An Optional containing the working set if the transaction is found, or an empty Optional if not found.
+     */
+    @Query("select new org.omnione.did.base.db.projection.IssueVcWorkingSet(t, u, v, p, e) from Transaction t "
+            + "left join VcProfile p on p.transactionId = t.id "
+            + "left join E2E e on e.transactionId = t.id "
+            + "left join User u on u.did = p.did "
+            + "left join Vc v on v.userId = u.id and v.vcPlanId = t.vcPlanId "
+            + "where t.txId = :txId")
+    Optional<IssueVcWorkingSet> findIssueVcSessionWorkingSetByDid(@Param("txId") String txId);
+
+    /**
+     * Finds the IDs of transactions that expired before the cutoff, oldest first.
+     *
+     * @param cutoff Transactions that expired before this time are returned.
+     * @param pageable The maximum number of IDs to return.
+     * @return A list of transaction IDs.
+     */
+    @Query("select t.id from Transaction t where t.expiredAt < :cutoff order by t.expiredAt")
+    List<Long> findIdsExpiredBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Deletes the transactions with the given IDs.
+     *
+     * @param ids The IDs of the transactions to delete.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from Transaction t where t.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
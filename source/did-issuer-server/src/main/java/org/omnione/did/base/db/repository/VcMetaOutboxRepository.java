@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.db.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for VcMetaOutbox entity operations.
+ * Provides CRUD operations for VcMetaOutbox entities and custom query methods.
+ */
+public interface VcMetaOutboxRepository extends JpaRepository<VcMetaOutbox, Long> {
+    /**
+     * Finds the entries that are due for dispatch, oldest first.
+     * Rows locked by another dispatcher are skipped.
+     *
+     * @param statuses The statuses to search for.
+     * @param now The current time.
+     * @param pageable The maximum number of entries to return.
+     * @return A list of VcMetaOutbox entries that are due.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<VcMetaOutbox> findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(Collection<VcMetaOutboxStatus> statuses,
+                                                                               Instant now, Pageable pageable);
+
+    /**
+     * Finds the oldest entry with one of the given statuses for each of the given VC IDs.
+     *
+     * @param vcIds The IDs of the VCs.
+     * @param statuses The statuses to search for.
+     * @return A list of vcId and entry ID pairs.
+     */
+    @Query("SELECT o.vcId, MIN(o.id) FROM VcMetaOutbox o WHERE o.vcId IN :vcIds AND o.status IN :statuses GROUP BY o.vcId")
+    List<Object[]> findFirstIdByVcIdInAndStatusIn(@Param("vcIds") Collection<String> vcIds,
+                                                  @Param("statuses") Collection<VcMetaOutboxStatus> statuses);
+
+    /**
+     * Finds the latest entry for the given VC ID.
+     *
+     * @param vcId The ID of the VC.
+     * @return An Optional containing the VcMetaOutbox if found, or an empty Optional if not found.
+     */
+    Optional<VcMetaOutbox> findFirstByVcIdOrderByIdDesc(String vcId);
+
+    /**
+     * Finds the entries of an operation with the given status, oldest first.
+     *
+     * @param operation The operation to search for.
+     * @param status The status to search for.
+     * @param pageable The page to return.
+     * @return A list of VcMetaOutbox entries.
+     */
+    List<VcMetaOutbox> findByOperationAndStatusOrderByIdAsc(VcMetaOutboxOperation operation, VcMetaOutboxStatus status, Pageable pageable);
+
+    /**
+     * Counts the entries of an operation with the given status.
+     *
+     * @param operation The operation to search for.
+     * @param status The status to search for.
+     * @return The number of entries.
+     */
+    long countByOperationAndStatus(VcMetaOutboxOperation operation, VcMetaOutboxStatus status);
+}
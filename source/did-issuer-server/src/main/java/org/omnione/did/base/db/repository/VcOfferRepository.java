@@ -17,8 +17,14 @@
 package org.omnione.did.base.db.repository;
 
 import org.omnione.did.base.db.domain.VcOffer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +39,42 @@ public interface VcOfferRepository extends JpaRepository<VcOffer, Long> {
      * @return An Optional containing the VcOffer if found, or an empty Optional if not found.
      */
     Optional<VcOffer> findByOfferId(String offerId);
+
+    /**
+     * Finds a VcOffer entity by the transaction it started.
+     *
+     * @param transactionId The ID of the transaction to search for.
+     * @return An Optional containing the VcOffer if found, or an empty Optional if not found.
+     */
+    Optional<VcOffer> findByTransactionId(Long transactionId);
+
+    /**
+     * Deletes the VcOffer entities of the given transactions.
+     *
+     * @param transactionIds The IDs of the transactions whose rows are deleted.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from VcOffer v where v.transactionId in :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") List<Long> transactionIds);
+
+    /**
+     * Finds the IDs of offers that were never used to start a transaction and are no longer valid, oldest first.
+     *
+     * @param cutoff Offers valid until before this time are returned.
+     * @param pageable The maximum number of IDs to return.
+     * @return A list of offer IDs.
+     */
+    @Query("select o.id from VcOffer o where o.transactionId is null and o.validUntil < :cutoff order by o.validUntil")
+    List<Long> findUnusedIdsValidUntilBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Deletes the offers with the given IDs.
+     *
+     * @param ids The IDs of the offers to delete.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from VcOffer o where o.id in :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
@@ -18,7 +18,11 @@ package org.omnione.did.base.db.repository;
 
 import org.omnione.did.base.db.domain.VcProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,4 +37,23 @@ public interface VcProfileRepository extends JpaRepository<VcProfile, Long> {
      * @return An Optional containing the VcProfile if found, or an empty Optional if not found.
      */
     Optional<VcProfile> findByTransactionId(Long id);
+
+    /**
+     * Finds a VcProfile entity by the txId of its associated transaction.
+     *
+     * @param txId The txId of the transaction to search for.
+     * @return An Optional containing the VcProfile if found, or an empty Optional if not found.
+     */
+    @Query("select p from VcProfile p join Transaction t on t.id = p.transactionId where t.txId = :txId")
+    Optional<VcProfile> findByTxId(@Param("txId") String txId);
+
+    /**
+     * Deletes the VcProfile entities of the given transactions.
+     *
+     * @param transactionIds The IDs of the transactions whose rows are deleted.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from VcProfile v where v.transactionId in :transactionIds")
+    int deleteByTransactionIds(@Param("transactionIds") List<Long> transactionIds);
 }
@@ -29,10 +29,10 @@ public interface VcRepository extends JpaRepository<Vc, Long> {
     /**
      * Finds a Vc entity by its associated VC ID.
      *
-     * @param vcRepository The ID of the VC to search for.
+     * @param vcId The ID of the VC to search for.
      * @return An Optional containing the Vc if found, or an empty Optional if not found.
      */
-    Optional<Vc> findByVcId(VcRepository vcRepository);
+    Optional<Vc> findByVcId(String vcId);
 
     /**
      * Finds a Vc entity by its associated user ID.
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.repository;
+
+import org.omnione.did.base.db.constant.VcStatusJobItemResult;
+import org.omnione.did.base.db.domain.VcStatusJobItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for VcStatusJobItem entity operations.
+ * Provides CRUD operations for VcStatusJobItem entities and custom query methods.
+ */
+public interface VcStatusJobItemRepository extends JpaRepository<VcStatusJobItem, Long> {
+    /**
+     * Finds the items of a job with the given result, in submission order.
+     *
+     * @param jobId The ID of the job.
+     * @param result The result to search for.
+     * @param pageable The maximum number of items to return.
+     * @return A list of VcStatusJobItem entries.
+     */
+    List<VcStatusJobItem> findByJobIdAndResultOrderBySeqAsc(Long jobId, VcStatusJobItemResult result, Pageable pageable);
+
+    /**
+     * Finds the items of a job in submission order.
+     *
+     * @param jobId The ID of the job.
+     * @param pageable The page of items to return.
+     * @return A list of VcStatusJobItem entries.
+     */
+    List<VcStatusJobItem> findByJobIdOrderBySeqAsc(Long jobId, Pageable pageable);
+
+    /**
+     * Counts the items of a job per result.
+     *
+     * @param jobId The ID of the job.
+     * @return Rows of result and count.
+     */
+    @Query("SELECT i.result, COUNT(i) FROM VcStatusJobItem i WHERE i.jobId = :jobId GROUP BY i.result")
+    List<Object[]> countByJobIdGroupByResult(@Param("jobId") Long jobId);
+
+    /**
+     * Finds the highest sequence number of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return The highest sequence number, or 0 if the job has no items.
+     */
+    @Query("SELECT COALESCE(MAX(i.seq), 0) FROM VcStatusJobItem i WHERE i.jobId = :jobId")
+    int findMaxSeqByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.repository;
+
+import org.omnione.did.base.db.constant.VcStatusJobItemResult;
+import org.omnione.did.base.db.constant.VcStatusJobStatus;
+import org.omnione.did.base.db.domain.VcStatusJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for VcStatusJob entity operations.
+ * Provides CRUD operations for VcStatusJob entities and custom query methods.
+ */
+public interface VcStatusJobRepository extends JpaRepository<VcStatusJob, Long> {
+    /**
+     * Finds a job by its public job ID.
+     *
+     * @param jobId The job ID.
+     * @return An Optional containing the VcStatusJob if found, or an empty Optional if not found.
+     */
+    Optional<VcStatusJob> findByJobId(String jobId);
+
+    /**
+     * Finds the jobs in the given status whose lease is free or has expired, oldest first.
+     *
+     * @param status The job status.
+     * @param now The current time.
+     * @param pageable The maximum number of jobs to return.
+     * @return A list of VcStatusJob entities.
+     */
+    @Query("select j from VcStatusJob j where j.status = :status"
+            + " and (j.leaseUntil is null or j.leaseUntil < :now) order by j.id asc")
+    List<VcStatusJob> findUnleased(@Param("status") VcStatusJobStatus status, @Param("now") Instant now,
+                                   Pageable pageable);
+
+    /**
+     * Takes the lease on a job in the given status, unless another owner holds a lease that has not expired.
+     *
+     * @param id The ID of the job.
+     * @param status The status the job must be in.
+     * @param owner The owner taking the lease.
+     * @param now The current time.
+     * @param leaseUntil The time the lease expires.
+     * @return 1 if the lease was taken, 0 otherwise.
+     */
+    @Modifying
+    @Query("update VcStatusJob j set j.leaseOwner = :owner, j.leaseUntil = :leaseUntil"
+            + " where j.id = :id and j.status = :status"
+            + " and (j.leaseOwner is null or j.leaseOwner = :owner or j.leaseUntil < :now)")
+    int claimLease(@Param("id") Long id, @Param("status") VcStatusJobStatus status, @Param("owner") String owner,
+                   @Param("now") Instant now, @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Extends the lease on a job that is still held by the given owner.
+     *
+     * @param id The ID of the job.
+     * @param owner The owner of the lease.
+     * @param leaseUntil The time the lease expires.
+     * @return 1 if the lease was extended, 0 if it is held by another owner.
+     */
+    @Modifying
+    @Query("update VcStatusJob j set j.leaseUntil = :leaseUntil where j.id = :id and j.leaseOwner = :owner")
+    int renewLease(@Param("id") Long id, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Frees the lease on a job that is held by the given owner.
+     *
+     * @param id The ID of the job.
+     * @param owner The owner of the lease.
+     * @return 1 if the lease was freed, 0 if it is held by another owner.
+     */
+    @Modifying
+    @Query("update VcStatusJob j set j.leaseOwner = null, j.leaseUntil = null where j.id = :id and j.leaseOwner = :owner")
+    int releaseLease(@Param("id") Long id, @Param("owner") String owner);
+
+    /**
+     * Marks a job as completed and frees its lease, if the lease is held by the given owner
+     * and the job has no item with the given result left.
+     *
+     * @param id The ID of the job.
+     * @param owner The owner of the lease.
+     * @param status The status to set.
+     * @param pending The result of items that are not processed yet.
+     * @param now The current time.
+     * @return 1 if the job was completed, 0 otherwise.
+     */
+    @Modifying
+    @Query("update VcStatusJob j set j.status = :status, j.leaseOwner = null, j.leaseUntil = null, j.updatedAt = :now"
+            + " where j.id = :id and j.leaseOwner = :owner and not exists"
+            + " (select i.id from VcStatusJobItem i where i.jobId = j.id and i.result = :pending)")
+    int complete(@Param("id") Long id, @Param("owner") String owner, @Param("status") VcStatusJobStatus status,
+                 @Param("pending") VcStatusJobItemResult pending, @Param("now") Instant now);
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.repository;
+
+import jakarta.persistence.LockModeType;
+import org.omnione.did.base.db.domain.VcStatusList;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for VcStatusList entity operations.
+ * Provides CRUD operations for VcStatusList entities and custom query methods.
+ */
+public interface VcStatusListRepository extends JpaRepository<VcStatusList, Long> {
+    /**
+     * Finds the status list of a VC plan.
+     *
+     * @param vcPlanId The ID of the VC plan.
+     * @return An Optional containing the VcStatusList if found, or an empty Optional if not found.
+     */
+    Optional<VcStatusList> findByVcPlanId(String vcPlanId);
+
+    /**
+     * Finds the status list of a VC plan and locks it until the end of the transaction.
+     *
+     * @param vcPlanId The ID of the VC plan.
+     * @return An Optional containing the VcStatusList if found, or an empty Optional if not found.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<VcStatusList> findForUpdateByVcPlanId(String vcPlanId);
+}
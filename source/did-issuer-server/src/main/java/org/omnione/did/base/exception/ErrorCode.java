@@ -49,10 +49,13 @@ public enum ErrorCode {
     TR_GET_CERTIFICATE_VC_FAILED("00015", "Failed to process the 'get-certificate-vc' API request.", 500),
 
     TR_VC_UPDATE_STATUS_FAILED("00016", "Failed to process the 'update-vc-status' API request.", 500),
+    TR_VC_UPDATE_STATUS_BULK_FAILED("00017", "Failed to process the 'update-vc-status-bulk' API request.", 500),
 
     // 100~ 199 = DID
     DID_DOC_FIND_FAILURE("000100", "Failed to find DID Document.", 500),
     DID_DOC_VERSION_INVALID("00101", "Invalid DID Document version.", 400),
+    DID_DOC_NOT_FOUND("00102", "The DID Document does not exist.", 400),
+    DID_KEY_URL_INVALID("00103", "The DID key URL is not valid.", 400),
 
     // 200~ 299 = VC
     VC_OFFER_NOT_FOUND("00200", "The Offer does not exist.", 400),
@@ -69,6 +72,10 @@ public enum ErrorCode {
     VC_SCHEMA_NAME_INVALID("00211", "VC Schema name is not valid", 400),
     VC_GENERATION_FAILED("00212", "Failed to generate VC", 500),
     VC_SCHEMA_PARSE_FAILED("00213", "Failed to parse VC Schema", 500),
+    VC_META_REGISTRATION_NOT_FOUND("00214", "The VC meta registration does not exist.", 400),
+    VC_STATUS_JOB_NOT_FOUND("00215", "The VC status job does not exist.", 400),
+    VC_STATUS_BULK_TOO_LARGE("00216", "The VC status job has too many items.", 400),
+    VC_STATUS_LIST_NOT_FOUND("00217", "The VC status list does not exist.", 400),
 
 
     // 300~ 399 = Holder
@@ -104,6 +111,7 @@ public enum ErrorCode {
     HASH_GENERATION_FAILED("00423", "Failed to generate hash value.", 500),
 
     FAILED_TO_GET_FILE_WALLET_MANAGER("00424", "Failed to get File wallet manager", 500),
+    WALLET_SIGNATURE_BUSY("00425", "Too many pending signature requests.", 503),
 
 
     // 500~ 599 = Issuer Error
@@ -117,12 +125,18 @@ public enum ErrorCode {
     BLOCKCHAIN_VC_META_REGISTRATION_FAILED("00604", "Failed to register VC meta on the blockchain.", 500),
     BLOCKCHAIN_VC_META_RETRIEVAL_FAILED("00605", "Failed to retrieve VC meta on the blockchain.", 500),
     BLOCKCHAIN_VC_STATUS_UPDATE_FAILED("00606", "Failed to update VC status on the blockchain.", 500),
+    BLOCKCHAIN_BUSY("00607", "Too many pending blockchain requests.", 503),
+    BLOCKCHAIN_CONNECTION_FAILED("00608", "Failed to connect to the blockchain network.", 503),
 
 
     // 700~ 799 = etc
     JSON_SERIALIZE_FAILED("00700", "Failed to Json serialize.", 500),
     JSON_DE_SERIALIZE_FAILED("00701", "Failed to Json deserialize.", 500),
     REQUEST_BODY_UNREADABLE("00702", "Unable to process the request.", 400),
+    REPOSITORY_API_FAILED("00703", "Failed to call the repository API.", 500),
+    STORAGE_BUSY("00704", "Too many pending storage requests.", 503),
+    STORAGE_UNAVAILABLE("00705", "Storage is temporarily unavailable.", 503),
+    STORAGE_INJECTED_FAILURE("00706", "Injected failure of the in-memory storage.", 500),
 
 
     UNKNOWN_SERVER_ERROR("99999", "An unknown server error.", 500),
@@ -28,6 +28,7 @@ import org.omnione.did.base.response.ErrorResponse;
 public class OpenDidException extends RuntimeException{
     private ErrorCode errorCode;
     private ErrorResponse errorResponse;
+    private int httpStatus;
     /**
      * Constructs a new OpenDidException with the specified error code.
      *
@@ -36,6 +37,7 @@ public class OpenDidException extends RuntimeException{
     public OpenDidException(ErrorCode errorCode) {
         super(errorCode.getMessage());
         this.errorCode = errorCode;
+        this.httpStatus = errorCode.getHttpStatus();
     }
 
     /**
@@ -44,7 +46,18 @@ public class OpenDidException extends RuntimeException{
      * @param errorResponse The ErrorResponse object representing the specific error.
      */
     public OpenDidException(ErrorResponse errorResponse) {
+        this(errorResponse, 400);
+    }
+
+    /**
+     * Constructs a new OpenDidException with the specified error response and the HTTP status it was received with.
+     *
+     * @param errorResponse The ErrorResponse object representing the specific error.
+     * @param httpStatus The HTTP status of the error.
+     */
+    public OpenDidException(ErrorResponse errorResponse, int httpStatus) {
         super(errorResponse.getDescription());
         this.errorResponse = errorResponse;
+        this.httpStatus = httpStatus;
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.pool;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Pool of connected resources (wallet managers, blockchain gateways) with a bounded wait queue.
+ * Callers beyond the pool size wait up to the configured time, and callers beyond the queue capacity
+ * are rejected right away instead of piling up.
+ * A resource is dropped after a call only when the error says the resource itself is broken;
+ * errors caused by the request, such as an unknown key or ID, leave it in the pool.
+ *
+ * @param <T> The resource type.
+ */
+@Slf4j
+public class BoundedObjectPool<T> implements AutoCloseable {
+    private final String resourceName;
+    private final GenericObjectPool<T> pool;
+    private final Semaphore admission;
+    private final ErrorCode busyError;
+    private final ErrorCode unavailableError;
+    private final Predicate<RuntimeException> breaksResource;
+    private final Counter rejectedCounter;
+
+    /**
+     * Creates the pool. No resource is created until the first call.
+     *
+     * @param resourceName The name of the resource, used in log messages.
+     * @param factory Creates, validates and destroys the resources.
+     * @param config The pool configuration; maxTotal is the pool size.
+     * @param queueCapacity The number of callers that may wait for a resource.
+     * @param busyError The error thrown when a caller is rejected or times out.
+     * @param unavailableError The error thrown when a resource cannot be created.
+     * @param breaksResource Tells whether an error of a call means the resource must be dropped.
+     * @param rejectedCounter Counts the rejected callers.
+     */
+    public BoundedObjectPool(String resourceName, PooledObjectFactory<T> factory, GenericObjectPoolConfig<T> config,
+                             int queueCapacity, ErrorCode busyError, ErrorCode unavailableError,
+                             Predicate<RuntimeException> breaksResource, Counter rejectedCounter) {
+        this.resourceName = resourceName;
+        this.pool = new GenericObjectPool<>(factory, config);
+        this.admission = new Semaphore(config.getMaxTotal() + queueCapacity);
+        this.busyError = busyError;
+        this.unavailableError = unavailableError;
+        this.breaksResource = breaksResource;
+        this.rejectedCounter = rejectedCounter;
+    }
+
+    /**
+     * Runs a call on a pooled resource.
+     *
+     * @param call The call.
+     * @param <R> The result type.
+     * @return The result of the call.
+     * @throws OpenDidException if the pool is busy or no resource could be created.
+     */
+    public <R> R execute(Function<T, R> call) {
+        if (!admission.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new OpenDidException(busyError);
+        }
+        try {
+            T resource = borrow();
+            boolean broken = false;
+            try {
+                return call.apply(resource);
+            } catch (RuntimeException e) {
+                broken = breaksResource.test(e);
+                throw e;
+            } finally {
+                release(resource, broken);
+            }
+        } finally {
+            admission.release();
+        }
+    }
+
+    public int getNumActive() {
+        return pool.getNumActive();
+    }
+
+    public int getNumIdle() {
+        return pool.getNumIdle();
+    }
+
+    public int getNumWaiters() {
+        return pool.getNumWaiters();
+    }
+
+    /**
+     * Closes the pool and destroys every pooled resource.
+     */
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private T borrow() {
+        try {
+            return pool.borrowObject();
+        } catch (NoSuchElementException e) {
+            rejectedCounter.increment();
+            log.warn("Timed out waiting for a {}: {}", resourceName, e.getMessage());
+            throw new OpenDidException(busyError);
+        } catch (Exception e) {
+            log.error("Failed to create a {}: {}", resourceName, e.getMessage());
+            throw new OpenDidException(unavailableError);
+        }
+    }
+
+    /**
+     * Returns a resource to the pool, or drops it so the next borrower creates a new one.
+     *
+     * @param resource The borrowed resource.
+     * @param broken Whether the call broke the resource.
+     */
+    private void release(T resource, boolean broken) {
+        try {
+            if (broken) {
+                log.warn("Dropping broken {}", resourceName);
+                pool.invalidateObject(resource);
+            } else {
+                pool.returnObject(resource);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release {}: {}", resourceName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties class for pipelining VC meta registrations on the blockchain.
+ * This class maps configuration properties with the prefix "blockchain.batch" to its fields.
+ * maxInFlight is capped at the gateway pool size.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blockchain.batch")
+public class BlockChainBatchProperty {
+    private boolean enabled = true;
+    private int maxInFlight = 4;
+    private int queueCapacity = 1000;
+}
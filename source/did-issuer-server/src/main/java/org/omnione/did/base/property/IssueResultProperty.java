@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class for the issue result notification.
+ * This class maps configuration properties with the prefix "issue-result" to its fields.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "issue-result")
+public class IssueResultProperty {
+    private Duration timeout = Duration.ofSeconds(30);
+    private int maxWaiters = 10000;
+    private Relay relay = Relay.LOCAL;
+    private String channel = "issue_vc_result";
+    private Duration listenInterval = Duration.ofMillis(500);
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /**
+     * How completions reach the requests parked on other nodes.
+     */
+    public enum Relay {
+        LOCAL,
+        POSTGRES
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties class for the ephemeral key pool.
+ * This class maps configuration properties with the prefix "key-pool" to its fields.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "key-pool")
+public class KeyPoolProperty {
+    private boolean enabled = true;
+    private int size = 64;
+    private int refillThreads = 1;
+    private List<EccCurveType> curves = List.of(EccCurveType.SECP_256_R1);
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+}
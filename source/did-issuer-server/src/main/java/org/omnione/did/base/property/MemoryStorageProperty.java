@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class for the in-memory storage of the "memory" profile.
+ * This class maps configuration properties with the prefix "storage.memory" to its fields.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "storage.memory")
+public class MemoryStorageProperty {
+    private String didDocSeed;
+    private String vcMetaSeed;
+    private LatencySpec readLatency = new LatencySpec();
+    private LatencySpec writeLatency = new LatencySpec();
+    private double readErrorRate = 0;
+    private double writeErrorRate = 0;
+
+    /**
+     * Latency added to each storage call.
+     * The delay is drawn from the distribution with the given mean and kept between min and max;
+     * for UNIFORM only min and max are used.
+     */
+    @Getter
+    @Setter
+    public static class LatencySpec {
+        private Distribution distribution = Distribution.NONE;
+        private Duration mean = Duration.ZERO;
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ofSeconds(10);
+        private double sigma = 0.5;
+    }
+
+    /**
+     * Distribution of the latency.
+     */
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL,
+        LOG_NORMAL
+    }
+}
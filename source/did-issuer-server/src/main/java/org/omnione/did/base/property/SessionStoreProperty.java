@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class for the issuance session store.
+ * This class maps configuration properties with the prefix "session" to its fields.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "session")
+public class SessionStoreProperty {
+    private Type store = Type.JPA;
+    private Duration ttl = Duration.ofHours(1);
+    private long maxSize = 100000;
+
+    /**
+     * Backend of the session store.
+     * JPA keeps the sessions in the database and works with any number of nodes.
+     * MEMORY keeps them on the node that created them, so it needs a single node or sticky routing by transaction.
+     */
+    public enum Type {
+        MEMORY,
+        JPA
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties class for the isolation of storage calls.
+ * This class maps configuration properties with the prefix "storage.resilience" to its fields.
+ *
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "storage.resilience")
+public class StorageResilienceProperty {
+    private boolean enabled = true;
+    private BulkheadSpec bulkhead = new BulkheadSpec();
+    private CircuitBreakerSpec circuitBreaker = new CircuitBreakerSpec();
+    private HedgeSpec hedge = new HedgeSpec();
+
+    /**
+     * Limit of concurrent storage calls.
+     */
+    @Getter
+    @Setter
+    public static class BulkheadSpec {
+        private int maxConcurrent = 32;
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+
+    /**
+     * Settings of the circuit breaker, evaluated over the last calls.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreakerSpec {
+        private int windowSize = 50;
+        private int minimumCalls = 20;
+        private int failureRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private int slowCallRateThreshold = 80;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 5;
+    }
+
+    /**
+     * Settings of hedged reads.
+     */
+    @Getter
+    @Setter
+    public static class HedgeSpec {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private int minSamples = 20;
+    }
+}
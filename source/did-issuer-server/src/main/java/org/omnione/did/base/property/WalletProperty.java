@@ -20,6 +20,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Configuration properties class for the Wallet.
  * This class maps configuration properties with the prefix "wallet" to its fields.
@@ -31,4 +33,16 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class WalletProperty {
     private String filePath;
     private String password;
+    private Pool pool = new Pool();
+
+    /**
+     * Settings of the pool of connected wallet managers used for signing.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        private int size = 4;
+        private int queueCapacity = 200;
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
 }
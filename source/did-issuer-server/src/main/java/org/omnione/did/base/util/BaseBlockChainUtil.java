@@ -25,6 +25,7 @@ import org.omnione.did.data.model.did.DidDocAndStatus;
 import org.omnione.did.data.model.enums.vc.VcStatus;
 import org.omnione.did.data.model.vc.VcMeta;
 import org.omnione.exception.BlockChainException;
+import org.omnione.exception.BlockchainErrorCode;
 
 
 /**
@@ -32,11 +33,11 @@ import org.omnione.exception.BlockChainException;
  * This class provides methods to interact with the blockchain, including
  * initializing the blockchain, registering and retrieving DID documents,
  * and managing VC metadata and status.
+ * The operations run on a ContractApi borrowed from the ContractApiPool.
  */
 @Slf4j
 public class BaseBlockChainUtil {
 
-    private static ContractApi contractApiInstance = getContractApiInstance();
     /**
      * Initializes the blockchain connection.
      *
@@ -47,89 +48,106 @@ public class BaseBlockChainUtil {
         return ContractFactory.FABRIC.create("properties/blockchain.properties");
     }
 
-    /**
-     * Resets the ContractApi instance.
-     * Use this method to reinitialize the blockchain connection.
-     */
-    public static ContractApi getContractApiInstance() {
-        if (contractApiInstance == null) {
-            synchronized (BaseBlockChainUtil.class) {
-                if (contractApiInstance == null) {
-                    contractApiInstance = initBlockChain();
-                }
-            }
-        }
-        return contractApiInstance;
-    }
-
-    public static synchronized void resetContractApiInstance() {
-        contractApiInstance = null;
-    }
-
     /**
      * Retrieves a DID document and its status from the blockchain.
      *
+     * @param contractApi the ContractApi to use.
      * @param didKeyUrl the DID key URL to search for.
      * @return the DID document and its status.
      * @throws OpenDidException if the DID document cannot be found.
+     * @throws OpenDidException if the DID key URL is not valid.
      */
-    public static DidDocAndStatus findDidDocument(String didKeyUrl) {
+    public static DidDocAndStatus findDidDocument(ContractApi contractApi, String didKeyUrl) {
         try {
-            ContractApi contractApi = getContractApiInstance();
             return (DidDocAndStatus) contractApi.getDidDoc(didKeyUrl);
         } catch (BlockChainException e) {
             log.error("Failed to get DID Document: " + e.getMessage());
-            throw new OpenDidException(ErrorCode.BLOCKCHAIN_GET_DID_DOC_FAILED);
+            if (BlockchainErrorCode.DID_KEY_URL_PARSING_ERROR.getCode().equals(e.getErrorCode())) {
+                throw new OpenDidException(ErrorCode.DID_KEY_URL_INVALID);
+            }
+            throw toOpenDidException(e, ErrorCode.BLOCKCHAIN_GET_DID_DOC_FAILED);
         }
     }
 
     /**
      * Registers VC metadata on the blockchain.
      *
+     * @param contractApi the ContractApi to use.
      * @param vcMeta the VC metadata to register.
      * @throws OpenDidException if the VC metadata cannot be registered.
      */
-    public static void registerVcMeta(VcMeta vcMeta) {
+    public static void registerVcMeta(ContractApi contractApi, VcMeta vcMeta) {
         try {
-            ContractApi contractApi = getContractApiInstance();
             contractApi.registVcMetadata(vcMeta);
         } catch (BlockChainException e) {
             log.error("Failed to register VC Meta: " + e.getMessage());
-            throw new OpenDidException(ErrorCode.BLOCKCHAIN_VC_META_REGISTRATION_FAILED);
+            throw toOpenDidException(e, ErrorCode.BLOCKCHAIN_VC_META_REGISTRATION_FAILED);
         }
     }
 
     /**
      * Retrieves VC metadata from the blockchain.
      *
+     * @param contractApi the ContractApi to use.
      * @param vcId the VC ID to search for.
      * @return the VC metadata.
      * @throws OpenDidException if the VC metadata cannot be found.
      */
-    public static VcMeta findVcMeta(String vcId) {
+    public static VcMeta findVcMeta(ContractApi contractApi, String vcId) {
         try {
-            ContractApi contractApi = getContractApiInstance();
             return (VcMeta) contractApi.getVcMetadata(vcId);
         } catch (BlockChainException e) {
             log.error("Failed to find VC Meta: " + e.getMessage());
-            throw new OpenDidException(ErrorCode.BLOCKCHAIN_VC_META_RETRIEVAL_FAILED);
+            throw toOpenDidException(e, ErrorCode.BLOCKCHAIN_VC_META_RETRIEVAL_FAILED);
         }
     }
 
     /**
      * Updates the status of a VC on the blockchain.
      *
+     * @param contractApi the ContractApi to use.
      * @param vcId the VC ID.
      * @param vcStatus the new status for the VC.
      * @throws OpenDidException if the VC status cannot be updated.
      */
-    public static void updateVcStatus(String vcId, VcStatus vcStatus) {
+    public static void updateVcStatus(ContractApi contractApi, String vcId, VcStatus vcStatus) {
         try {
-            ContractApi contractApi = getContractApiInstance();
             contractApi.updateVcStatus(vcId, vcStatus);
         } catch (BlockChainException e) {
             log.error("Failed to update VC Status: " + e.getMessage());
-            throw new OpenDidException(ErrorCode.BLOCKCHAIN_VC_STATUS_UPDATE_FAILED);
+            throw toOpenDidException(e, ErrorCode.BLOCKCHAIN_VC_STATUS_UPDATE_FAILED);
+        }
+    }
+
+    /**
+     * Converts a blockchain error into an OpenDidException.
+     * Connection errors get their own error code, so the gateway pool can tell a broken gateway
+     * from a request the ledger rejected.
+     *
+     * @param e the blockchain error.
+     * @param errorCode the error code of the failed operation.
+     * @return the exception to throw.
+     */
+    private static OpenDidException toOpenDidException(BlockChainException e, ErrorCode errorCode) {
+        if (BlockchainErrorCode.CONNECTION_ERROR.getCode().equals(e.getErrorCode())) {
+            return new OpenDidException(ErrorCode.BLOCKCHAIN_CONNECTION_FAILED);
+        }
+        return new OpenDidException(errorCode);
+    }
+
+    /**
+     * Checks that the blockchain answers through the given ContractApi.
+     *
+     * @param contractApi the ContractApi to check.
+     * @param didKeyUrl a DID key URL that is registered on the blockchain.
+     * @return true if the DID document could be read.
+     */
+    public static boolean isAvailable(ContractApi contractApi, String didKeyUrl) {
+        try {
+            return contractApi.getDidDoc(didKeyUrl) != null;
+        } catch (BlockChainException e) {
+            log.warn("Blockchain health check failed: " + e.getMessage());
+            return false;
         }
     }
 }
@@ -305,6 +305,26 @@ public class BaseCryptoUtil {
         }
     }
 
+    /**
+     * Verifies a digital signature using an already decoded compressed public key.
+     *
+     * @param compressedPublicKey The decoded compressed public key.
+     * @param encodedSignature The encoded signature.
+     * @param signData The data to verify.
+     * @param eccCurveType The ECC curve type.
+     * @throws OpenDidException if signature verification fails.
+     */
+    public static void verifySignature(byte[] compressedPublicKey, String encodedSignature, byte[] signData, EccCurveType eccCurveType) {
+        try {
+            byte[] signatureBytes = BaseMultibaseUtil.decode(encodedSignature);
+
+            SignatureUtils.verifyCompactSignWithCompressedKey(compressedPublicKey, signData, signatureBytes, eccCurveType.toOmnioneEccCurveType());
+        }  catch (CryptoException e) {
+            log.error("Failed to verify signature: {}", e.getMessage());
+            throw new OpenDidException(ErrorCode.SIGNATURE_VERIFICATION_FAILED);
+        }
+    }
+
     /**
      * Verifies a digital signature using the provided public key and ECC curve type.
      *
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.crypto.enums.MultiBaseType;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The StatusListUtil class provides utility methods for reading, writing and encoding status list bitstrings.
+ * The status of the VC at index i occupies the statusSize bits starting at bit i * statusSize,
+ * where bit 0 is the most significant bit of the first byte.
+ *
+ */
+@Slf4j
+public class StatusListUtil {
+    public static final int STATUS_SIZE = 2;
+    public static final int ACTIVE = 0;
+    public static final int INACTIVE = 1;
+    public static final int REVOKED = 2;
+
+    /**
+     * Returns the status list value of a VC status.
+     *
+     * @param status The VC status.
+     * @return The value stored in the status list.
+     */
+    public static int toValue(VcStatus status) {
+        return switch (status) {
+            case ACTIVE -> ACTIVE;
+            case INACTIVE -> INACTIVE;
+            case REVOKED -> REVOKED;
+        };
+    }
+
+    /**
+     * Returns the number of bytes needed for a status list.
+     *
+     * @param capacity The number of entries.
+     * @param statusSize The number of bits per entry.
+     * @return The size of the bitstring in bytes.
+     */
+    public static int byteLength(int capacity, int statusSize) {
+        return (int) (((long) capacity * statusSize + 7) / 8);
+    }
+
+    /**
+     * Reads the value of an entry.
+     *
+     * @param bits The bitstring.
+     * @param statusSize The number of bits per entry.
+     * @param index The index of the entry.
+     * @return The value of the entry.
+     */
+    public static int read(byte[] bits, int statusSize, int index) {
+        int value = 0;
+        long position = (long) index * statusSize;
+        for (int i = 0; i < statusSize; i++, position++) {
+            int bit = (bits[(int) (position >>> 3)] >>> (7 - (int) (position & 7))) & 1;
+            value = (value << 1) | bit;
+        }
+        return value;
+    }
+
+    /**
+     * Writes the value of an entry.
+     *
+     * @param bits The bitstring.
+     * @param statusSize The number of bits per entry.
+     * @param index The index of the entry.
+     * @param value The value to write.
+     */
+    public static void write(byte[] bits, int statusSize, int index, int value) {
+        long position = (long) index * statusSize;
+        for (int i = statusSize - 1; i >= 0; i--, position++) {
+            int mask = 0x80 >>> (int) (position & 7);
+            int offset = (int) (position >>> 3);
+            if (((value >>> i) & 1) == 1) {
+                bits[offset] |= (byte) mask;
+            } else {
+                bits[offset] &= (byte) ~mask;
+            }
+        }
+    }
+
+    /**
+     * Compresses a bitstring with GZIP and encodes it as multibase base64url.
+     *
+     * @param bits The bitstring.
+     * @return The encoded list.
+     * @throws OpenDidException if the compression fails.
+     */
+    public static String encode(byte[] bits) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bits);
+        } catch (IOException e) {
+            log.error("Error occurred while compressing the status list. {}", e.getMessage());
+            throw new OpenDidException(ErrorCode.CRYPTO_ENCODING_FAILED);
+        }
+        return BaseMultibaseUtil.encode(out.toByteArray(), MultiBaseType.base64url);
+    }
+}
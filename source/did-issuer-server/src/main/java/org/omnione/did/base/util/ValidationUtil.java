@@ -17,8 +17,13 @@
 package org.omnione.did.base.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
 import org.omnione.did.base.datamodel.data.RequestProof;
 import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.common.util.DidUtil;
 import org.omnione.did.common.util.JsonUtil;
 import org.omnione.did.core.manager.DidManager;
@@ -27,13 +32,22 @@ import org.omnione.did.data.model.did.Proof;
 import org.omnione.did.data.model.did.VerificationMethod;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 
 /**
  * Utility class for validation operations.
  * This class provides methods for validating the expiration date of a DID document and verifying a signature.
+ * Decoded verification keys are cached per DID document version, so repeated proof checks skip
+ * re-parsing the DID document.
  */
+@Slf4j
 public class ValidationUtil {
+    private static final Cache<String, byte[]> VERIFICATION_KEY_CACHE = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
     /**
      * Checks if the expiration date of a DID document has passed.
      *
@@ -55,12 +69,8 @@ public class ValidationUtil {
         Proof proof = request.getProof();
         String verificationMethod = proof.getVerificationMethod();
 
-        DidManager didManager = new DidManager();
-        didManager.parse(didDocument.toJson());
         String keyId = DidUtil.extractKeyId(verificationMethod);
-        VerificationMethod publicKeyByKeyId = didManager.getVerificationMethodByKeyId(keyId);
-
-
+        byte[] publicKey = getVerificationKey(didDocument, keyId);
 
         Proof tmpProof = new Proof();
         tmpProof.setType(proof.getType());
@@ -72,7 +82,38 @@ public class ValidationUtil {
 
         String source = JsonUtil.serializeAndSort(request);
 
-        BaseCryptoUtil.verifySignature(publicKeyByKeyId.getPublicKeyMultibase(), proof.getProofValue(),
+        BaseCryptoUtil.verifySignature(publicKey, proof.getProofValue(),
                 BaseDigestUtil.generateHash(source.getBytes(StandardCharsets.UTF_8)), EccCurveType.SECP_256_R1);
     }
+
+    /**
+     * Returns the decoded public key of a verification method, ready to verify with.
+     * Keys are cached by DID, DID document version and key ID, so a new version of a
+     * DID document is always resolved again. Documents without a version are not cached.
+     *
+     * @param didDocument The DID document.
+     * @param keyId The key ID of the verification method.
+     * @return The decoded (compressed) public key.
+     * @throws OpenDidException if the verification method does not exist.
+     */
+    private static byte[] getVerificationKey(DidDocument didDocument, String keyId) {
+        if (didDocument.getVersionId() == null) {
+            return loadVerificationKey(didDocument, keyId);
+        }
+
+        String cacheKey = didDocument.getId() + "?versionId=" + didDocument.getVersionId() + "#" + keyId;
+        return VERIFICATION_KEY_CACHE.get(cacheKey, key -> loadVerificationKey(didDocument, keyId));
+    }
+
+    private static byte[] loadVerificationKey(DidDocument didDocument, String keyId) {
+        DidManager didManager = new DidManager();
+        didManager.parse(didDocument.toJson());
+        VerificationMethod publicKeyByKeyId = didManager.getVerificationMethodByKeyId(keyId);
+        if (publicKeyByKeyId == null) {
+            log.error("Verification method not found. did: {}, keyId: {}", didDocument.getId(), keyId);
+            throw new OpenDidException(ErrorCode.GET_VERIFICATION_METHOD_FAILED);
+        }
+
+        return BaseMultibaseUtil.decode(publicKeyByKeyId.getPublicKeyMultibase());
+    }
 }
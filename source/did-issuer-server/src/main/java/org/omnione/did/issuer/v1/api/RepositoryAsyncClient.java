@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.RepositoryProperty;
+import org.omnione.did.base.response.ErrorResponse;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.api.dto.DidDocApiResDto;
+import org.omnione.did.issuer.v1.api.dto.UpdateVcStatusApiReqDto;
+import org.omnione.did.issuer.v1.api.dto.VcMetaApiResDto;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking client for the repository API.
+ * Requests are sent over a pool of keep-alive connections, so a caller does not hold a thread while
+ * waiting for the repository. Callers beyond the connection limit wait for a free connection
+ * up to the connection request timeout.
+ * A response with an error status fails the returned future with an OpenDidException carrying
+ * the repository error and the response status. If the error could not be read, a client error status is kept
+ * with the REPOSITORY_API_FAILED error, and any other status becomes REPOSITORY_API_FAILED.
+ */
+@Slf4j
+public class RepositoryAsyncClient implements AutoCloseable {
+    private static final String API_PATH = "/api/v1";
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpClient;
+
+    public RepositoryAsyncClient(RepositoryProperty property, ObjectMapper objectMapper) {
+        this.baseUrl = property.getUrl() + API_PATH;
+        this.objectMapper = objectMapper;
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(property.getMaxConnections())
+                .setMaxConnPerRoute(property.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(property.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(property.getResponseTimeout()))
+                        .build())
+                .build();
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(property.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(property.getResponseTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(property.getIdleTimeout()))
+                .build();
+        this.httpClient.start();
+    }
+
+    /**
+     * Retrieves a DID document.
+     *
+     * @param did The DID.
+     * @return Future of the encoded DID document.
+     */
+    public CompletableFuture<DidDocApiResDto> getDid(String did) {
+        return execute(SimpleRequestBuilder.get(baseUrl + "/did-doc?did=" + encode(did)).build(), DidDocApiResDto.class);
+    }
+
+    /**
+     * Retrieves the metadata of a VC.
+     *
+     * @param vcId The ID of the VC.
+     * @return Future of the encoded VC metadata.
+     */
+    public CompletableFuture<VcMetaApiResDto> getVcMetaData(String vcId) {
+        return execute(SimpleRequestBuilder.get(baseUrl + "/vc-meta?vcId=" + encode(vcId)).build(), VcMetaApiResDto.class);
+    }
+
+    /**
+     * Registers the metadata of a VC.
+     *
+     * @param vcMeta The VC metadata.
+     * @return Future that completes when the repository accepted the metadata.
+     */
+    public CompletableFuture<Void> inputVcMeta(VcMeta vcMeta) {
+        return execute(withJsonBody(SimpleRequestBuilder.post(baseUrl + "/vc-meta"), vcMeta), Void.class);
+    }
+
+    /**
+     * Updates the status of a VC.
+     *
+     * @param request The VC ID and its new status.
+     * @return Future that completes when the repository accepted the status.
+     */
+    public CompletableFuture<Void> updateVcStatus(UpdateVcStatusApiReqDto request) {
+        return execute(withJsonBody(SimpleRequestBuilder.put(baseUrl + "/vc-meta"), request), Void.class);
+    }
+
+    /**
+     * Returns the statistics of the connection pool.
+     *
+     * @return The pool statistics.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Closes the client and its connections.
+     */
+    @Override
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+
+    private <T> CompletableFuture<T> execute(SimpleHttpRequest request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    result.complete(readResponse(request, response, responseType));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                log.error("Repository request failed. {} {}: {}", request.getMethod(), request.getPath(), e.getMessage());
+                result.completeExceptionally(new OpenDidException(ErrorCode.REPOSITORY_API_FAILED));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private <T> T readResponse(SimpleHttpRequest request, SimpleHttpResponse response, Class<T> responseType)
+            throws JsonProcessingException {
+        String body = response.getBodyText();
+        if (response.getCode() >= 300) {
+            log.error("Repository responded with {}. {} {}: {}", response.getCode(), request.getMethod(), request.getPath(), body);
+            throw toException(response.getCode(), body);
+        }
+        if (responseType == Void.class || body == null || body.isEmpty()) {
+            return null;
+        }
+        return objectMapper.readValue(body, responseType);
+    }
+
+    private OpenDidException toException(int status, String body) {
+        try {
+            JsonNode error = objectMapper.readTree(body);
+            if (error != null && error.hasNonNull("code")) {
+                return new OpenDidException(new ErrorResponse(error.get("code").asText(),
+                        error.path("description").asText(null)), status);
+            }
+        } catch (Exception e) {
+            log.debug("Repository error body is not an error response: {}", e.getMessage());
+        }
+        if (status < 500) {
+            return new OpenDidException(new ErrorResponse(ErrorCode.REPOSITORY_API_FAILED), status);
+        }
+        return new OpenDidException(ErrorCode.REPOSITORY_API_FAILED);
+    }
+
+    private SimpleHttpRequest withJsonBody(SimpleRequestBuilder builder, Object body) {
+        try {
+            return builder.setBody(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            throw new OpenDidException(ErrorCode.JSON_SERIALIZE_FAILED);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -23,7 +23,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.omnione.did.issuer.v1.helper.IssueServiceHelper;
 import org.omnione.did.issuer.v1.service.IssueService;
+import org.omnione.did.issuer.v1.service.result.IssueResultNotifier;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * The IssueController class is a controller that handles requests related to issuing verifiable credentials.
@@ -37,6 +39,7 @@ import org.springframework.web.bind.annotation.*;
 public class IssueController {
 
     private final IssueService issueServiceHelper;
+    private final IssueResultNotifier issueResultNotifier;
 
     /**
      * Requests an offer for Issuing Verifiable Credential.
@@ -103,4 +106,16 @@ public class IssueController {
     public IssueVcResultResDto issueVcResult(@RequestParam("offerId") String offerId) {
         return issueServiceHelper.issueVcResult(offerId);
     }
+
+    /**
+     * Waits for the result of issuing a Verifiable Credential.
+     * The request is answered when the issuance completes, or with the current result when the wait times out.
+     *
+     * @param offerId the ID of the offer for the VC
+     * @return the result of issuing the VC
+     */
+    @GetMapping(UrlConstant.Issuer.ISSUE_VC + UrlConstant.Issuer.RESULT + UrlConstant.Issuer.WAIT)
+    public DeferredResult<IssueVcResultResDto> waitIssueVcResult(@RequestParam("offerId") String offerId) {
+        return issueResultNotifier.await(offerId, () -> issueServiceHelper.issueVcResult(offerId));
+    }
 }
@@ -18,11 +18,22 @@ package org.omnione.did.issuer.v1.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.omnione.did.base.constants.UrlConstant;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
 import org.omnione.did.issuer.v1.dto.vc.*;
+import org.omnione.did.issuer.v1.service.VcMetaStatusService;
 import org.omnione.did.issuer.v1.service.VcStatusService;
+import org.omnione.did.issuer.v1.service.bulk.VcStatusBulkService;
 import org.omnione.did.issuer.v1.service.query.VcSchemaService;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The VcController class is a controller that handles requests related to verifiable credentials.
  * It provides endpoints for inspecting a propose revoke, revoking VC and updating VC status.
@@ -33,6 +44,9 @@ import org.springframework.web.bind.annotation.*;
 public class VcController {
     private final VcStatusService vcStatusService;
     private final VcSchemaService vcSchemaService;
+    private final VcMetaStatusService vcMetaStatusService;
+    private final VcStatusBulkService vcStatusBulkService;
+    private final VcStatusListService vcStatusListService;
 
     /**
      * Inspects the propose revoke for a Verifiable Credential.
@@ -81,6 +95,58 @@ public class VcController {
         return vcStatusService.updateVcStatus(request);
     }
 
+    /**
+     * Submits status updates for many Verifiable Credentials as a job.
+     *
+     * @param jobId the ID of an existing job to add the items to, or none to create a new job
+     * @param request the vcId/status pairs
+     * @return the job ID and its progress
+     */
+    @PostMapping(value = UrlConstant.Issuer.STATUS + UrlConstant.Issuer.BULK, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkUpdateVcStatusResDto updateVcStatusBulk(@RequestParam(name="jobId", required=false) String jobId,
+                                                       @RequestBody BulkUpdateVcStatusReqDto request) {
+        return vcStatusBulkService.submit(jobId, request.getItems());
+    }
+
+    /**
+     * Submits status updates for many Verifiable Credentials as a job, streamed as NDJSON.
+     *
+     * @param jobId the ID of an existing job to add the items to, or none to create a new job
+     * @param body one vcId/status pair per line
+     * @return the job ID and its progress
+     */
+    @PostMapping(value = UrlConstant.Issuer.STATUS + UrlConstant.Issuer.BULK, consumes = "application/x-ndjson")
+    public BulkUpdateVcStatusResDto updateVcStatusBulkNdjson(@RequestParam(name="jobId", required=false) String jobId,
+                                                             InputStream body) {
+        return vcStatusBulkService.submitNdjson(jobId, body);
+    }
+
+    /**
+     * Gets the progress and the item results of a bulk status update job.
+     *
+     * @param jobId the ID of the job
+     * @param page the page of item results, starting at 0
+     * @param size the number of item results per page
+     * @return the job progress and item results
+     */
+    @GetMapping(UrlConstant.Issuer.STATUS + UrlConstant.Issuer.BULK)
+    public BulkUpdateVcStatusResDto getVcStatusBulk(@RequestParam(name="jobId") String jobId,
+                                                    @RequestParam(name="page", defaultValue="0") int page,
+                                                    @RequestParam(name="size", defaultValue="1000") int size) {
+        return vcStatusBulkService.getJob(jobId, page, size);
+    }
+
+    /**
+     * Resumes a bulk status update job that was interrupted.
+     *
+     * @param jobId the ID of the job
+     * @return the job progress
+     */
+    @PostMapping(UrlConstant.Issuer.STATUS + UrlConstant.Issuer.BULK + UrlConstant.Issuer.RESUME)
+    public BulkUpdateVcStatusResDto resumeVcStatusBulk(@RequestParam(name="jobId") String jobId) {
+        return vcStatusBulkService.resume(jobId);
+    }
+
     /**
      * Gets the schema of a Verifiable Credential.
      *
@@ -91,4 +157,80 @@ public class VcController {
     public String getVcSchema(@RequestParam(name="name") String name) {
         return vcSchemaService.getVcSchemaByName(name);
     }
+
+    /**
+     * Gets the registration status of a Verifiable Credential's meta on the storage.
+     *
+     * @param vcId the ID of the VC
+     * @return the registration status of the VC meta
+     */
+    @GetMapping(UrlConstant.Issuer.VC + UrlConstant.Issuer.META_STATUS)
+    public VcMetaStatusResDto getVcMetaStatus(@RequestParam(name="vcId") String vcId) {
+        return vcMetaStatusService.getVcMetaStatus(vcId);
+    }
+
+    /**
+     * Lists the VC meta operations of a kind with the given status, e.g. pending or failed revocations.
+     *
+     * @param operation the operation, UPDATE_VC_STATUS by default
+     * @param status the status, PENDING by default
+     * @param page the page number, starting at 0
+     * @param size the number of operations per page
+     * @return the number of matching operations and a page of them
+     */
+    @GetMapping(UrlConstant.Issuer.VC + UrlConstant.Issuer.META_OPERATIONS)
+    public VcMetaOutboxListResDto getVcMetaOperations(
+            @RequestParam(name="operation", defaultValue="UPDATE_VC_STATUS") VcMetaOutboxOperation operation,
+            @RequestParam(name="status", defaultValue="PENDING") VcMetaOutboxStatus status,
+            @RequestParam(name="page", defaultValue="0") int page,
+            @RequestParam(name="size", defaultValue="100") int size) {
+        return vcMetaStatusService.getVcMetaOperations(operation, status, page, size);
+    }
+
+    /**
+     * Evicts the cached meta of a Verifiable Credential.
+     *
+     * @param vcId the ID of the VC
+     */
+    @DeleteMapping(UrlConstant.Issuer.VC + UrlConstant.Issuer.META_CACHE)
+    public void evictVcMeta(@RequestParam(name="vcId") String vcId) {
+        vcMetaStatusService.evictVcMeta(vcId);
+    }
+
+    /**
+     * Evicts the cached DID document of a DID, e.g. after the DID document was updated.
+     *
+     * @param did the DID or DID key URL
+     */
+    @DeleteMapping(UrlConstant.Issuer.DID_DOC_CACHE)
+    public void evictDidDoc(@RequestParam(name="did") String did) {
+        vcMetaStatusService.evictDidDoc(did);
+    }
+
+    /**
+     * Gets the signed status list of a VC plan.
+     * The response carries an ETag of the list version, so an unchanged list is answered with 304 Not Modified.
+     *
+     * @param vcPlanId the ID of the VC plan
+     * @return the status list of the VC plan
+     */
+    @GetMapping(UrlConstant.Issuer.VC + UrlConstant.Issuer.STATUS_LIST)
+    public ResponseEntity<StatusListResDto> getStatusList(@RequestParam(name="vcPlanId") String vcPlanId) {
+        StatusListResDto statusList = vcStatusListService.getStatusList(vcPlanId);
+        return ResponseEntity.ok()
+                .eTag(vcPlanId + "-" + statusList.getVersion())
+                .cacheControl(CacheControl.maxAge(vcStatusListService.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePublic())
+                .body(statusList);
+    }
+
+    /**
+     * Gets the status list entry of a Verifiable Credential.
+     *
+     * @param vcId the ID of the VC
+     * @return the VC plan and the index of the VC in its status list
+     */
+    @GetMapping(UrlConstant.Issuer.VC + UrlConstant.Issuer.STATUS_LIST + UrlConstant.Issuer.INDEX)
+    public StatusListIndexResDto getStatusListIndex(@RequestParam(name="vcId") String vcId) {
+        return vcStatusListService.getIndex(vcId);
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.dto.vc;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * response for a bulk VC status job: its progress and, when requested, a page of item results.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class BulkUpdateVcStatusResDto {
+    private String jobId;
+    private String status;
+    private Long total;
+    private Long pending;
+    private Long succeeded;
+    private Long failed;
+    private List<BulkUpdateVcStatusItemDto> items;
+}
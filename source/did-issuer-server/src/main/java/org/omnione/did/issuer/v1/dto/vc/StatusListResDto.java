@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.dto.vc;
+
+import lombok.*;
+import org.omnione.did.data.model.did.Proof;
+
+import java.util.List;
+
+/**
+ * response for the signed status list of a VC plan.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Builder
+public class StatusListResDto {
+    private String id;
+    private String issuer;
+    private String vcPlanId;
+    private String statusPurpose;
+    private Integer statusSize;
+    private List<StatusListMessageDto> statusMessages;
+    private Integer size;
+    private String encodedList;
+    private Long version;
+    private String validFrom;
+    private Long ttl;
+    private Proof proof;
+}
@@ -27,6 +27,8 @@ import org.omnione.did.issuer.v1.service.IssueService;
 import org.omnione.did.issuer.v1.service.IssueServiceBase;
 import org.omnione.did.issuer.v1.service.NationalIdIssueServiceImpl;
 import org.omnione.did.issuer.v1.service.query.TransactionService;
+import org.omnione.did.issuer.v1.service.query.VcOfferQueryService;
+import org.omnione.did.issuer.v1.service.result.IssueResultPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -44,6 +46,8 @@ public class IssueServiceHelper implements IssueService {
     private final MdlIssueServiceImpl issueInitIssueService;
 
     private final TransactionService transactionService;
+    private final VcOfferQueryService vcOfferQueryService;
+    private final IssueResultPublisher issueResultPublisher;
 
     /**
      * Request an offer for the given VC.
@@ -88,18 +92,23 @@ public class IssueServiceHelper implements IssueService {
      */
     @Override
     public IssueVcResDto issueVc(IssueVcReqDto request) {
-        return getIssueServiceByTransaction(request.getTxId()).issueVc(request);
+        Transaction transaction = transactionService.findByTxId(request.getTxId());
+        return getIssueServiceByTransaction(transaction).issueVc(request, transaction);
     }
 
     /**
      * completeVc for the given VC.
+     * Once the completion is committed, the requests waiting for the result of the offer are answered.
      *
      * @param request the VC to request an offer for
      * @return the offer for the given VC
      */
     @Override
     public CompleteVcResDto completeVc(CompleteVcReqDto request) {
-        return getIssueServiceByTransaction(request.getTxId()).completeVc(request);
+        Transaction transaction = transactionService.findByTxId(request.getTxId());
+        CompleteVcResDto response = getIssueServiceByTransaction(transaction).completeVc(request);
+        publishIssueResult(transaction);
+        return response;
     }
 
     /**
@@ -121,11 +130,35 @@ public class IssueServiceHelper implements IssueService {
      * @return IssuerService to use for the given transactionId
      */
     private IssueServiceBase getIssueServiceByTransaction(String txId) {
-        Transaction transaction = transactionService.findByTxId(txId);
+        return getIssueServiceByTransaction(transactionService.findByTxId(txId));
+    }
 
+    /**
+     *  Method for fetching an implementation of the IssueService interface based on the VC Plan ID of a transaction
+     *
+     * @param transaction transaction to IssuerService
+     * @return IssuerService to use for the given transaction
+     */
+    private IssueServiceBase getIssueServiceByTransaction(Transaction transaction) {
         if (VcPlanId.VCPLANID000000000001.getLabel().equals(transaction.getVcPlanId())) {
             return issueInitIssueService;
         }
         return userInitIssueService;
     }
+
+    /**
+     * Publishes the completed issuance of a transaction to the requests waiting for the result of its offer.
+     * Issuances that did not start from an offer have no waiting requests and are skipped.
+     * The issuance is already complete, so a failure here is logged and the waiting requests fall back to their timeout.
+     *
+     * @param transaction the completed transaction
+     */
+    private void publishIssueResult(Transaction transaction) {
+        try {
+            vcOfferQueryService.findByTransactionId(transaction.getId())
+                    .ifPresent(vcOffer -> issueResultPublisher.publish(vcOffer.getOfferId(), transaction.getTxId()));
+        } catch (Exception e) {
+            log.warn("Failed to publish the issue result of transaction {}: {}", transaction.getTxId(), e.getMessage());
+        }
+    }
 }
@@ -25,10 +25,16 @@ import org.omnione.did.data.model.did.DidDocument;
 import org.omnione.did.data.model.enums.did.DidDocStatus;
 import org.omnione.did.data.model.enums.vc.VcStatus;
 import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.storage.ContractApiPool;
+import org.omnione.did.issuer.v1.service.storage.VcMetaBatchRegistrar;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.omnione.did.base.exception.ErrorCode;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The BlockChainServiceImpl class provides methods for registering and retrieving DID Documents.
  * It is designed to facilitate the storage and retrieval of DID Documents, ensuring that the data is accurate and up-to-date.
@@ -36,8 +42,11 @@ import org.omnione.did.base.exception.ErrorCode;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Profile("!repository")
+@Qualifier("storageBackend")
+@Profile("!repository & !memory")
 public class BlockChainServiceImpl implements StorageService {
+    private final ContractApiPool contractApiPool;
+    private final ObjectProvider<VcMetaBatchRegistrar> vcMetaBatchRegistrar;
 
     /**
      * Register the given DID Document to blockchain.
@@ -49,7 +58,11 @@ public class BlockChainServiceImpl implements StorageService {
     @Override
     public DidDocument findDidDoc(String didKeyUrl) {
         try {
-            DidDocAndStatus didDocAndStatus = BaseBlockChainUtil.findDidDocument(didKeyUrl);
+            DidDocAndStatus didDocAndStatus = contractApiPool.execute("findDidDoc",
+                    contractApi -> BaseBlockChainUtil.findDidDocument(contractApi, didKeyUrl));
+            if (didDocAndStatus == null || didDocAndStatus.getDocument() == null) {
+                throw new OpenDidException(ErrorCode.DID_DOC_NOT_FOUND);
+            }
             isActiveDidDoc(didDocAndStatus.getStatus());
             return didDocAndStatus.getDocument();
         } catch (OpenDidException e) {
@@ -68,7 +81,23 @@ public class BlockChainServiceImpl implements StorageService {
      */
     @Override
     public void registerVcMeta(VcMeta vcMeta) {
-        BaseBlockChainUtil.registerVcMeta(vcMeta);
+        contractApiPool.run("registerVcMeta", contractApi -> BaseBlockChainUtil.registerVcMeta(contractApi, vcMeta));
+    }
+
+    /**
+     * Register Verifiable Credential Metadata to blockchain through the batch registrar.
+     * Falls back to a synchronous registration when batching is disabled.
+     *
+     * @param vcMeta Verifiable Credential Metadata
+     * @return Future that completes when the metadata is registered
+     */
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        VcMetaBatchRegistrar registrar = vcMetaBatchRegistrar.getIfAvailable();
+        if (registrar == null) {
+            return StorageService.super.registerVcMetaAsync(vcMeta);
+        }
+        return registrar.submit(vcMeta);
     }
 
     /**
@@ -79,7 +108,8 @@ public class BlockChainServiceImpl implements StorageService {
      */
     @Override
     public void updateVcStatus(String vcId, VcStatus vcStatus) {
-        BaseBlockChainUtil.updateVcStatus(vcId, vcStatus);
+        contractApiPool.run("updateVcStatus",
+                contractApi -> BaseBlockChainUtil.updateVcStatus(contractApi, vcId, vcStatus));
     }
 
     /**
@@ -90,7 +120,7 @@ public class BlockChainServiceImpl implements StorageService {
      */
     @Override
     public VcMeta getVcMetByVcId(String vcId) {
-        return BaseBlockChainUtil.findVcMeta(vcId);
+        return contractApiPool.execute("findVcMeta", contractApi -> BaseBlockChainUtil.findVcMeta(contractApi, vcId));
     }
 
     /**
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.property.KeyPoolProperty;
+import org.omnione.did.base.util.BaseCryptoUtil;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.crypto.keypair.EcKeyPair;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service that keeps a bounded pool of pre-generated ephemeral ECDH key pairs per curve.
+ * Background threads refill the pool, so the issue profile step only takes a ready-made key
+ * and falls back to inline generation when the pool for the requested curve is empty.
+ */
+@Slf4j
+@Service
+public class EphemeralKeyPoolService {
+    private final KeyPoolProperty keyPoolProperty;
+    private final MeterRegistry meterRegistry;
+    private final Map<EccCurveType, BlockingQueue<EphemeralKey>> pools = new EnumMap<>(EccCurveType.class);
+    private final Map<EccCurveType, Counter> hitCounters = new EnumMap<>(EccCurveType.class);
+    private final Map<EccCurveType, Counter> missCounters = new EnumMap<>(EccCurveType.class);
+    private ExecutorService refillExecutor;
+
+    public EphemeralKeyPoolService(KeyPoolProperty keyPoolProperty, MeterRegistry meterRegistry) {
+        this.keyPoolProperty = keyPoolProperty;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates a pool for each configured curve and starts the refill threads.
+     */
+    @PostConstruct
+    public void start() {
+        for (EccCurveType curve : EccCurveType.values()) {
+            hitCounters.put(curve, Counter.builder("issuer.key-pool.hit")
+                    .tag("curve", curve.toString())
+                    .register(meterRegistry));
+            missCounters.put(curve, Counter.builder("issuer.key-pool.miss")
+                    .tag("curve", curve.toString())
+                    .register(meterRegistry));
+        }
+
+        if (!keyPoolProperty.isEnabled() || keyPoolProperty.getSize() <= 0) {
+            log.info("Ephemeral key pool disabled. Key pairs are generated inline.");
+            return;
+        }
+
+        List<EccCurveType> curves = new ArrayList<>(keyPoolProperty.getCurves());
+        int threadsPerCurve = Math.max(1, keyPoolProperty.getRefillThreads());
+        AtomicInteger threadIndex = new AtomicInteger();
+        refillExecutor = Executors.newFixedThreadPool(curves.size() * threadsPerCurve, runnable -> {
+            Thread thread = new Thread(runnable, "key-pool-refill-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        for (EccCurveType curve : curves) {
+            BlockingQueue<EphemeralKey> pool = new ArrayBlockingQueue<>(keyPoolProperty.getSize());
+            pools.put(curve, pool);
+            Gauge.builder("issuer.key-pool.size", pool, BlockingQueue::size)
+                    .tag("curve", curve.toString())
+                    .register(meterRegistry);
+            for (int i = 0; i < threadsPerCurve; i++) {
+                refillExecutor.execute(() -> refill(curve, pool));
+            }
+        }
+        log.info("Ephemeral key pool started. curves: {}, size: {}, refill threads per curve: {}",
+                curves, keyPoolProperty.getSize(), threadsPerCurve);
+    }
+
+    /**
+     * Stops the refill threads.
+     */
+    @PreDestroy
+    public void stop() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes an ephemeral key pair for the given curve.
+     * If the pool is empty or disabled, a key pair is generated inline.
+     *
+     * @param curve The curve of the key pair.
+     * @return The ephemeral key pair with its encoded public and private keys.
+     */
+    public EphemeralKey take(EccCurveType curve) {
+        BlockingQueue<EphemeralKey> pool = pools.get(curve);
+        EphemeralKey key = (pool == null) ? null : pool.poll();
+        if (key != null) {
+            hitCounters.get(curve).increment();
+            return key;
+        }
+
+        missCounters.get(curve).increment();
+        return generate(curve);
+    }
+
+    /**
+     * Keeps the pool full. Blocks while the pool is full, so an idle pool costs no CPU.
+     * Failed generations are retried with exponential backoff, so a persistent failure
+     * neither spins the thread nor floods the log.
+     *
+     * @param curve The curve of the key pairs.
+     * @param pool The pool to refill.
+     */
+    private void refill(EccCurveType curve, BlockingQueue<EphemeralKey> pool) {
+        int failures = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                EphemeralKey key = generate(curve);
+                failures = 0;
+                while (!pool.offer(key, 1, TimeUnit.SECONDS)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                Duration delay = backoff(++failures);
+                log.error("Failed to refill ephemeral key pool for {} (failure {}), retrying in {}ms: {}",
+                        curve, failures, delay.toMillis(), e.getMessage());
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the exponential backoff for the given number of consecutive failures.
+     *
+     * @param failures The number of consecutive failures.
+     * @return The delay before the next attempt.
+     */
+    private Duration backoff(int failures) {
+        Duration delay = keyPoolProperty.getInitialBackoff().multipliedBy(1L << Math.min(failures - 1, 20));
+        return delay.compareTo(keyPoolProperty.getMaxBackoff()) > 0 ? keyPoolProperty.getMaxBackoff() : delay;
+    }
+
+    /**
+     * Generates a key pair and precomputes its compressed public key and encoded private key.
+     *
+     * @param curve The curve of the key pair.
+     * @return The generated ephemeral key pair.
+     */
+    private EphemeralKey generate(EccCurveType curve) {
+        EcKeyPair keyPair = (EcKeyPair) BaseCryptoUtil.generateKeyPair(curve);
+        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublicKey();
+        byte[] compressedPublicKey = BaseCryptoUtil.compressPublicKey(publicKey.getEncoded(), curve);
+
+        return EphemeralKey.builder()
+                .keyPair(keyPair)
+                .encodedPublicKey(BaseMultibaseUtil.encode(compressedPublicKey))
+                .encodedPrivateKey(BaseMultibaseUtil.encode(keyPair.getPrivateKey().getEncoded()))
+                .build();
+    }
+
+    /**
+     * Pre-generated ephemeral key pair.
+     */
+    @Getter
+    @Builder
+    public static class EphemeralKey {
+        private final EcKeyPair keyPair;
+        private final String encodedPublicKey;
+        private final String encodedPrivateKey;
+    }
+}
@@ -16,12 +16,21 @@
 
 package org.omnione.did.issuer.v1.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.pool.BoundedObjectPool;
 import org.omnione.did.base.property.WalletProperty;
 import org.omnione.did.base.util.BaseWalletUtil;
-import org.omnione.did.wallet.exception.WalletException;
 import org.omnione.did.wallet.key.WalletManagerInterface;
 import org.springframework.stereotype.Service;
 
@@ -30,30 +39,63 @@ import java.nio.charset.StandardCharsets;
 /**
  * Service for managing wallet operations, including connection and signature generation.
  * This service interacts with a file-based wallet to sign and verify data for the DID system.
+ * Signatures are served concurrently from a pool of connected wallet managers. Callers beyond
+ * the pool size wait in a bounded queue; when the queue is full or the wait times out the request
+ * is rejected instead of piling up.
+ * A wallet manager is only dropped after an unexpected error; a signature error such as an unknown
+ * key ID leaves it in the pool.
  */
 @Service
 @Slf4j
 public class FileWalletService {
     private final WalletProperty walletProperty;
-    private final WalletManagerInterface walletManager;
+    private final BoundedObjectPool<WalletManagerInterface> walletPool;
+    private final Timer signatureTimer;
 
-    public FileWalletService(WalletProperty walletProperty) {
+    public FileWalletService(WalletProperty walletProperty, MeterRegistry meterRegistry) {
         this.walletProperty = walletProperty;
-        this.walletManager = BaseWalletUtil.getFileWalletManager();
+        WalletProperty.Pool pool = walletProperty.getPool();
+
+        GenericObjectPoolConfig<WalletManagerInterface> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(pool.getSize());
+        config.setMaxIdle(pool.getSize());
+        config.setMinIdle(0);
+        config.setBlockWhenExhausted(true);
+        config.setMaxWait(pool.getMaxWait());
+        config.setFairness(true);
+        config.setTestOnBorrow(true);
+        config.setJmxEnabled(false);
+        this.walletPool = new BoundedObjectPool<>("wallet manager", new WalletManagerPoolFactory(), config,
+                pool.getQueueCapacity(), ErrorCode.WALLET_SIGNATURE_BUSY, ErrorCode.WALLET_CONNECT_FAILURE,
+                e -> !(e instanceof OpenDidException),
+                Counter.builder("issuer.wallet.signature.rejected").register(meterRegistry));
+
+        this.signatureTimer = Timer.builder("issuer.wallet.signature")
+                .description("Time to generate a wallet signature, including the wait for a wallet manager")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("issuer.wallet.signature.queue", walletPool, BoundedObjectPool::getNumWaiters)
+                .register(meterRegistry);
+        Gauge.builder("issuer.wallet.pool.active", walletPool, BoundedObjectPool::getNumActive)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes the pool and disconnects every pooled wallet manager.
+     */
+    @PreDestroy
+    public void close() {
+        walletPool.close();
     }
 
     /**
      * Connects to a file-based wallet.
      *
+     * @return The connected wallet manager.
      * @throws OpenDidException if the connection fails.
      */
-    public void connectToWallet() {
-        try {
-            walletManager.connect(walletProperty.getFilePath(), walletProperty.getPassword().toCharArray());
-        } catch (WalletException e) {
-            log.error("Failed to connect to wallet: {}", e.getMessage());
-            throw new OpenDidException(ErrorCode.WALLET_CONNECT_FAILURE);
-        }
+    private WalletManagerInterface connectToWallet() {
+        return BaseWalletUtil.connectFileWallet(walletProperty.getFilePath(), walletProperty.getPassword());
     }
 
     /**
@@ -73,22 +115,49 @@ public class FileWalletService {
      * @param keyId Key ID.
      * @param plainText Binary data.
      * @return Generated signature.
-     * @throws OpenDidException if signature generation fails.
+     * @throws OpenDidException if signature generation fails or the signing queue is full.
      */
     public byte[] generateCompactSignature(String keyId, byte[] plainText) {
+        Timer.Sample sample = Timer.start();
         try {
-            if (!walletManager.isConnect()) {
-                log.info("Wallet manager disConnect. Connecting to wallet...");
-                connectToWallet();
-            }
-
-            byte[] signature = BaseWalletUtil.generateCompactSignature(walletManager, keyId, plainText);
-            log.info("Compact signature generated for keyId: {}", keyId);
+            byte[] signature = walletPool.execute(walletManager ->
+                    BaseWalletUtil.generateCompactSignature(walletManager, keyId, plainText));
+            log.debug("Compact signature generated for keyId: {}", keyId);
             return signature;
         } catch (OpenDidException e) {
             throw e;
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while generating a signature: {}", e.getMessage());
             throw new OpenDidException(ErrorCode.SIGNATURE_GENERATION_FAILED);
+        } finally {
+            sample.stop(signatureTimer);
+        }
+    }
+
+    /**
+     * Pool factory that connects a new wallet manager per pooled object
+     * and only hands out wallet managers that are still connected.
+     */
+    private class WalletManagerPoolFactory extends BasePooledObjectFactory<WalletManagerInterface> {
+        @Override
+        public WalletManagerInterface create() {
+            log.info("Connecting wallet manager for the signing pool");
+            return connectToWallet();
+        }
+
+        @Override
+        public PooledObject<WalletManagerInterface> wrap(WalletManagerInterface walletManager) {
+            return new DefaultPooledObject<>(walletManager);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<WalletManagerInterface> pooledObject) {
+            return pooledObject.getObject().isConnect();
+        }
+
+        @Override
+        public void destroyObject(PooledObject<WalletManagerInterface> pooledObject) {
+            pooledObject.getObject().disConnect();
         }
     }
 }
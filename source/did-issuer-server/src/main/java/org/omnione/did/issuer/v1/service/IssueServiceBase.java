@@ -21,7 +21,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
-import org.bouncycastle.jce.interfaces.ECPublicKey;
 import org.omnione.did.base.constants.VcPlanId;
 import org.omnione.did.base.datamodel.data.*;
 import org.omnione.did.base.datamodel.enums.EccCurveType;
@@ -32,7 +31,9 @@ import org.omnione.did.base.db.constant.SubTransactionStatus;
 import org.omnione.did.base.db.constant.SubTransactionType;
 import org.omnione.did.base.db.constant.TransactionStatus;
 import org.omnione.did.base.db.constant.TransactionType;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
 import org.omnione.did.base.db.domain.*;
+import org.omnione.did.base.db.projection.IssueVcWorkingSet;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.base.property.IssueProperty;
@@ -45,31 +46,37 @@ import org.omnione.did.core.data.rest.SignatureParams;
 import org.omnione.did.core.data.rest.SignatureVcParams;
 import org.omnione.did.core.exception.CoreException;
 import org.omnione.did.core.manager.VcManager;
-import org.omnione.did.crypto.keypair.EcKeyPair;
-import org.omnione.did.crypto.keypair.KeyPairInterface;
 import org.omnione.did.data.model.did.DidDocument;
 import org.omnione.did.data.model.did.Proof;
 import org.omnione.did.data.model.enums.did.ProofPurpose;
 import org.omnione.did.data.model.enums.did.ProofType;
 import org.omnione.did.data.model.enums.vc.VcStatus;
-import org.omnione.did.data.model.enums.vc.VcType;
 import org.omnione.did.data.model.profile.ReqE2e;
-import org.omnione.did.data.model.profile.issue.IssueProcess;
 import org.omnione.did.data.model.profile.issue.IssueProfile;
-import org.omnione.did.data.model.vc.DocumentVerificationEvidence;
 import org.omnione.did.data.model.vc.VcMeta;
 import org.omnione.did.data.model.vc.VerifiableCredential;
 import org.omnione.did.issuer.v1.dto.vc.*;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplate;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplateRegistry;
+import org.omnione.did.issuer.v1.service.profile.IssueProfileTemplate;
+import org.omnione.did.issuer.v1.service.profile.IssueProfileTemplateRegistry;
 import org.omnione.did.issuer.v1.service.query.*;
+import org.omnione.did.issuer.v1.service.session.IssueSession;
+import org.omnione.did.issuer.v1.service.session.SessionStore;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
 import org.omnione.did.wallet.key.WalletManagerInterface;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.interfaces.ECPrivateKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Abstract base class for issuing Verifiable Credentials (VCs).
@@ -79,15 +86,21 @@ import java.util.Objects;
 @Slf4j
 @RequiredArgsConstructor
 public abstract class IssueServiceBase implements IssueService {
-    private final VcProfileQueryService vcProfileQueryService;
+    private final SessionStore sessionStore;
     private final VcOfferQueryService vcOfferQueryService;
     private final TransactionService transactionService;
-    private final E2EQueryService e2EQueryService;
     private final VcQueryService vcQueryService;
     private final IssueProperty issueProperty;
     private final StorageService storageService;
 
     private final FileWalletService walletService;
+    private final EphemeralKeyPoolService keyPoolService;
+    private final VcMetaOutboxQueryService vcMetaOutboxQueryService;
+    private final IssueProfileTemplateRegistry profileTemplateRegistry;
+    private final IssuanceTemplateRegistry issuanceTemplateRegistry;
+    private final VcStatusListService vcStatusListService;
+    private final TransactionTemplate transactionTemplate;
+    private final VcManager vcManager = new VcManager();
     /**
      * Generates an offer for issuing a Verifiable Credential.
      *
@@ -166,7 +179,7 @@ public abstract class IssueServiceBase implements IssueService {
             String txId = RandomUtil.generateUUID();
             String refId = RandomUtil.generateRefId();
 
-            log.debug("\t--> Insert Transaction");
+            log.debug("\t--> Insert Transaction and SubTransaction");
             // TODO: Expired at
             Transaction transaction = transactionService.insertTransaction(Transaction.builder()
                     .txId(txId)
@@ -175,6 +188,10 @@ public abstract class IssueServiceBase implements IssueService {
                     .expiredAt(Instant.now().plusSeconds(3600L))
                     .type(TransactionType.ISSUE_VC)
                     .status(TransactionStatus.COMPLETED)
+                    .build(), SubTransaction.builder()
+                    .step(1)
+                    .type(SubTransactionType.INSPECT_ISSUE_PROPOSE)
+                    .status(SubTransactionStatus.COMPLETED)
                     .build());
 
             if (vcOffer != null) {
@@ -183,14 +200,6 @@ public abstract class IssueServiceBase implements IssueService {
                 vcOffer.setTransactionId(transaction.getId());
             }
 
-            log.debug("\t--> Insert SubTransaction");
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
-                    .step(1)
-                    .type(SubTransactionType.INSPECT_ISSUE_PROPOSE)
-                    .status(SubTransactionStatus.COMPLETED)
-                    .build());
-
             log.debug("=== Finished Inspect Issue Propose ===");
 
             return InspectIssueProposeResDto.builder()
@@ -228,43 +237,40 @@ public abstract class IssueServiceBase implements IssueService {
 
             log.debug("\t--> Generate Issue Profile");
             String vcPlanId = transaction.getVcPlanId();
-            IssueProfile profile = issueProperty.getProfileByVcPlanId(vcPlanId);
-            IssueProcess process = profile.getProfile().getProcess();
-            ReqE2e reqE2e = process.getReqE2e();
-            profile.setId(RandomUtil.generateUUID());
+            IssueProfileTemplate template = profileTemplateRegistry.getTemplate(vcPlanId);
 
-            log.debug("\t--> Generate Key pair");
-            EcKeyPair keyPair = generateEcKeyPair(reqE2e.getCurve());
+            log.debug("\t--> Take Key pair");
+            EphemeralKeyPoolService.EphemeralKey ephemeralKey = keyPoolService.take(EccCurveType.fromValue(template.getCurve()));
 
             String nonce = BaseCryptoUtil.generateNonceWithMultibase(16);
 
-            setPublicKeyAndNonce(reqE2e, process, keyPair, nonce);
+            IssueProfile profile = template.newInstance(RandomUtil.generateUUID(), ephemeralKey.getEncodedPublicKey(), nonce);
+            ReqE2e reqE2e = profile.getProfile().getProcess().getReqE2e();
             signProfile(profile, issueProperty.getAssertSignKeyId());
 
-            String encodedSessionKey = encodedSessionKey((ECPrivateKey) keyPair.getPrivateKey());
-
-            log.debug("\t--> VC Profile save to DB");
-            vcProfileQueryService.save(VcProfile.builder()
-                    .profileId(profile.getId())
-                    .transactionId(transaction.getId())
-                    .did(holder.getDid())
-                    .nonce(reqE2e.getNonce())
-                    .userId(user.getId())
-                    .build());
+            String encodedSessionKey = ephemeralKey.getEncodedPrivateKey();
 
-            log.debug("\t--> E2E save to DB");
-            e2EQueryService.save(E2E.builder()
-                    .curve(reqE2e.getCurve())
-                    .cipher(reqE2e.getCipher())
-                    .padding(reqE2e.getPadding())
-                    .nonce(reqE2e.getNonce())
-                    .sessionKey(encodedSessionKey)
-                    .transactionId(transaction.getId())
+            log.debug("\t--> VC Profile and E2E save to session store");
+            sessionStore.save(transaction.getTxId(), IssueSession.builder()
+                    .vcProfile(VcProfile.builder()
+                            .profileId(profile.getId())
+                            .transactionId(transaction.getId())
+                            .did(holder.getDid())
+                            .nonce(reqE2e.getNonce())
+                            .userId(user.getId())
+                            .build())
+                    .e2e(E2E.builder()
+                            .curve(reqE2e.getCurve())
+                            .cipher(reqE2e.getCipher())
+                            .padding(reqE2e.getPadding())
+                            .nonce(reqE2e.getNonce())
+                            .sessionKey(encodedSessionKey)
+                            .transactionId(transaction.getId())
+                            .build())
                     .build());
 
             log.debug("\t--> SubTransaction save to DB");
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
+            transactionService.insertSubTransaction(transaction, SubTransaction.builder()
                     .step(2)
                     .type(SubTransactionType.GENERATE_ISSUE_PROFILE)
                     .status(SubTransactionStatus.COMPLETED)
@@ -291,70 +297,101 @@ public abstract class IssueServiceBase implements IssueService {
      * @throws OpenDidException if there's an error in the VC issuance process.
      */
     @Override
-    @Transactional
     public IssueVcResDto issueVc(IssueVcReqDto request) {
+        return issueVc(request, transactionService.findByTxId(request.getTxId()));
+    }
+
+    /**
+     * Issues a Verifiable Credential for an already loaded transaction.
+     * The transaction, the session, the proof and the request VC are validated and the VC is issued
+     * before anything is written; only then is a status list index reserved and the VC saved in one transaction,
+     * so a replayed or invalid request neither writes nor uses up an index.
+     * Reserving a block of indexes takes its own transaction, which is why it happens before the write transaction opens:
+     * otherwise it would need a second pooled connection while the issuance holds one.
+     * An index whose write transaction fails is left unused.
+     *
+     * @param request The request containing the transaction ID and E2E information.
+     * @param transaction The transaction of the request.
+     * @return IssueVcResDto containing the transaction ID and encrypted VC.
+     * @throws OpenDidException if there's an error in the VC issuance process.
+     */
+    public IssueVcResDto issueVc(IssueVcReqDto request, Transaction transaction) {
         try {
             log.debug("=== Starting Issue VC ===");
             log.debug("\t--> Validating Transaction");
-            Transaction transaction = transactionService.validateAndFindTransaction(request.getTxId(), SubTransactionType.GENERATE_ISSUE_PROFILE);
-            AccE2e accE2e = request.getAccE2e();
-
-            log.debug("\t--> Validating AccE2E");
-            validateAccE2e(accE2e);
+            transactionService.validateTransaction(transaction, SubTransactionType.GENERATE_ISSUE_PROFILE);
 
-            log.debug("\t--> Get E2E");
-
-            E2E e2e = e2EQueryService.findByTransactionId(transaction.getId());
+            log.debug("\t--> Load E2E, Issue Profile, User and VC");
+            IssueVcWorkingSet workingSet = loadIssueVcWorkingSet(request.getTxId());
+            E2E e2e = workingSet.getE2e();
+            VcProfile vcProfile = workingSet.getVcProfile();
+            User user = workingSet.getUser();
+            AccE2e accE2e = request.getAccE2e();
 
-            log.debug("\t--> Get Issue Profile");
-            VcProfile vcProfile = vcProfileQueryService.findByTransactionId(transaction.getId());
+            log.debug("\t--> Fetch holder DID document");
+            CompletableFuture<DidDocument> holderDidDoc = findHolderDidDocAsync(accE2e);
 
-            log.debug("\t--> Generate SharedSecretKey");
-            byte[] sharedSecretKey = generateSharedSecretKey(e2e, accE2e);
+            byte[] mergeSharedSecretAndNonce;
+            ReqVc reqVc;
+            try {
+                log.debug("\t--> Generate SharedSecretKey");
+                byte[] sharedSecretKey = generateSharedSecretKey(e2e, accE2e);
 
-            log.debug("\t--> Generate MergeSharedSecretKey");
-            byte[] mergeSharedSecretAndNonce = mergeSharedSecretAndNonce(sharedSecretKey, vcProfile.getNonce(), e2e.getCipher());
+                log.debug("\t--> Generate MergeSharedSecretKey");
+                mergeSharedSecretAndNonce = mergeSharedSecretAndNonce(sharedSecretKey, vcProfile.getNonce(), e2e.getCipher());
 
-            log.debug("\t--> Decrypt Request VC");
-            String decryptedRequestVc = decryptRequestVc(request, mergeSharedSecretAndNonce,
-                    BaseMultibaseUtil.decode(accE2e.getIv()), e2e);
+                log.debug("\t--> Decrypt Request VC");
+                String decryptedRequestVc = decryptRequestVc(request, mergeSharedSecretAndNonce,
+                        BaseMultibaseUtil.decode(accE2e.getIv()), e2e);
 
-            log.debug("\t--> Parse Request VC");
-            ReqVc reqVc = parseRequestVc(decryptedRequestVc);
-            validateRequestVc(transaction, reqVc);
+                log.debug("\t--> Parse Request VC");
+                reqVc = parseRequestVc(decryptedRequestVc);
+            } catch (RuntimeException e) {
+                // An invalid proof is reported in preference to the decryption failure it likely caused.
+                validateAccE2e(accE2e, holderDidDoc);
+                throw e;
+            }
 
-            log.debug("\t--> Find User By VC Profile");
-            User user = findUserByVcProfile(vcProfile);
-            VcManager vcManager = new VcManager();
+            log.debug("\t--> Validating AccE2E");
+            validateAccE2e(accE2e, holderDidDoc);
+            validateRequestVc(transaction, reqVc, vcProfile);
 
             log.debug("\t--> Issuing VC");
-            VerifiableCredential verifiableCredential = issueVerifiableCredential(vcManager,
+            IssuanceTemplate issuanceTemplate = issuanceTemplateRegistry.getTemplate(transaction.getVcPlanId());
+            VerifiableCredential verifiableCredential = issueVerifiableCredential(issuanceTemplate,
                     vcProfile.getDid(), user.getData());
             log.debug("\t--> VerifiableCredential {}", verifiableCredential.toJson());
-
-            log.debug("\t--> Registering VC to B/C");
             VcMeta vcMeta = vcManager.generateVcMetaData(verifiableCredential, issueProperty.getCertVcRef());
 
-            storageService.registerVcMeta(vcMeta);
-
             log.debug("\t--> Generate IV");
             byte[] iv = BaseCryptoUtil.generateInitialVector();
 
             log.debug("\t--> Encrypt VC");
             String encVc = encryptVerifiableCredential(verifiableCredential, mergeSharedSecretAndNonce, iv, e2e);
 
-            Vc vc = handleVcCreationOrUpdate(user, vcProfile.getDid(), transaction, verifiableCredential.getId());
+            log.debug("\t--> Reserve status list index");
+            Integer statusListIndex = allocateStatusListIndex(transaction);
 
-            log.debug("\t--> VC_ID, Holder info save to DB");
-            vcQueryService.save(vc);
+            transactionTemplate.executeWithoutResult(status -> {
+                log.debug("\t--> Enqueue VC meta registration to B/C");
+                vcMetaOutboxQueryService.enqueue(verifiableCredential.getId(), VcMetaOutboxOperation.REGISTER_VC_META, vcMeta.toJson());
 
-            log.debug("\t--> SubTransaction save to DB");
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
-                    .step(3)
-                    .type(SubTransactionType.ISSUE_VC)
-                    .status(SubTransactionStatus.COMPLETED)
-                    .build());
+                Vc vc = handleVcCreationOrUpdate(user, vcProfile.getDid(), transaction, verifiableCredential.getId(),
+                        workingSet.getVc(), statusListIndex);
+
+                log.debug("\t--> VC_ID, Holder info save to DB");
+                vcQueryService.save(vc);
+
+                log.debug("\t--> SubTransaction save to DB");
+                transactionService.insertSubTransaction(transaction, SubTransaction.builder()
+                        .step(3)
+                        .type(SubTransactionType.ISSUE_VC)
+                        .status(SubTransactionStatus.COMPLETED)
+                        .build());
+
+                log.debug("\t--> Remove session after commit");
+                removeSessionAfterCommit(transaction.getTxId());
+            });
 
             log.debug("=== Finished Generate Issue Profile ===");
             return IssueVcResDto.builder()
@@ -396,8 +433,7 @@ public abstract class IssueServiceBase implements IssueService {
             transactionService.updateTransactionStatus(transaction, TransactionStatus.FINISH);
 
             log.debug("\t--> SubTransaction save to DB");
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
+            transactionService.insertSubTransaction(transaction, SubTransaction.builder()
                     .step(4)
                     .type(SubTransactionType.COMPLETE_VC)
                     .status(SubTransactionStatus.COMPLETED)
@@ -435,14 +471,12 @@ public abstract class IssueServiceBase implements IssueService {
                         .result(false)
                         .build();
             }
-            SubTransaction subTransaction = transactionService
-                    .findByTransactionIdOrderByStepDesc(transaction.getId());
 
             log.debug("=== Finished Issue VC Result ===");
             return IssueVcResultResDto.builder()
                     .txId(transaction.getTxId())
                     .offerId(offerId)
-                    .result(SubTransactionType.COMPLETE_VC.equals(subTransaction.getType()))
+                    .result(SubTransactionType.COMPLETE_VC.equals(transaction.getCurrentStepType()))
                     .build();
         } catch(OpenDidException e) {
             log.error("OpenDidException occurred during issueVcResult: {}", e.getErrorCode().getMessage());
@@ -469,6 +503,57 @@ public abstract class IssueServiceBase implements IssueService {
     }
 
 
+    /**
+     * Loads the issuance session and the rows the issue VC step reads.
+     * A session kept in the database is read in the same query as the rows; otherwise it is read from the session store first.
+     *
+     * @param txId The transaction ID
+     * @return The working set, including the VC profile and E2E of the session
+     * @throws OpenDidException if the transaction, its session or the user is not found
+     */
+    private IssueVcWorkingSet loadIssueVcWorkingSet(String txId) {
+        if (sessionStore.isStoredInDatabase()) {
+            return findIssueVcSessionWorkingSet(txId);
+        }
+        IssueSession session = sessionStore.find(txId);
+        IssueVcWorkingSet workingSet = findIssueVcWorkingSet(txId, session.getVcProfile());
+        return new IssueVcWorkingSet(workingSet.getTransaction(), workingSet.getUser(), workingSet.getVc(),
+                session.getVcProfile(), session.getE2e());
+    }
+
+    /**
+     * Reserves the status list index of the VC issued in a transaction.
+     *
+     * @param transaction The transaction
+     * @return The reserved index, or null if status lists are disabled
+     * @throws OpenDidException if the index cannot be reserved
+     */
+    private Integer allocateStatusListIndex(Transaction transaction) {
+        if (!vcStatusListService.isEnabled()) {
+            return null;
+        }
+        return vcStatusListService.allocateIndex(transaction.getVcPlanId());
+    }
+
+    /**
+     * Removes the issuance session once the current transaction has committed,
+     * so a client can retry the step with the same session if the commit fails.
+     *
+     * @param txId The transaction ID of the session
+     */
+    private void removeSessionAfterCommit(String txId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sessionStore.remove(txId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionStore.remove(txId);
+            }
+        });
+    }
+
     /**
      * Validate Offer ID
      *
@@ -499,34 +584,6 @@ public abstract class IssueServiceBase implements IssueService {
         return vcOffer;
     }
 
-    /**
-     * ReqE2e's public key and nonce are set.
-     *
-     * @param reqE2e The ReqE2e object to set
-     * @param process The IssueProcess object to set
-     * @param keyPair The EcKeyPair object to set
-     * @param nonce The nonce to set
-     */
-    private void setPublicKeyAndNonce(ReqE2e reqE2e, IssueProcess process, EcKeyPair keyPair, String nonce) {
-        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublicKey();
-        byte[] encodedPublicKey = BaseCryptoUtil.compressPublicKey(publicKey.getEncoded(),
-                EccCurveType.fromValue(reqE2e.getCurve()));
-        reqE2e.setPublicKey(BaseMultibaseUtil.encode(encodedPublicKey));
-
-        process.setIssuerNonce(nonce);
-        reqE2e.setNonce(nonce);
-    }
-
-    /**
-     * Encodes a session key.
-     *
-     * @param privateKey The private key to encode
-     * @return String The encoded session key
-     */
-    private String encodedSessionKey(ECPrivateKey privateKey) {
-        return BaseMultibaseUtil.encode(privateKey.getEncoded());
-    }
-
     /**
      * handle VC creation or update
      *
@@ -534,17 +591,20 @@ public abstract class IssueServiceBase implements IssueService {
      * @param holderDid The holder DID
      * @param transaction The transaction
      * @param vcId The VC ID
+     * @param existingVc The user's VC of the same VC plan, or null if there is none
+     * @param statusListIndex The status list index reserved for the VC, or null
      * @return The created or updated VC
      *
      */
-    private Vc handleVcCreationOrUpdate(User user, String holderDid, Transaction transaction, String vcId) {
+    private Vc handleVcCreationOrUpdate(User user, String holderDid, Transaction transaction, String vcId, Vc existingVc,
+                                        Integer statusListIndex) {
         String vcPlanId = transaction.getVcPlanId();
         String txId = transaction.getTxId();
-        return vcQueryService.findByUserIdAndVcPlanId(user.getId(), vcPlanId)
-                .map(existingVc -> {
-                    revokeVc(existingVc);
+        return Optional.ofNullable(existingVc)
+                .map(previousVc -> {
+                    revokeVc(previousVc);
                     return Vc.builder()
-                            .id(existingVc.getId())
+                            .id(previousVc.getId())
                             .issuedAt(Instant.now())
                             .expiredAt(Instant.now())
                             .did(holderDid)
@@ -552,6 +612,7 @@ public abstract class IssueServiceBase implements IssueService {
                             .vcPlanId(vcPlanId)
                             .txId(txId)
                             .vcId(vcId)
+                            .statusListIndex(statusListIndex)
                             .build();
                 })
                 .orElseGet(() ->
@@ -563,6 +624,7 @@ public abstract class IssueServiceBase implements IssueService {
                                 .vcPlanId(vcPlanId)
                                 .txId(txId)
                                 .vcId(vcId)
+                                .statusListIndex(statusListIndex)
                                 .build()
                 );
     }
@@ -588,19 +650,30 @@ public abstract class IssueServiceBase implements IssueService {
     }
 
     /**
-     * if proof is not null, Validate the proof of an AccE2e object.
+     * if proof is not null, starts fetching the DID document that verifies the proof of an AccE2e object.
      *
      * @param accE2e The AccE2e object to verify
-     * @throws OpenDidException if Failed to Json serialize
+     * @return Future of the holder DID document, or of null if there is no proof
      */
-    private void validateAccE2e(AccE2e accE2e) {
+    private CompletableFuture<DidDocument> findHolderDidDocAsync(AccE2e accE2e) {
         Proof proof = accE2e.getProof();
 
         if (Objects.nonNull(proof)) {
-            String verificationMethod = proof.getVerificationMethod();
-            DidDocument holderDidDoc = storageService.findDidDoc(verificationMethod);
+            return storageService.findDidDocAsync(proof.getVerificationMethod());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 
-            ValidationUtil.verifySign(accE2e, holderDidDoc);
+    /**
+     * if proof is not null, Validate the proof of an AccE2e object.
+     *
+     * @param accE2e The AccE2e object to verify
+     * @param holderDidDoc The holder DID document, being fetched from the storage
+     * @throws OpenDidException if Failed to Json serialize
+     */
+    private void validateAccE2e(AccE2e accE2e, CompletableFuture<DidDocument> holderDidDoc) {
+        if (Objects.nonNull(accE2e.getProof())) {
+            ValidationUtil.verifySign(accE2e, FutureUtil.join(holderDidDoc));
         }
     }
 
@@ -662,16 +735,16 @@ public abstract class IssueServiceBase implements IssueService {
      *
      * @param transaction The transaction.
      * @param reqVc The request VC.
+     * @param vcProfile The VC profile of the transaction.
      * @throws OpenDidException if the refId is not valid.
      * @throws OpenDidException if the profile nonce is not valid
      * @throws OpenDidException if the profile issuer nonce is not valid
      */
-    private void validateRequestVc(Transaction transaction, ReqVc reqVc) {
+    private void validateRequestVc(Transaction transaction, ReqVc reqVc, VcProfile vcProfile) {
         if (!transaction.getRefId().equals(reqVc.getRefId())) {
             transactionService.updateTransactionStatus(transaction, TransactionStatus.FAILED);
             throw new OpenDidException(ErrorCode.REF_ID_INVALID);
         }
-        VcProfile vcProfile = vcProfileQueryService.findByTransactionId(transaction.getId());
 
         if (!reqVc.getProfile().getId().equals(vcProfile.getProfileId())) {
             transactionService.updateTransactionStatus(transaction, TransactionStatus.FAILED);
@@ -684,31 +757,23 @@ public abstract class IssueServiceBase implements IssueService {
         }
     }
     /**
-     * Issues a Verifiable Credential using the provided VcManager.
+     * Issues a Verifiable Credential from the issuance template of its VC plan.
      *
-     * @param vcManager The VcManager to use for issuing the VC.
+     * @param issuanceTemplate The pre-built issuance template of the VC plan.
      * @param holderDid The DID of the credential holder.
      * @param data The data to include in the credential.
      * @return The issued VerifiableCredential.
      * @throws OpenDidException if there's an error in the VC issuance process.
      */
-    private VerifiableCredential issueVerifiableCredential(VcManager vcManager, String holderDid, String data) {
+    private VerifiableCredential issueVerifiableCredential(IssuanceTemplate issuanceTemplate, String holderDid, String data) {
         log.debug("\t--> Issue Verifiable Credential");
         try {
-            IssueVcParam issueVcParam = new IssueVcParam();
-
-            DidDocument didDocument = getDidDocument();
-
-            BaseCoreVcUtil.setVcSchema(issueVcParam, getVcSchema());
-            BaseCoreVcUtil.setClaimInfo(issueVcParam, generateClaimInfo(data));
-            BaseCoreVcUtil.setIssuer(issueVcParam, didDocument.getId(), issueProperty.getName(), issueProperty.getCertVcRef());
-            BaseCoreVcUtil.setVcTypes(issueVcParam, getVcType());
-            BaseCoreVcUtil.setEvidence(issueVcParam, getEvidence());
             // TODO: Valid Until property
-            BaseCoreVcUtil.setValidateUntil(issueVcParam, 1);
+            IssueVcParam issueVcParam = issuanceTemplate.newIssueVcParam(generateClaimInfo(data), 1);
 
             VerifiableCredential verifiableCredential = vcManager.issueCredential(issueVcParam, holderDid);
-            List<SignatureVcParams> signatureParams = vcManager.getOriginDataForSign(issueProperty.getAssertSignKeyId(), didDocument, verifiableCredential);
+            List<SignatureVcParams> signatureParams = vcManager.getOriginDataForSign(issueProperty.getAssertSignKeyId(),
+                    issuanceTemplate.getIssuerDidDocument(), verifiableCredential);
             signVc(signatureParams);
 
             verifiableCredential = vcManager.addProof(verifiableCredential, signatureParams);
@@ -721,36 +786,19 @@ public abstract class IssueServiceBase implements IssueService {
     }
 
     /**
-     * Revokes a Verifiable Credential.
+     * Enqueues the revocation of a superseded Verifiable Credential.
+     * The entry is written in the same DB transaction as the new VC and is applied to the storage
+     * and the status list in the background, after the registration of the superseded VC.
      *
      * @param vc The VC to revoke.
      */
     private void revokeVc(Vc vc) {
-        VcMeta vcMetByVcId = storageService.getVcMetByVcId(vc.getVcId());
-        if (!VcStatus.REVOKED.getRawValue().equals(vcMetByVcId.getStatus())) {
-            storageService.updateVcStatus(vc.getVcId(), VcStatus.REVOKED);
-        }
-    }
-
-    /**
-     * Generates Ecc key pair.
-     *
-     * @param curve The curve to use for generating the key pair.
-     * @return The generated key pair.
-     */
-    private EcKeyPair generateEcKeyPair(String curve) {
-        return (EcKeyPair) generateKeyPair(curve);
-    }
-
-    /**
-     * Generates a key pair.
-     *
-     * @param curve The curve to use for generating the key pair.
-     * @return The generated key pair.
-     */
-    private KeyPairInterface generateKeyPair(String curve) {
-        EccCurveType eccCurveType = EccCurveType.fromValue(curve);
-        return BaseCryptoUtil.generateKeyPair(eccCurveType);
+        vcMetaOutboxQueryService.enqueue(vc.getVcId(), VcMetaOutboxOperation.UPDATE_VC_STATUS, VcStatusUpdate.builder()
+                .vcStatus(VcStatus.REVOKED.getRawValue())
+                .vcPlanId(vc.getVcPlanId())
+                .statusListIndex(vc.getStatusListIndex())
+                .build()
+                .toJson());
     }
 
     /**
@@ -773,43 +821,6 @@ public abstract class IssueServiceBase implements IssueService {
 
         proof.setProofValue(BaseMultibaseUtil.encode(bytes));
     }
-    private List<VcType> getVcType() {
-        return List.of(VcType.VERIFIABLE_CREDENTIAL);
-    }
-
-    /**
-     * Generates a DID Document.
-     *
-     * @return The generated DID Document.
-     */
-    private DidDocument getDidDocument() {
-        DidDocument didDoc = new DidDocument();
-        didDoc.fromJson("""
-                {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["assert"],"authentication":["auth"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:issuer","keyAgreement":["keyagree"],"proofs":[{"created":"2024-07-12T08:35:17Z","proofPurpose":"assertionMethod","proofValue":"signatureValue..1","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#assert"},{"created":"2024-07-12T08:35:17Z","proofPurpose":"authentication","proofValue":"signatureValue..2","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#auth"}],"service":[{"id":"serviceID-1","serviceEndpoint":["https://did.omnione.net"],"type":"LinkedDomains"},{"id":"serviceID-2","serviceEndpoint":["https://did.omnione.net/ld/certificate/1234"],"type":"LinkedDomains"}],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:issuer","id":"assert","publicKeyMultibase":"zvXsXFNahfw9Cz4KQEdLjBtoUEUiVHoMxWs23j6axNuTP","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"auth","publicKeyMultibase":"z21Fy2h5uqmhw8xSVxBXNtBbVVjPTuKMam8ebz2FR7CD62","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"keyagree","publicKeyMultibase":"znByKCSPznGAKc48CF7i7BhWuhEnz2U7sU4m5TxTrJVEf","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
-                """);
-
-        return didDoc;
-    }
-
-    /**
-     * Generates a DocumentVerificationEvidence object.
-     *
-     * @return The generated DocumentVerificationEvidence object.
-     */
-    private DocumentVerificationEvidence getEvidence() {
-        DocumentVerificationEvidence evidence = new DocumentVerificationEvidence();
-        evidence.fromJson("""
-                {
-                    "evidenceDocument":"BusinessLicense",
-                    "subjectPresence":"Physical",
-                    "documentPresence":"Physical",
-                    "type":"DocumentVerification",
-                    "verifier":"did:omn:tas"
-                }
-                """);
-
-        return evidence;
-    }
 
     /**
      * Signs a Verifiable Credential.
@@ -828,12 +839,21 @@ public abstract class IssueServiceBase implements IssueService {
     }
 
     /**
-     * Finds a user by their VcProfile.
+     * Loads everything the issue VC step reads from the database in one query.
      *
+     * @param txId The transaction ID.
      * @param vcProfile The VcProfile to use for finding the user.
-     * @return The found User.
+     * @return The transaction, the user and the user's existing VC of the plan.
      */
-    protected abstract User findUserByVcProfile(VcProfile vcProfile);
+    protected abstract IssueVcWorkingSet findIssueVcWorkingSet(String txId, VcProfile vcProfile);
+    /**
+     * Loads everything the issue VC step reads from the database, including the issuance session, in one query.
+     * Used when the session store keeps sessions in the database.
+     *
+     * @param txId The transaction ID.
+     * @return The transaction, its VC profile and E2E, the user and the user's existing VC of the plan.
+     */
+    protected abstract IssueVcWorkingSet findIssueVcSessionWorkingSet(String txId);
     /**
      * Finds a user by their Holder information.
      *
@@ -848,11 +868,5 @@ public abstract class IssueServiceBase implements IssueService {
      * @return A HashMap containing the generated claim information.
      */
     protected abstract HashMap<String, ClaimInfo> generateClaimInfo(String data);
-    /**
-     * Gets the VC schema to use for issuing Verifiable Credentials.
-     *
-     * @return The VC schema as a String.
-     */
-    protected abstract String getVcSchema();
 
 }
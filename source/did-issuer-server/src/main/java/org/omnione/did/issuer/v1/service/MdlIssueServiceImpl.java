@@ -23,15 +23,21 @@ import org.omnione.did.base.datamodel.data.Holder;
 import org.omnione.did.base.datamodel.data.claim.MdlClaimInfo;
 import org.omnione.did.base.db.domain.User;
 import org.omnione.did.base.db.domain.VcProfile;
+import org.omnione.did.base.db.projection.IssueVcWorkingSet;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.base.property.IssueProperty;
 import org.omnione.did.core.data.rest.ClaimInfo;
 import org.omnione.did.issuer.v1.dto.demo.InsertUserReqDto;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplateRegistry;
+import org.omnione.did.issuer.v1.service.profile.IssueProfileTemplateRegistry;
 import org.omnione.did.issuer.v1.service.query.*;
+import org.omnione.did.issuer.v1.service.session.SessionStore;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
 import org.omnione.did.wallet.key.WalletManagerInterface;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 
@@ -43,17 +49,21 @@ import java.util.HashMap;
 @Profile("!sample")
 public class MdlIssueServiceImpl extends IssueServiceBase {
     private final UserQueryService userQueryService;
-    private final VcSchemaService vcSchemaService;
+    private final TransactionService transactionService;
 
 
-    public MdlIssueServiceImpl(VcProfileQueryService vcProfileQueryService, VcOfferQueryService vcOfferQueryService,
-                               TransactionService transactionService, E2EQueryService e2EQueryService,
-                               VcQueryService vcQueryService, IssueProperty issueProperty, StorageService storageService,
-                               FileWalletService walletService, UserQueryService userQueryService, VcSchemaService vcSchemaService) {
-        super(vcProfileQueryService, vcOfferQueryService, transactionService, e2EQueryService, vcQueryService,
-                issueProperty, storageService, walletService);
+    public MdlIssueServiceImpl(SessionStore sessionStore, VcOfferQueryService vcOfferQueryService,
+                               TransactionService transactionService, VcQueryService vcQueryService,
+                               IssueProperty issueProperty, StorageService storageService,
+                               FileWalletService walletService, EphemeralKeyPoolService keyPoolService,
+                               VcMetaOutboxQueryService vcMetaOutboxQueryService, IssueProfileTemplateRegistry profileTemplateRegistry,
+                               IssuanceTemplateRegistry issuanceTemplateRegistry, VcStatusListService vcStatusListService,
+                               TransactionTemplate transactionTemplate, UserQueryService userQueryService) {
+        super(sessionStore, vcOfferQueryService, transactionService, vcQueryService,
+                issueProperty, storageService, walletService, keyPoolService, vcMetaOutboxQueryService, profileTemplateRegistry,
+                issuanceTemplateRegistry, vcStatusListService, transactionTemplate);
         this.userQueryService = userQueryService;
-        this.vcSchemaService = vcSchemaService;
+        this.transactionService = transactionService;
     }
 
 
@@ -87,16 +97,37 @@ public class MdlIssueServiceImpl extends IssueServiceBase {
 
 
     /**
-     * Finds a user by a VC profile.
+     * Loads the transaction, the user found by the ID in the VC profile and the user's existing VC in one query.
      *
+     * @param txId The transaction ID.
      * @param vcProfile The VC profile.
-     * @return The user.
-     * @throws OpenDidException if the Holder is not found.
+     * @return The working set of the issue VC step.
+     * @throws OpenDidException if the transaction or the user is not found.
      */
     @Override
-    protected User findUserByVcProfile(VcProfile vcProfile) {
+    protected IssueVcWorkingSet findIssueVcWorkingSet(String txId, VcProfile vcProfile) {
+        IssueVcWorkingSet workingSet = transactionService.findIssueVcWorkingSetByUserId(txId, vcProfile.getUserId());
+        if (workingSet.getUser() == null) {
+            throw new OpenDidException(ErrorCode.USER_NOT_FOUND);
+        }
+        return workingSet;
+    }
 
-        return userQueryService.findById(vcProfile.getUserId());
+    /**
+     * Loads the transaction, its VC profile and E2E, the user referenced by the VC profile
+     * and the user's existing VC in one query.
+     *
+     * @param txId The transaction ID.
+     * @return The working set of the issue VC step.
+     * @throws OpenDidException if the transaction, its session or the user is not found.
+     */
+    @Override
+    protected IssueVcWorkingSet findIssueVcSessionWorkingSet(String txId) {
+        IssueVcWorkingSet workingSet = transactionService.findIssueVcSessionWorkingSetByUserId(txId);
+        if (workingSet.getUser() == null) {
+            throw new OpenDidException(ErrorCode.USER_NOT_FOUND);
+        }
+        return workingSet;
     }
 
     /**
@@ -112,14 +143,4 @@ public class MdlIssueServiceImpl extends IssueServiceBase {
         return userQueryService.findByPii(holder.getPii())
                 .orElseThrow(() -> new OpenDidException(ErrorCode.HOLDER_NOT_FOUND));
     }
-    /**
-     * Gets the VC schema for MDL.
-     *
-     * @return The VC schema.
-     */
-    @Override
-    protected String getVcSchema() {
-
-        return vcSchemaService.getMdlVcSchema();
-    }
 }
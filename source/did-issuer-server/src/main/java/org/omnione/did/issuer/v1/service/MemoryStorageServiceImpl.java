@@ -0,0 +1,238 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.MemoryStorageProperty;
+import org.omnione.did.base.util.BaseCoreDidUtil;
+import org.omnione.did.base.util.FutureUtil;
+import org.omnione.did.common.util.DidUtil;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory implementation of the StorageService interface, for load tests and offline runs.
+ * DID documents and VC metadata are kept in concurrent maps and can be seeded from JSON files,
+ * one document per file. Each call can be delayed by a latency drawn from the configured distribution
+ * and can fail at the configured error rate, to stand in for a ledger or repository server.
+ * The asynchronous methods wait without holding a thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Qualifier("storageBackend")
+@Profile("memory")
+public class MemoryStorageServiceImpl implements StorageService {
+    private final MemoryStorageProperty memoryStorageProperty;
+    private final Map<String, DidDocument> didDocs = new ConcurrentHashMap<>();
+    private final Map<String, VcMeta> vcMetas = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the seed files.
+     *
+     * @throws IOException if a seed file cannot be read.
+     */
+    @PostConstruct
+    public void seed() throws IOException {
+        for (String json : readSeed(memoryStorageProperty.getDidDocSeed())) {
+            putDidDoc(BaseCoreDidUtil.parseDidDoc(json).getDocument());
+        }
+        for (String json : readSeed(memoryStorageProperty.getVcMetaSeed())) {
+            VcMeta vcMeta = new VcMeta();
+            vcMeta.fromJson(json);
+            vcMetas.put(vcMeta.getId(), vcMeta);
+        }
+        log.info("In-memory storage seeded with {} DID documents and {} VC metas", didDocs.size(), vcMetas.size());
+    }
+
+    /**
+     * Stores a DID document, replacing any previous version.
+     *
+     * @param didDocument The DID document.
+     */
+    public void putDidDoc(DidDocument didDocument) {
+        didDocs.put(didDocument.getId(), didDocument);
+    }
+
+    @Override
+    public DidDocument findDidDoc(String didKeyUrl) {
+        return FutureUtil.join(findDidDocAsync(didKeyUrl));
+    }
+
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        return read(() -> {
+            DidDocument didDocument = didDocs.get(DidUtil.extractDid(didKeyUrl));
+            if (didDocument == null) {
+                throw new OpenDidException(ErrorCode.DID_DOC_NOT_FOUND);
+            }
+            return didDocument;
+        });
+    }
+
+    @Override
+    public VcMeta getVcMetByVcId(String vcId) {
+        return FutureUtil.join(getVcMetByVcIdAsync(vcId));
+    }
+
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        return read(() -> {
+            VcMeta vcMeta = vcMetas.get(vcId);
+            if (vcMeta == null) {
+                throw new OpenDidException(ErrorCode.VC_NOT_FOUND);
+            }
+            return vcMeta;
+        });
+    }
+
+    @Override
+    public void registerVcMeta(VcMeta vcMeta) {
+        FutureUtil.join(registerVcMetaAsync(vcMeta));
+    }
+
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return write(() -> {
+            vcMetas.put(vcMeta.getId(), vcMeta);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        FutureUtil.join(updateVcStatusAsync(vcId, vcStatus));
+    }
+
+    /**
+     * Updates the status of a VC. The stored VC meta is replaced by a copy, so that VC metas
+     * returned earlier do not change.
+     *
+     * @param vcId     Identifier of the VC.
+     * @param vcStatus New status of the VC.
+     * @return Future that completes when the status is updated.
+     */
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return write(() -> {
+            if (vcMetas.computeIfPresent(vcId, (key, vcMeta) -> withStatus(vcMeta, vcStatus)) == null) {
+                throw new OpenDidException(ErrorCode.VC_NOT_FOUND);
+            }
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> read(Supplier<T> operation) {
+        return call(operation, memoryStorageProperty.getReadLatency(), memoryStorageProperty.getReadErrorRate());
+    }
+
+    private <T> CompletableFuture<T> write(Supplier<T> operation) {
+        return call(operation, memoryStorageProperty.getWriteLatency(), memoryStorageProperty.getWriteErrorRate());
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation, MemoryStorageProperty.LatencySpec latency, double errorRate) {
+        Supplier<T> failingOperation = () -> {
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                throw new OpenDidException(ErrorCode.STORAGE_INJECTED_FAILURE);
+            }
+            return operation.get();
+        };
+        long delayNanos = sampleLatencyNanos(latency);
+        if (delayNanos <= 0) {
+            try {
+                return CompletableFuture.completedFuture(failingOperation.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(failingOperation,
+                CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Draws a latency from the distribution of the given spec.
+     *
+     * @param latency The latency spec.
+     * @return The latency in nanoseconds.
+     */
+    private static long sampleLatencyNanos(MemoryStorageProperty.LatencySpec latency) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long min = latency.getMin().toNanos();
+        long max = latency.getMax().toNanos();
+        long mean = latency.getMean().toNanos();
+        long nanos = switch (latency.getDistribution()) {
+            case NONE -> 0;
+            case FIXED -> mean;
+            case UNIFORM -> max > min ? random.nextLong(min, max + 1) : min;
+            case EXPONENTIAL -> min + (long) (-Math.log(1 - random.nextDouble()) * Math.max(0, mean - min));
+            case LOG_NORMAL -> {
+                double sigma = latency.getSigma();
+                double mu = Math.log(Math.max(1, mean)) - sigma * sigma / 2;
+                yield (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+        };
+        return latency.getDistribution() == MemoryStorageProperty.Distribution.NONE ? 0 : Math.min(max, Math.max(min, nanos));
+    }
+
+    private static String[] readSeed(String locationPattern) throws IOException {
+        if (!StringUtils.hasText(locationPattern)) {
+            return new String[0];
+        }
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(locationPattern);
+        String[] contents = new String[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            contents[i] = resources[i].getContentAsString(StandardCharsets.UTF_8);
+        }
+        return contents;
+    }
+
+    private static VcMeta withStatus(VcMeta vcMeta, VcStatus vcStatus) {
+        VcMeta updated = new VcMeta();
+        updated.setId(vcMeta.getId());
+        updated.setIssuer(vcMeta.getIssuer());
+        updated.setSubject(vcMeta.getSubject());
+        updated.setCredentialSchema(vcMeta.getCredentialSchema());
+        updated.setStatus(vcStatus.getRawValue());
+        updated.setIssuanceDate(vcMeta.getIssuanceDate());
+        updated.setValidFrom(vcMeta.getValidFrom());
+        updated.setValidUntil(vcMeta.getValidUntil());
+        updated.setFormatVersion(vcMeta.getFormatVersion());
+        updated.setLanguage(vcMeta.getLanguage());
+        return updated;
+    }
+}
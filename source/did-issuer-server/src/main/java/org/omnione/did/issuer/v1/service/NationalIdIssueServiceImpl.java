@@ -22,15 +22,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.omnione.did.base.datamodel.data.*;
 import org.omnione.did.base.datamodel.data.claim.NationalIdClaimInfo;
 import org.omnione.did.base.db.domain.*;
+import org.omnione.did.base.db.projection.IssueVcWorkingSet;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.base.property.IssueProperty;
 import org.omnione.did.core.data.rest.ClaimInfo;
 import org.omnione.did.issuer.v1.dto.demo.InsertUserReqDto;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplateRegistry;
+import org.omnione.did.issuer.v1.service.profile.IssueProfileTemplateRegistry;
 import org.omnione.did.issuer.v1.service.query.*;
+import org.omnione.did.issuer.v1.service.session.SessionStore;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
 import org.omnione.did.wallet.key.WalletManagerInterface;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 
@@ -42,15 +48,19 @@ import java.util.HashMap;
 @Profile("!sample")
 public class NationalIdIssueServiceImpl extends IssueServiceBase {
     private final UserQueryService userQueryService;
-    private final VcSchemaService vcSchemaService;
-    public NationalIdIssueServiceImpl(VcProfileQueryService vcProfileQueryService, VcOfferQueryService vcOfferQueryService,
-                                      TransactionService transactionService, E2EQueryService e2EQueryService,
-                                      VcQueryService vcQueryService, IssueProperty issueProperty, StorageService storageService,
-                                      FileWalletService walletService, UserQueryService userQueryService, VcSchemaService vcSchemaService) {
-        super(vcProfileQueryService, vcOfferQueryService, transactionService, e2EQueryService, vcQueryService,
-                issueProperty, storageService, walletService);
+    private final TransactionService transactionService;
+    public NationalIdIssueServiceImpl(SessionStore sessionStore, VcOfferQueryService vcOfferQueryService,
+                                      TransactionService transactionService, VcQueryService vcQueryService,
+                                      IssueProperty issueProperty, StorageService storageService,
+                                      FileWalletService walletService, EphemeralKeyPoolService keyPoolService,
+                                      VcMetaOutboxQueryService vcMetaOutboxQueryService, IssueProfileTemplateRegistry profileTemplateRegistry,
+                                      IssuanceTemplateRegistry issuanceTemplateRegistry, VcStatusListService vcStatusListService,
+                                      TransactionTemplate transactionTemplate, UserQueryService userQueryService) {
+        super(sessionStore, vcOfferQueryService, transactionService, vcQueryService,
+                issueProperty, storageService, walletService, keyPoolService, vcMetaOutboxQueryService, profileTemplateRegistry,
+                issuanceTemplateRegistry, vcStatusListService, transactionTemplate);
         this.userQueryService = userQueryService;
-        this.vcSchemaService = vcSchemaService;
+        this.transactionService = transactionService;
     }
 
     /**
@@ -80,37 +90,48 @@ public class NationalIdIssueServiceImpl extends IssueServiceBase {
     }
 
     /**
-     * Finds a user by a VC profile.
+     * Loads the transaction, the user found by the DID in the VC profile and the user's existing VC in one query.
      *
+     * @param txId The transaction ID.
      * @param vcProfile The VC profile.
-     * @return The user.
-     * @throws OpenDidException if the Holder is not found.
+     * @return The working set of the issue VC step.
+     * @throws OpenDidException if the transaction or the Holder is not found.
      */
     @Override
-    protected User findUserByVcProfile(VcProfile vcProfile) {
-        return userQueryService.findByDid(vcProfile.getDid()).orElseThrow(()
-                -> new OpenDidException(ErrorCode.HOLDER_NOT_FOUND));
+    protected IssueVcWorkingSet findIssueVcWorkingSet(String txId, VcProfile vcProfile) {
+        IssueVcWorkingSet workingSet = transactionService.findIssueVcWorkingSetByDid(txId, vcProfile.getDid());
+        if (workingSet.getUser() == null) {
+            throw new OpenDidException(ErrorCode.HOLDER_NOT_FOUND);
+        }
+        return workingSet;
     }
 
     /**
-     * Finds a user by a Holder.
+     * Loads the transaction, its VC profile and E2E, the user found by the DID in the VC profile
+     * and the user's existing VC in one query.
      *
-     * @param holder The Holder.
-     * @return The user.
+     * @param txId The transaction ID.
+     * @return The working set of the issue VC step.
+     * @throws OpenDidException if the transaction, its session or the Holder is not found.
      */
     @Override
-    protected User findUserByHolder(Holder holder) {
-        // Issue Profile step to return null because the User information is unregistered
-        return new User();
+    protected IssueVcWorkingSet findIssueVcSessionWorkingSet(String txId) {
+        IssueVcWorkingSet workingSet = transactionService.findIssueVcSessionWorkingSetByDid(txId);
+        if (workingSet.getUser() == null) {
+            throw new OpenDidException(ErrorCode.HOLDER_NOT_FOUND);
+        }
+        return workingSet;
     }
 
     /**
-     * Gets the VC schema for a national ID.
+     * Finds a user by a Holder.
      *
-     * @return The VC schema.
+     * @param holder The Holder.
+     * @return The user.
      */
     @Override
-    protected String getVcSchema() {
-        return vcSchemaService.getNationalIdSchema();
+    protected User findUserByHolder(Holder holder) {
+        // Issue Profile step to return null because the User information is unregistered
+        return new User();
     }
 }
@@ -16,38 +16,43 @@
 
 package org.omnione.did.issuer.v1.service;
 
-import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.base.util.BaseCoreDidUtil;
 import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.base.util.FutureUtil;
 import org.omnione.did.common.util.DidUtil;
 import org.omnione.did.core.manager.DidManager;
 import org.omnione.did.data.model.did.DidDocument;
 import org.omnione.did.data.model.enums.vc.VcStatus;
 import org.omnione.did.data.model.vc.VcMeta;
-import org.omnione.did.issuer.v1.api.RepositoryFeign;
+import org.omnione.did.issuer.v1.api.RepositoryAsyncClient;
 import org.omnione.did.issuer.v1.api.dto.DidDocApiResDto;
 import org.omnione.did.issuer.v1.api.dto.UpdateVcStatusApiReqDto;
-import org.springframework.context.annotation.Primary;
+import org.omnione.did.issuer.v1.api.dto.VcMetaApiResDto;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Implementation of the StorageService interface.
  * This service provides methods for interacting with the repository service.
+ * Calls are sent through the pooled, non-blocking repository client; the synchronous methods
+ * wait for the asynchronous ones.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Primary
+@Qualifier("storageBackend")
 @Profile("repository")
 public class RepositoryServiceImpl implements StorageService {
-    private final RepositoryFeign repositoryFeign;
+    private final RepositoryAsyncClient repositoryAsyncClient;
 
     /**
      * Finds a DID document by DID key URL.
@@ -58,24 +63,53 @@ public class RepositoryServiceImpl implements StorageService {
      */
     @Override
     public DidDocument findDidDoc(String didKeyUrl) {
-        try {
-            String did = DidUtil.extractDid(didKeyUrl);
-
-            DidDocApiResDto didDocApiResDto = repositoryFeign.getDid(did);
-
-            byte[] decodedDidDoc = BaseMultibaseUtil.decode(didDocApiResDto.getDidDoc());
-
-            String didDocJson = new String(decodedDidDoc);
-            DidManager didManager = BaseCoreDidUtil.parseDidDoc(didDocJson);
+        return FutureUtil.join(findDidDocAsync(didKeyUrl));
+    }
 
-            return didManager.getDocument();
-        } catch (FeignException e) {
-            log.error("Failed to find DID document.", e);
-            throw new OpenDidException(ErrorCode.DID_DOC_FIND_FAILURE);
+    /**
+     * Finds a DID document by DID key URL without blocking the caller.
+     *
+     * @param didKeyUrl The DID key URL.
+     * @return Future of the DID document, failed with an OpenDidException if the DID document is not found.
+     *         A client error relayed from the repository, such as an unknown DID, keeps its status;
+     *         any other failure becomes DID_DOC_FIND_FAILURE.
+     */
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        CompletableFuture<DidDocApiResDto> response;
+        try {
+            response = repositoryAsyncClient.getDid(DidUtil.extractDid(didKeyUrl));
         } catch (Exception e) {
             log.error("Failed to find DID document.", e);
-            throw new OpenDidException(ErrorCode.UNKNOWN_SERVER_ERROR);
+            return CompletableFuture.failedFuture(new OpenDidException(ErrorCode.UNKNOWN_SERVER_ERROR));
         }
+
+        // Parsing a DID document is expensive, so it is kept off the I/O threads of the client.
+        return response.handleAsync((didDocApiResDto, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                if (cause instanceof OpenDidException openDidException && openDidException.getHttpStatus() < 500) {
+                    log.error("Failed to find DID document: {}", openDidException.getMessage());
+                    throw openDidException;
+                }
+                log.error("Failed to find DID document.", e);
+                throw new OpenDidException(ErrorCode.DID_DOC_FIND_FAILURE);
+            }
+            if (didDocApiResDto == null || didDocApiResDto.getDidDoc() == null) {
+                throw new OpenDidException(ErrorCode.DID_DOC_NOT_FOUND);
+            }
+            try {
+                byte[] decodedDidDoc = BaseMultibaseUtil.decode(didDocApiResDto.getDidDoc());
+
+                String didDocJson = new String(decodedDidDoc);
+                DidManager didManager = BaseCoreDidUtil.parseDidDoc(didDocJson);
+
+                return didManager.getDocument();
+            } catch (Exception parseException) {
+                log.error("Failed to find DID document.", parseException);
+                throw new OpenDidException(ErrorCode.UNKNOWN_SERVER_ERROR);
+            }
+        });
     }
 
     /**
@@ -85,7 +119,18 @@ public class RepositoryServiceImpl implements StorageService {
      */
     @Override
     public void registerVcMeta(VcMeta vcMeta) {
-        repositoryFeign.inputVcMeta(vcMeta);
+        FutureUtil.join(registerVcMetaAsync(vcMeta));
+    }
+
+    /**
+     * Registers a verifiable credential metadata without blocking the caller.
+     *
+     * @param vcMeta The VC metadata to register.
+     * @return Future that completes when the repository accepted the VC metadata.
+     */
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return repositoryAsyncClient.inputVcMeta(vcMeta);
     }
 
     /**
@@ -96,8 +141,19 @@ public class RepositoryServiceImpl implements StorageService {
      */
     @Override
     public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        FutureUtil.join(updateVcStatusAsync(vcId, vcStatus));
+    }
 
-        repositoryFeign.updateVcStatus(UpdateVcStatusApiReqDto.builder()
+    /**
+     * Updates the status of a verifiable credential (VC) without blocking the caller.
+     *
+     * @param vcId     The VC identifier.
+     * @param vcStatus The new status of the VC.
+     * @return Future that completes when the repository accepted the status.
+     */
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return repositoryAsyncClient.updateVcStatus(UpdateVcStatusApiReqDto.builder()
                 .vcId(vcId)
                 .vcStatus(vcStatus)
                 .build());
@@ -111,8 +167,23 @@ public class RepositoryServiceImpl implements StorageService {
      */
     @Override
     public VcMeta getVcMetByVcId(String vcId) {
-        String encodedVcMeta = repositoryFeign.getVcMetaData(vcId).getVcMeta();
-        byte[] decodedVcMeta = BaseMultibaseUtil.decode(encodedVcMeta);
+        return FutureUtil.join(getVcMetByVcIdAsync(vcId));
+    }
+
+    /**
+     * Retrieves the metadata of a verifiable credential (VC) without blocking the caller.
+     *
+     * @param vcId The VC identifier.
+     * @return Future of the found VC metadata.
+     */
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        return repositoryAsyncClient.getVcMetaData(vcId)
+                .thenApply(RepositoryServiceImpl::toVcMeta);
+    }
+
+    private static VcMeta toVcMeta(VcMetaApiResDto vcMetaApiResDto) {
+        byte[] decodedVcMeta = BaseMultibaseUtil.decode(vcMetaApiResDto.getVcMeta());
         String jsonVcMeta = new String(decodedVcMeta, StandardCharsets.UTF_8);
 
         VcMeta vcMeta = new VcMeta();
@@ -20,23 +20,56 @@ import org.omnione.did.data.model.did.DidDocument;
 import org.omnione.did.data.model.enums.vc.VcStatus;
 import org.omnione.did.data.model.vc.VcMeta;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Storage service interface for handling DID documents and VC metadata.
  */
 public interface StorageService {
     /**
      * Finds a DID document by its key URL.
+     * The returned document may be a cached instance shared with other requests, so callers must not modify it.
      *
      * @param didKeyUrl URL of the DID key.
      * @return Found DID document.
      */
     DidDocument findDidDoc(String didKeyUrl);
+    /**
+     * Finds a DID document by its key URL without blocking the caller.
+     * By default the lookup is synchronous and the returned future is already complete.
+     * As with {@link #findDidDoc(String)}, callers must not modify the returned document.
+     *
+     * @param didKeyUrl URL of the DID key.
+     * @return Future of the found DID document.
+     */
+    default CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        try {
+            return CompletableFuture.completedFuture(findDidDoc(didKeyUrl));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
     /**
      * Registers a verifiable credential (VC) metadata.
      *
      * @param vcMeta VC metadata to register.
      */
     void registerVcMeta(VcMeta vcMeta);
+    /**
+     * Registers a verifiable credential (VC) metadata without waiting for the storage.
+     * Implementations may batch or pipeline registrations; by default the call is synchronous.
+     *
+     * @param vcMeta VC metadata to register.
+     * @return Future that completes when the VC metadata is registered.
+     */
+    default CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        try {
+            registerVcMeta(vcMeta);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
     /**
      * Updates the status of a verifiable credential (VC).
      *
@@ -44,6 +77,22 @@ public interface StorageService {
      * @param vcStatus New status of the VC.
      */
     void updateVcStatus(String vcId, VcStatus vcStatus);
+    /**
+     * Updates the status of a verifiable credential (VC) without blocking the caller.
+     * By default the update is synchronous and the returned future is already complete.
+     *
+     * @param vcId     Identifier of the VC.
+     * @param vcStatus New status of the VC.
+     * @return Future that completes when the status is updated.
+     */
+    default CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        try {
+            updateVcStatus(vcId, vcStatus);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
     /**
      * Retrieves the metadata of a verifiable credential (VC) by its identifier.
      *
@@ -51,4 +100,34 @@ public interface StorageService {
      * @return Found VC metadata.
      */
     VcMeta getVcMetByVcId(String vcId);
+    /**
+     * Retrieves the metadata of a verifiable credential (VC) without blocking the caller.
+     * By default the lookup is synchronous and the returned future is already complete.
+     *
+     * @param vcId Identifier of the VC.
+     * @return Future of the found VC metadata.
+     */
+    default CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        try {
+            return CompletableFuture.completedFuture(getVcMetByVcId(vcId));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    /**
+     * Evicts any locally cached copy of a DID document, e.g. after the DID has been updated.
+     * Does nothing for storages that do not cache.
+     *
+     * @param did DID or DID key URL of the document to evict.
+     */
+    default void evictDidDoc(String did) {
+    }
+    /**
+     * Evicts any locally cached copy of a VC metadata, e.g. after its status was changed elsewhere.
+     * Does nothing for storages that do not cache.
+     *
+     * @param vcId Identifier of the VC.
+     */
+    default void evictVcMeta(String vcId) {
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.property.PurgeProperty;
+import org.omnione.did.issuer.v1.service.query.PurgeResult;
+import org.omnione.did.issuer.v1.service.query.TransactionPurgeQueryService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Removes expired transactions in the background.
+ * A transaction is purged once its expiry plus the retention has passed, together with its sub transactions,
+ * E2E, VC profile and offer rows; offers that never started a transaction are purged the same way.
+ * No issuance step accepts an expired transaction, so the purged rows are never read by live requests.
+ * Rows are deleted in bounded chunks, each in its own DB transaction, with a pause between chunks.
+ * Issued VCs, users and revocation records are kept.
+ */
+@Slf4j
+@Component
+@Profile("!sample")
+public class TransactionPurgeJob {
+    private final TransactionPurgeQueryService transactionPurgeQueryService;
+    private final PurgeProperty purgeProperty;
+    private final Timer purgeTimer;
+    private final Counter purgedCounter;
+
+    public TransactionPurgeJob(TransactionPurgeQueryService transactionPurgeQueryService, PurgeProperty purgeProperty,
+                               MeterRegistry meterRegistry) {
+        this.transactionPurgeQueryService = transactionPurgeQueryService;
+        this.purgeProperty = purgeProperty;
+        this.purgeTimer = Timer.builder("issuer.purge")
+                .description("Time to purge the expired transactions of one run")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("issuer.purge.rows")
+                .description("Rows removed by the expired transaction purge")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges the transactions and offers that expired before the retention.
+     */
+    @Scheduled(fixedDelayString = "${purge.interval:PT10M}", initialDelayString = "${purge.interval:PT10M}")
+    public void run() {
+        if (!purgeProperty.isEnabled()) {
+            return;
+        }
+
+        try {
+            purge();
+        } catch (Exception e) {
+            log.error("Failed to purge expired transactions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Purges the transactions and offers that expired before the retention.
+     *
+     * @return the number of purged rows per table
+     */
+    public PurgeResult purge() {
+        long started = System.nanoTime();
+        Instant cutoff = Instant.now().minus(purgeProperty.getRetention());
+
+        PurgeResult result = purgeInChunks(cutoff, transactionPurgeQueryService::purgeExpiredTransactions,
+                PurgeResult::getTransactions);
+        result = result.plus(purgeInChunks(cutoff, transactionPurgeQueryService::purgeUnusedOffers,
+                PurgeResult::getVcOffers));
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        purgeTimer.record(elapsed);
+        purgedCounter.increment(result.total());
+        if (result.total() > 0) {
+            log.info("Purged {} rows expired before {} in {} ms: {}", result.total(), cutoff, elapsed.toMillis(), result);
+        } else {
+            log.debug("No rows expired before {}", cutoff);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a chunked delete until a chunk comes back short or the chunk limit of a run is reached.
+     *
+     * @param cutoff the cutoff time
+     * @param chunk deletes one chunk
+     * @param chunkRows reads the number of chunk rows that the chunk size applies to
+     * @return the sum of all chunks
+     */
+    private PurgeResult purgeInChunks(Instant cutoff, BiFunction<Instant, Integer, PurgeResult> chunk,
+                                      ToIntFunction<PurgeResult> chunkRows) {
+        PurgeResult result = PurgeResult.EMPTY;
+        for (int i = 0; i < purgeProperty.getMaxChunks(); i++) {
+            PurgeResult purged = chunk.apply(cutoff, purgeProperty.getChunkSize());
+            result = result.plus(purged);
+            if (chunkRows.applyAsInt(purged) < purgeProperty.getChunkSize() || !pause()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pauses between chunks so the purge does not compete with live requests for the database.
+     *
+     * @return false if the purge was interrupted
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(purgeProperty.getChunkPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
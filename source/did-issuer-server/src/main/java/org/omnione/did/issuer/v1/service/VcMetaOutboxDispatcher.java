@@ -0,0 +1,230 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.datamodel.data.VcStatusUpdate;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.omnione.did.base.property.OutboxProperty;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.query.VcMetaOutboxQueryService;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dispatches VC meta outbox entries to the storage (B/C or repository) in the background.
+ * A claimed batch is sent without waiting on each entry, so the storage can batch or pipeline it.
+ * Entries of the same VC are sent in the order they were written, and failed entries are
+ * retried with exponential backoff until the maximum number of attempts is reached.
+ * The batch is only awaited for part of its lease; an entry that has not completed by then is
+ * recorded as a failed attempt that is not retried before its lease ends. Cancelling the pending
+ * result does not stop a call that is already running, so a call that outlives the lease can still
+ * overlap with the retry; this relies on retries being idempotent.
+ * Retries are idempotent: a retried registration is skipped if the VC meta already exists, and
+ * a status update is skipped if the VC already has the status.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@Profile("!sample")
+public class VcMetaOutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final double LEASE_USABLE_RATIO = 0.8;
+
+    private final VcMetaOutboxQueryService vcMetaOutboxQueryService;
+    private final StorageService storageService;
+    private final OutboxProperty outboxProperty;
+    private final VcStatusListService vcStatusListService;
+
+    /**
+     * Claims the due entries and sends them to the storage.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        if (!outboxProperty.isEnabled()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + (long) (outboxProperty.getLease().toNanos() * LEASE_USABLE_RATIO);
+        List<VcMetaOutbox> entries;
+        try {
+            entries = vcMetaOutboxQueryService.claimDue(outboxProperty.getBatchSize(), outboxProperty.getLease(),
+                    outboxProperty.getInitialBackoff());
+        } catch (Exception e) {
+            log.error("Failed to claim VC meta outbox entries: {}", e.getMessage());
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<VcMetaOutbox, CompletableFuture<Void>> inFlight = new LinkedHashMap<>();
+        for (VcMetaOutbox entry : entries) {
+            inFlight.put(entry, send(entry));
+        }
+
+        inFlight.forEach((entry, result) -> complete(entry, result, deadline));
+        vcMetaOutboxQueryService.saveAll(entries);
+    }
+
+    /**
+     * Waits for the result of an entry until the deadline and records it.
+     *
+     * @param entry The entry that was sent.
+     * @param result The pending result of the entry.
+     * @param deadline The {@link System#nanoTime()} after which the entry is no longer awaited.
+     */
+    private void complete(VcMetaOutbox entry, CompletableFuture<Void> result, long deadline) {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (VcMetaOutboxOperation.UPDATE_VC_STATUS.equals(entry.getOperation())) {
+                VcStatusUpdate update = VcStatusUpdate.fromJson(entry.getPayload());
+                vcStatusListService.updateStatus(update.getVcPlanId(), update.getStatusListIndex(),
+                        VcStatus.fromString(update.getVcStatus()));
+            }
+            entry.setStatus(VcMetaOutboxStatus.COMPLETED);
+            entry.setLastError(null);
+            log.debug("VC meta outbox entry {} ({}) completed for vcId {}", entry.getId(), entry.getOperation(), entry.getVcId());
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            // The call may still be running: retry no earlier than the end of the lease set by the claim.
+            fail(entry, "Timed out before the outbox lease expired", entry.getNextAttemptAt());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(entry, "Interrupted", null);
+        } catch (Exception e) {
+            Throwable cause = (e instanceof ExecutionException && e.getCause() != null) ? e.getCause() : e;
+            fail(entry, cause.getMessage(), null);
+        }
+    }
+
+    /**
+     * Records a failed attempt of an entry and schedules a retry, or marks it failed after the last attempt.
+     *
+     * @param entry The entry that failed.
+     * @param error The error message.
+     * @param notBefore The earliest time of the retry, or null to only apply the backoff.
+     */
+    private void fail(VcMetaOutbox entry, String error, Instant notBefore) {
+        int attempts = entry.getAttempts();
+        entry.setLastError(truncate(error));
+        if (attempts >= outboxProperty.getMaxAttempts()) {
+            entry.setStatus(VcMetaOutboxStatus.FAILED);
+            log.error("VC meta outbox entry {} failed for vcId {} after {} attempts: {}",
+                    entry.getId(), entry.getVcId(), attempts, error);
+        } else {
+            entry.setStatus(VcMetaOutboxStatus.PENDING);
+            Instant nextAttemptAt = Instant.now().plus(backoff(attempts));
+            if (notBefore != null && notBefore.isAfter(nextAttemptAt)) {
+                nextAttemptAt = notBefore;
+            }
+            entry.setNextAttemptAt(nextAttemptAt);
+            log.warn("VC meta outbox entry {} failed for vcId {} (attempt {}): {}",
+                    entry.getId(), entry.getVcId(), attempts, error);
+        }
+    }
+
+    /**
+     * Sends the operation of an entry to the storage.
+     *
+     * @param entry The entry to send.
+     * @return The pending result of the operation.
+     */
+    private CompletableFuture<Void> send(VcMetaOutbox entry) {
+        try {
+            return switch (entry.getOperation()) {
+                case REGISTER_VC_META -> registerVcMeta(entry);
+                case UPDATE_VC_STATUS -> updateVcStatus(entry.getVcId(), VcStatusUpdate.fromJson(entry.getPayload()));
+            };
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Registers the VC meta of an entry on the storage.
+     * A retried entry first checks whether an earlier attempt already registered it.
+     *
+     * @param entry The entry to send.
+     * @return The pending result of the registration.
+     */
+    private CompletableFuture<Void> registerVcMeta(VcMetaOutbox entry) {
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.fromJson(entry.getPayload());
+        if (entry.getAttempts() <= 1) {
+            return storageService.registerVcMetaAsync(vcMeta);
+        }
+
+        storageService.evictVcMeta(entry.getVcId());
+        return storageService.getVcMetByVcIdAsync(entry.getVcId())
+                .handle((registered, e) -> e == null && registered != null)
+                .thenCompose(registered -> registered
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : storageService.registerVcMetaAsync(vcMeta));
+    }
+
+    /**
+     * Updates the status of a VC on the storage unless it already has the status.
+     * The cached VC meta is dropped first, so the check reads the storage.
+     *
+     * @param vcId The ID of the VC.
+     * @param update The status update.
+     * @return The pending result of the update.
+     */
+    private CompletableFuture<Void> updateVcStatus(String vcId, VcStatusUpdate update) {
+        VcStatus vcStatus = VcStatus.fromString(update.getVcStatus());
+        storageService.evictVcMeta(vcId);
+        return storageService.getVcMetByVcIdAsync(vcId)
+                .thenCompose(vcMeta -> vcStatus.getRawValue().equals(vcMeta.getStatus())
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : storageService.updateVcStatusAsync(vcId, vcStatus));
+    }
+
+    /**
+     * Calculates the exponential backoff for the given attempt.
+     *
+     * @param attempts The number of attempts made so far.
+     * @return The delay before the next attempt.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = outboxProperty.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(outboxProperty.getMaxBackoff()) > 0 ? outboxProperty.getMaxBackoff() : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
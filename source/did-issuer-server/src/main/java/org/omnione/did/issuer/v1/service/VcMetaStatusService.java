@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.omnione.did.issuer.v1.dto.vc.VcMetaOutboxListResDto;
+import org.omnione.did.issuer.v1.dto.vc.VcMetaStatusResDto;
+import org.omnione.did.issuer.v1.service.query.VcMetaOutboxQueryService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service for querying the registration status of VC meta on the storage.
+ * Wallets use it to check whether an issued VC has been registered yet,
+ * and operators use it to list the entries that are still pending or have failed,
+ * such as the revocations of superseded VCs.
+ * It also lets operators drop a cached VC meta or DID document that is known to be stale,
+ * e.g. after a DID document was updated with new keys.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class VcMetaStatusService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final VcMetaOutboxQueryService vcMetaOutboxQueryService;
+    private final StorageService storageService;
+
+    /**
+     * Retrieves the status of the latest VC meta operation of the given VC.
+     *
+     * @param vcId The ID of the VC.
+     * @return VcMetaStatusResDto containing the status of the operation.
+     * @throws OpenDidException if no operation exists for the VC.
+     */
+    public VcMetaStatusResDto getVcMetaStatus(String vcId) {
+        return toResDto(vcMetaOutboxQueryService.findLatestByVcId(vcId));
+    }
+
+    /**
+     * Lists the VC meta operations of a kind with the given status, oldest first.
+     *
+     * @param operation The operation, e.g. UPDATE_VC_STATUS for revocations.
+     * @param status The status, e.g. PENDING or FAILED.
+     * @param page The page number, starting at 0.
+     * @param size The page size, at most 1000.
+     * @return VcMetaOutboxListResDto containing the number of matching operations and a page of them.
+     */
+    public VcMetaOutboxListResDto getVcMetaOperations(VcMetaOutboxOperation operation, VcMetaOutboxStatus status,
+                                                      int page, int size) {
+        List<VcMetaStatusResDto> items = vcMetaOutboxQueryService
+                .findByOperationAndStatus(operation, status, Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE))
+                .stream()
+                .map(this::toResDto)
+                .toList();
+
+        return VcMetaOutboxListResDto.builder()
+                .operation(operation.name())
+                .status(status.name())
+                .total(vcMetaOutboxQueryService.countByOperationAndStatus(operation, status))
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Evicts the cached VC meta of the given VC, so the next lookup reads it from the storage.
+     *
+     * @param vcId The ID of the VC.
+     */
+    public void evictVcMeta(String vcId) {
+        log.info("Evicting cached VC meta. vcId: {}", vcId);
+        storageService.evictVcMeta(vcId);
+    }
+
+    /**
+     * Evicts every cached version of the given DID document, so the next lookup reads it from the storage.
+     *
+     * @param did The DID or DID key URL.
+     */
+    public void evictDidDoc(String did) {
+        log.info("Evicting cached DID document. did: {}", did);
+        storageService.evictDidDoc(did);
+    }
+
+    private VcMetaStatusResDto toResDto(VcMetaOutbox entry) {
+        return VcMetaStatusResDto.builder()
+                .vcId(entry.getVcId())
+                .operation(entry.getOperation().name())
+                .status(entry.getStatus().name())
+                .attempts(entry.getAttempts())
+                .lastError(entry.getLastError())
+                .nextAttemptAt(VcMetaOutboxStatus.PENDING.equals(entry.getStatus()) ? entry.getNextAttemptAt() : null)
+                .build();
+    }
+}
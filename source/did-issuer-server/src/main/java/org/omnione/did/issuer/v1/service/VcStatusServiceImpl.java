@@ -41,6 +41,7 @@ import org.omnione.did.data.model.vc.VcMeta;
 import org.omnione.did.issuer.v1.dto.vc.*;
 import org.omnione.did.issuer.v1.service.query.RevokeVcQueryService;
 import org.omnione.did.issuer.v1.service.query.TransactionService;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -61,6 +62,7 @@ public class VcStatusServiceImpl implements VcStatusService {
     private final TransactionService transactionService;
     private final IssueProperty issueProperty;
     private final RevokeVcQueryService revokeVcQueryService;
+    private final VcStatusListService vcStatusListService;
     /**
      * Inspects a propose revoke request for a Verifiable Credential.
      *
@@ -90,10 +92,7 @@ public class VcStatusServiceImpl implements VcStatusService {
                     .expiredAt(Instant.now().plusSeconds(3600L))
                     .type(TransactionType.REVOKE_VC)
                     .status(TransactionStatus.COMPLETED)
-                    .build());
-
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
+                    .build(), SubTransaction.builder()
                     .step(1)
                     .type(SubTransactionType.INSPECT_REVOKE_PROPOSE)
                     .status(SubTransactionStatus.COMPLETED)
@@ -137,13 +136,13 @@ public class VcStatusServiceImpl implements VcStatusService {
             // TODO: Compare Holder DID
 
             storageService.updateVcStatus(revokeVc.getVcId(), VcStatus.REVOKED);
+            vcStatusListService.updateStatus(revokeVc.getVcId(), VcStatus.REVOKED);
 
             revokeVc.setStatus(VcStatus.REVOKED);
             revokeVcQueryService.save(revokeVc);
 
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
-                    .step(3)
+            transactionService.insertSubTransaction(transaction, SubTransaction.builder()
+                    .step(2)
                     .type(SubTransactionType.REVOKE_VC)
                     .status(SubTransactionStatus.COMPLETED)
                     .build());
@@ -176,6 +175,7 @@ public class VcStatusServiceImpl implements VcStatusService {
             }
 
             storageService.updateVcStatus(request.getVcId(), request.getVcStatus());
+            vcStatusListService.updateStatus(request.getVcId(), request.getVcStatus());
 
             return UpdateVcStatusResDto.builder()
                     .build();
@@ -197,8 +197,7 @@ public class VcStatusServiceImpl implements VcStatusService {
         try {
             Transaction transaction = transactionService.validateAndFindTransaction(request.getTxId(), SubTransactionType.REVOKE_VC);
 
-            transactionService.insertSubTransaction(SubTransaction.builder()
-                    .transactionId(transaction.getId())
+            transactionService.insertSubTransaction(transaction, SubTransaction.builder()
                     .step(3)
                     .type(SubTransactionType.COMPLETE_REVOKE)
                     .status(SubTransactionStatus.COMPLETED)
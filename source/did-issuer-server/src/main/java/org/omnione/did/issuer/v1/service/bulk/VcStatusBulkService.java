@@ -0,0 +1,375 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.db.constant.VcStatusJobItemResult;
+import org.omnione.did.base.db.constant.VcStatusJobStatus;
+import org.omnione.did.base.db.domain.VcStatusJob;
+import org.omnione.did.base.db.domain.VcStatusJobItem;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.VcStatusBulkProperty;
+import org.omnione.did.base.util.RandomUtil;
+import org.omnione.did.issuer.v1.dto.vc.BulkUpdateVcStatusItemDto;
+import org.omnione.did.issuer.v1.dto.vc.BulkUpdateVcStatusResDto;
+import org.omnione.did.issuer.v1.dto.vc.UpdateVcStatusReqDto;
+import org.omnione.did.issuer.v1.service.VcStatusService;
+import org.omnione.did.issuer.v1.service.query.VcStatusJobQueryService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for updating the status of many VCs in one job.
+ * Submitted vcId/status pairs are stored as job items and processed in the background, chunk by chunk:
+ * the items of a chunk are updated in parallel on a shared, bounded executor, except that items of the
+ * same VC are applied in submission order, and the results of a chunk are written back in one batch.
+ * Each item goes through the same checks as a single status update.
+ * Since every result is stored, a job that was interrupted (e.g. by a restart) can be resumed by its job ID,
+ * and very large batches can be submitted in several requests to the same job.
+ * A node processes a job only while it holds the lease on the job row, which it renews after every chunk,
+ * so a job is never processed by two nodes at once, and a job whose node died is taken over by the
+ * periodic recovery once its lease has expired.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class VcStatusBulkService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final VcStatusService vcStatusService;
+    private final VcStatusJobQueryService vcStatusJobQueryService;
+    private final VcStatusBulkProperty vcStatusBulkProperty;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = RandomUtil.generateUUID();
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+    private ExecutorService jobExecutor;
+    private ExecutorService itemExecutor;
+
+    /**
+     * Starts the job and item executors.
+     */
+    @PostConstruct
+    public void start() {
+        jobExecutor = Executors.newFixedThreadPool(Math.max(1, vcStatusBulkProperty.getMaxConcurrentJobs()),
+                daemonThreads("vc-status-job-"));
+        itemExecutor = Executors.newFixedThreadPool(Math.max(1, vcStatusBulkProperty.getParallelism()),
+                daemonThreads("vc-status-item-"));
+    }
+
+    /**
+     * Stops the executors. Items that were not processed stay pending and can be resumed.
+     */
+    @PreDestroy
+    public void stop() {
+        jobExecutor.shutdownNow();
+        itemExecutor.shutdownNow();
+    }
+
+    /**
+     * Adds vcId/status pairs to a job and starts processing it.
+     *
+     * @param jobId The ID of the job to add to, or null to create a new job.
+     * @param items The vcId/status pairs.
+     * @return BulkUpdateVcStatusResDto containing the job ID and its progress.
+     * @throws OpenDidException if the job does not exist, an item is invalid or there are too many items.
+     */
+    public BulkUpdateVcStatusResDto submit(String jobId, List<UpdateVcStatusReqDto> items) {
+        return submit(jobId, items.iterator());
+    }
+
+    /**
+     * Adds vcId/status pairs read from an NDJSON stream (one JSON object per line) to a job
+     * and starts processing it. The stream is read and stored chunk by chunk.
+     *
+     * @param jobId The ID of the job to add to, or null to create a new job.
+     * @param body The NDJSON stream.
+     * @return BulkUpdateVcStatusResDto containing the job ID and its progress.
+     * @throws OpenDidException if the job does not exist, a line is invalid or there are too many items.
+     */
+    public BulkUpdateVcStatusResDto submitNdjson(String jobId, InputStream body) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            return submit(jobId, new NdjsonIterator(reader));
+        } catch (UncheckedIOException e) {
+            log.error("Failed to read VC status items: {}", e.getMessage());
+            throw new OpenDidException(ErrorCode.REQUEST_BODY_UNREADABLE);
+        }
+    }
+
+    /**
+     * Resumes processing the pending items of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return BulkUpdateVcStatusResDto containing the job progress.
+     * @throws OpenDidException if the job does not exist.
+     */
+    public BulkUpdateVcStatusResDto resume(String jobId) {
+        VcStatusJob job = vcStatusJobQueryService.findByJobId(jobId);
+        Map<VcStatusJobItemResult, Long> counts = vcStatusJobQueryService.countItems(job);
+        if (counts.get(VcStatusJobItemResult.PENDING) > 0) {
+            job.setStatus(VcStatusJobStatus.PROCESSING);
+            job = vcStatusJobQueryService.save(job);
+            schedule(job);
+        }
+        return toResDto(job, counts, null);
+    }
+
+    /**
+     * Retrieves the progress of a job and a page of its item results.
+     *
+     * @param jobId The ID of the job.
+     * @param page The page number, starting at 0.
+     * @param size The page size, at most 1000.
+     * @return BulkUpdateVcStatusResDto containing the job progress and item results.
+     * @throws OpenDidException if the job does not exist.
+     */
+    public BulkUpdateVcStatusResDto getJob(String jobId, int page, int size) {
+        VcStatusJob job = vcStatusJobQueryService.findByJobId(jobId);
+        List<BulkUpdateVcStatusItemDto> items = vcStatusJobQueryService
+                .findItems(job, Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE)).stream()
+                .map(item -> BulkUpdateVcStatusItemDto.builder()
+                        .seq(item.getSeq())
+                        .vcId(item.getVcId())
+                        .vcStatus(item.getVcStatus().name())
+                        .result(item.getResult().name())
+                        .errorCode(item.getErrorCode())
+                        .build())
+                .toList();
+        return toResDto(job, vcStatusJobQueryService.countItems(job), items);
+    }
+
+    /**
+     * Schedules the processing jobs that no node holds a lease on, e.g. jobs whose node stopped.
+     */
+    @Scheduled(fixedDelayString = "${vc-status.bulk.recovery-interval:PT1M}",
+            initialDelayString = "${vc-status.bulk.recovery-interval:PT1M}")
+    public void recover() {
+        int free = Math.max(1, vcStatusBulkProperty.getMaxConcurrentJobs()) - runningJobs.size();
+        if (free <= 0) {
+            return;
+        }
+        try {
+            vcStatusJobQueryService.findUnleasedJobs(free).forEach(this::schedule);
+        } catch (Exception e) {
+            log.error("Failed to recover VC status jobs: {}", e.getMessage());
+        }
+    }
+
+    private BulkUpdateVcStatusResDto submit(String jobId, Iterator<UpdateVcStatusReqDto> items) {
+        try {
+            VcStatusJob job = vcStatusJobQueryService.appendItems(jobId, items,
+                    vcStatusBulkProperty.getChunkSize(), vcStatusBulkProperty.getMaxItems());
+            schedule(job);
+            return toResDto(job, vcStatusJobQueryService.countItems(job), null);
+        } catch (OpenDidException | UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to submit VC status items: {}", e.getMessage());
+            throw new OpenDidException(ErrorCode.TR_VC_UPDATE_STATUS_BULK_FAILED);
+        }
+    }
+
+    /**
+     * Starts processing a job unless it is already being processed on this node.
+     * The job is skipped if another node holds its lease.
+     *
+     * @param job The job to process.
+     */
+    private void schedule(VcStatusJob job) {
+        if (!runningJobs.add(job.getJobId())) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                if (vcStatusJobQueryService.claimLease(job, nodeId, vcStatusBulkProperty.getLease())) {
+                    process(job);
+                } else {
+                    log.debug("VC status job {} is processed by another node", job.getJobId());
+                }
+            } catch (Exception e) {
+                log.error("VC status job {} stopped: {}", job.getJobId(), e.getMessage());
+                releaseLease(job);
+            } finally {
+                runningJobs.remove(job.getJobId());
+            }
+        });
+    }
+
+    /**
+     * Processes the pending items of a job until none is left, renewing the lease before every chunk.
+     * Processing stops if the lease has been taken over by another node.
+     *
+     * @param job The job to process, whose lease is held by this node.
+     */
+    void process(VcStatusJob job) {
+        int processed = 0;
+        while (true) {
+            List<VcStatusJobItem> chunk = vcStatusJobQueryService.findPendingItems(job, vcStatusBulkProperty.getChunkSize());
+            if (chunk.isEmpty() && vcStatusJobQueryService.complete(job, nodeId)) {
+                log.info("VC status job {} completed. processed items: {}", job.getJobId(), processed);
+                return;
+            }
+            if (!vcStatusJobQueryService.renewLease(job, nodeId, vcStatusBulkProperty.getLease())) {
+                log.warn("VC status job {} was taken over by another node. processed items: {}",
+                        job.getJobId(), processed);
+                return;
+            }
+            if (chunk.isEmpty()) {
+                // Items were appended after the chunk was read.
+                continue;
+            }
+
+            Map<String, List<VcStatusJobItem>> itemsByVcId = new LinkedHashMap<>();
+            for (VcStatusJobItem item : chunk) {
+                itemsByVcId.computeIfAbsent(item.getVcId(), vcId -> new ArrayList<>()).add(item);
+            }
+
+            CompletableFuture.allOf(itemsByVcId.values().stream()
+                    .map(items -> CompletableFuture.runAsync(() -> items.forEach(this::apply), itemExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+
+            vcStatusJobQueryService.saveItems(chunk);
+            processed += chunk.size();
+        }
+    }
+
+    /**
+     * Frees the lease of a job that stopped, so that it can be resumed without waiting for the lease to expire.
+     *
+     * @param job The job.
+     */
+    private void releaseLease(VcStatusJob job) {
+        try {
+            vcStatusJobQueryService.releaseLease(job, nodeId);
+        } catch (Exception e) {
+            log.debug("Failed to release the lease of VC status job {}: {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applies one item and records its result.
+     *
+     * @param item The item to apply.
+     */
+    private void apply(VcStatusJobItem item) {
+        UpdateVcStatusReqDto request = new UpdateVcStatusReqDto();
+        request.setVcId(item.getVcId());
+        request.setVcStatus(item.getVcStatus());
+        try {
+            vcStatusService.updateVcStatus(request);
+            item.setResult(VcStatusJobItemResult.SUCCEEDED);
+            item.setErrorCode(null);
+        } catch (OpenDidException e) {
+            item.setResult(VcStatusJobItemResult.FAILED);
+            item.setErrorCode(e.getErrorCode() != null ? e.getErrorCode().getCode() : e.getErrorResponse().getCode());
+            log.debug("VC status update failed. vcId: {}, error: {}", item.getVcId(), e.getMessage());
+        } catch (Exception e) {
+            item.setResult(VcStatusJobItemResult.FAILED);
+            item.setErrorCode(ErrorCode.TR_VC_UPDATE_STATUS_FAILED.getCode());
+            log.debug("VC status update failed. vcId: {}, error: {}", item.getVcId(), e.getMessage());
+        }
+    }
+
+    private BulkUpdateVcStatusResDto toResDto(VcStatusJob job, Map<VcStatusJobItemResult, Long> counts,
+                                              List<BulkUpdateVcStatusItemDto> items) {
+        return BulkUpdateVcStatusResDto.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus().name())
+                .total(counts.values().stream().mapToLong(Long::longValue).sum())
+                .pending(counts.get(VcStatusJobItemResult.PENDING))
+                .succeeded(counts.get(VcStatusJobItemResult.SUCCEEDED))
+                .failed(counts.get(VcStatusJobItemResult.FAILED))
+                .items(items)
+                .build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Reads one UpdateVcStatusReqDto per non-blank line.
+     */
+    private class NdjsonIterator implements Iterator<UpdateVcStatusReqDto> {
+        private final BufferedReader reader;
+        private String nextLine;
+
+        NdjsonIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public UpdateVcStatusReqDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                return objectMapper.readValue(line, UpdateVcStatusReqDto.class);
+            } catch (IOException e) {
+                log.error("Failed to parse VC status item: {}", e.getMessage());
+                throw new OpenDidException(ErrorCode.REQUEST_BODY_UNREADABLE);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.profile;
+
+import lombok.Getter;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.base.util.BaseCoreVcUtil;
+import org.omnione.did.core.data.rest.ClaimInfo;
+import org.omnione.did.core.data.rest.IssueVcParam;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcType;
+import org.omnione.did.data.model.provider.ProviderDetail;
+import org.omnione.did.data.model.schema.VcSchema;
+import org.omnione.did.data.model.vc.DocumentVerificationEvidence;
+import org.omnione.did.data.model.vc.Evidence;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Immutable issuance template for a single VC plan.
+ * Holds the already parsed VC schema, issuer DID document, evidence and provider detail,
+ * so issuing a VC only has to add the claims, the validity period and the proofs.
+ * The parsed objects are shared by every request and must be treated as read-only.
+ */
+@Getter
+public final class IssuanceTemplate {
+    private static final List<VcType> VC_TYPES = List.of(VcType.VERIFIABLE_CREDENTIAL);
+
+    private final VcPlanId vcPlanId;
+    private final VcSchema vcSchema;
+    private final DidDocument issuerDidDocument;
+    private final ProviderDetail providerDetail;
+    private final List<Evidence> evidences;
+
+    private IssuanceTemplate(VcPlanId vcPlanId, VcSchema vcSchema, DidDocument issuerDidDocument,
+                             ProviderDetail providerDetail, List<Evidence> evidences) {
+        this.vcPlanId = vcPlanId;
+        this.vcSchema = vcSchema;
+        this.issuerDidDocument = issuerDidDocument;
+        this.providerDetail = providerDetail;
+        this.evidences = evidences;
+    }
+
+    /**
+     * Parses the given JSON documents into a new issuance template.
+     *
+     * @param vcPlanId The VC plan ID of the template.
+     * @param vcSchemaJson The VC schema JSON.
+     * @param issuerDidDocumentJson The issuer DID document JSON.
+     * @param evidenceJson The document verification evidence JSON.
+     * @param issuerName The issuer name.
+     * @param certVcRef The reference of the certificate VC.
+     * @return The parsed issuance template.
+     */
+    public static IssuanceTemplate of(VcPlanId vcPlanId, String vcSchemaJson, String issuerDidDocumentJson,
+                                      String evidenceJson, String issuerName, String certVcRef) {
+        VcSchema vcSchema = BaseCoreVcUtil.parseVcSchema(vcSchemaJson);
+
+        DidDocument didDocument = new DidDocument();
+        didDocument.fromJson(issuerDidDocumentJson);
+
+        DocumentVerificationEvidence evidence = new DocumentVerificationEvidence();
+        evidence.fromJson(evidenceJson);
+
+        ProviderDetail providerDetail = new ProviderDetail();
+        providerDetail.setDid(didDocument.getId());
+        providerDetail.setName(issuerName);
+        providerDetail.setCertVcRef(certVcRef);
+
+        return new IssuanceTemplate(vcPlanId, vcSchema, didDocument, providerDetail, List.of(evidence));
+    }
+
+    /**
+     * Creates the VC issuance parameters for a single VC.
+     * Only the claims and the validity period are new; everything else comes from the template.
+     *
+     * @param claimInfo The claims of the VC.
+     * @param validYears The number of years the VC stays valid.
+     * @return The VC issuance parameters.
+     */
+    public IssueVcParam newIssueVcParam(HashMap<String, ClaimInfo> claimInfo, int validYears) {
+        IssueVcParam issueVcParam = new IssueVcParam();
+        issueVcParam.setVcSchema(vcSchema);
+        issueVcParam.setProviderDetail(providerDetail);
+        issueVcParam.setEvidences(evidences);
+        BaseCoreVcUtil.setVcTypes(issueVcParam, VC_TYPES);
+        BaseCoreVcUtil.setClaimInfo(issueVcParam, claimInfo);
+        BaseCoreVcUtil.setValidateUntil(issueVcParam, validYears);
+        return issueVcParam;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.profile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.issuer.v1.service.query.VcSchemaService;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry of issuance templates, one per configured VC plan.
+ * The templates are built once at startup and rebuilt after a configuration refresh,
+ * which rebinds the issue properties first. The refresh is triggered by POST /actuator/refresh,
+ * which is only served to requests from the host itself (see SecurityConfig).
+ */
+@Slf4j
+@Component
+public class IssuanceTemplateRegistry {
+    private static final String ISSUER_DID_DOCUMENT = """
+            {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["assert"],"authentication":["auth"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:issuer","keyAgreement":["keyagree"],"proofs":[{"created":"2024-07-12T08:35:17Z","proofPurpose":"assertionMethod","proofValue":"signatureValue..1","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#assert"},{"created":"2024-07-12T08:35:17Z","proofPurpose":"authentication","proofValue":"signatureValue..2","type":"Secp256r1Signature2018","verificationMethod":"did:omn:issuer?versionId=1#auth"}],"service":[{"id":"serviceID-1","serviceEndpoint":["https://did.omnione.net"],"type":"LinkedDomains"},{"id":"serviceID-2","serviceEndpoint":["https://did.omnione.net/ld/certificate/1234"],"type":"LinkedDomains"}],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:issuer","id":"assert","publicKeyMultibase":"zvXsXFNahfw9Cz4KQEdLjBtoUEUiVHoMxWs23j6axNuTP","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"auth","publicKeyMultibase":"z21Fy2h5uqmhw8xSVxBXNtBbVVjPTuKMam8ebz2FR7CD62","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:issuer","id":"keyagree","publicKeyMultibase":"znByKCSPznGAKc48CF7i7BhWuhEnz2U7sU4m5TxTrJVEf","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
+            """;
+    private static final String EVIDENCE = """
+            {
+                "evidenceDocument":"BusinessLicense",
+                "subjectPresence":"Physical",
+                "documentPresence":"Physical",
+                "type":"DocumentVerification",
+                "verifier":"did:omn:tas"
+            }
+            """;
+
+    private final IssueProperty issueProperty;
+    private final VcSchemaService vcSchemaService;
+    private volatile Map<VcPlanId, IssuanceTemplate> templates;
+
+    public IssuanceTemplateRegistry(IssueProperty issueProperty, VcSchemaService vcSchemaService) {
+        this.issueProperty = issueProperty;
+        this.vcSchemaService = vcSchemaService;
+        rebuild();
+    }
+
+    /**
+     * Returns the issuance template for the given VC plan ID.
+     *
+     * @param vcPlanId The VC plan ID label.
+     * @return The issuance template.
+     * @throws OpenDidException if no template is registered for the plan.
+     */
+    public IssuanceTemplate getTemplate(String vcPlanId) {
+        IssuanceTemplate template = templates.get(VcPlanId.valueOfLabel(vcPlanId));
+        if (template == null) {
+            throw new OpenDidException(ErrorCode.VC_PLAN_ID_INVALID);
+        }
+        return template;
+    }
+
+    /**
+     * Rebuilds the templates after the configuration was refreshed.
+     * If the new configuration cannot be parsed, the current templates are kept.
+     *
+     * @param event The refresh event.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh(RefreshScopeRefreshedEvent event) {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild issuance templates, keeping the current ones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the templates for all configured VC plans and replaces the current set.
+     * Requests already holding a template keep using it until they finish.
+     */
+    public synchronized void rebuild() {
+        Map<VcPlanId, IssuanceTemplate> built = new EnumMap<>(VcPlanId.class);
+        for (VcPlanId vcPlanId : issueProperty.getPlanIds()) {
+            built.put(vcPlanId, IssuanceTemplate.of(vcPlanId,
+                    vcSchemaService.getVcSchemaByName(vcPlanId.getName()),
+                    ISSUER_DID_DOCUMENT,
+                    EVIDENCE,
+                    issueProperty.getName(),
+                    issueProperty.getCertVcRef()));
+        }
+        this.templates = Collections.unmodifiableMap(built);
+        log.info("Built issuance templates: {}", built.keySet());
+    }
+}
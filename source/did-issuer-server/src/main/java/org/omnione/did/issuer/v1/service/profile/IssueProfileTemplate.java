@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.profile;
+
+import lombok.Getter;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.data.model.DataObject;
+import org.omnione.did.data.model.profile.ReqE2e;
+import org.omnione.did.data.model.profile.issue.InnerIssueProfile;
+import org.omnione.did.data.model.profile.issue.IssueProcess;
+import org.omnione.did.data.model.profile.issue.IssueProfile;
+import org.omnione.did.data.model.provider.LogoImage;
+import org.omnione.did.data.model.provider.ProviderDetail;
+import org.omnione.did.data.model.vc.CredentialSchema;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Immutable issue profile template for a single VC plan.
+ * The fixed parts of the configured profile are copied once at startup and shared by every
+ * per-request instance; only the profile ID, the E2E public key and the nonces are set per request.
+ */
+@Getter
+public final class IssueProfileTemplate {
+    private final VcPlanId vcPlanId;
+    private final String type;
+    private final String title;
+    private final String description;
+    private final String encoding;
+    private final String language;
+    private final String curve;
+    private final String cipher;
+    private final String padding;
+
+    private final LogoImage logo;
+    private final ProviderDetail issuer;
+    private final CredentialSchema credentialSchema;
+    private final List<String> endpoints;
+
+    IssueProfileTemplate(VcPlanId vcPlanId, IssueProfile source) {
+        InnerIssueProfile inner = source.getProfile();
+        IssueProcess process = inner.getProcess();
+        ReqE2e reqE2e = process.getReqE2e();
+
+        this.vcPlanId = vcPlanId;
+        this.type = source.getType();
+        this.title = source.getTitle();
+        this.description = source.getDescription();
+        this.encoding = source.getEncoding();
+        this.language = source.getLanguage();
+        this.curve = reqE2e.getCurve();
+        this.cipher = reqE2e.getCipher();
+        this.padding = reqE2e.getPadding();
+
+        this.logo = copyOf(source.getLogo(), LogoImage::new);
+        this.issuer = copyOf(inner.getIssuer(), ProviderDetail::new);
+        this.credentialSchema = copyOf(inner.getCredentialSchema(), CredentialSchema::new);
+        this.endpoints = List.copyOf(process.getEndpoints());
+    }
+
+    /**
+     * Creates a new, unsigned issue profile for a single request.
+     * The returned profile only owns its variable parts; the issuer, credential schema, logo and
+     * endpoints are shared with the template and must not be modified.
+     *
+     * @param profileId The ID of the new profile.
+     * @param encodedPublicKey The encoded E2E public key of the issuer.
+     * @param nonce The nonce used as both the issuer nonce and the E2E nonce.
+     * @return A new issue profile for the request.
+     */
+    public IssueProfile newInstance(String profileId, String encodedPublicKey, String nonce) {
+        ReqE2e reqE2e = new ReqE2e();
+        reqE2e.setCurve(curve);
+        reqE2e.setCipher(cipher);
+        reqE2e.setPadding(padding);
+        reqE2e.setPublicKey(encodedPublicKey);
+        reqE2e.setNonce(nonce);
+
+        IssueProcess process = new IssueProcess();
+        process.setEndpoints(endpoints);
+        process.setReqE2e(reqE2e);
+        process.setIssuerNonce(nonce);
+
+        InnerIssueProfile inner = new InnerIssueProfile();
+        inner.setIssuer(issuer);
+        inner.setCredentialSchema(credentialSchema);
+        inner.setProcess(process);
+
+        IssueProfile profile = new IssueProfile();
+        profile.setId(profileId);
+        profile.setType(type);
+        profile.setTitle(title);
+        profile.setDescription(description);
+        profile.setLogo(logo);
+        profile.setEncoding(encoding);
+        profile.setLanguage(language);
+        profile.setProfile(inner);
+        return profile;
+    }
+
+    private static <T extends DataObject> T copyOf(T source, Supplier<T> factory) {
+        if (source == null) {
+            return null;
+        }
+        T copy = factory.get();
+        copy.fromJson(source.toJson());
+        return copy;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.profile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.datamodel.enums.SymmetricCipherType;
+import org.omnione.did.base.datamodel.enums.SymmetricPaddingType;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.data.model.profile.ReqE2e;
+import org.omnione.did.data.model.profile.issue.IssueProcess;
+import org.omnione.did.data.model.profile.issue.IssueProfile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry of issue profile templates, built and validated once at startup from the configured profiles.
+ * Requests never see the configured profile objects; they get a fresh instance from the template instead.
+ */
+@Slf4j
+@Component
+public class IssueProfileTemplateRegistry {
+    private final Map<VcPlanId, IssueProfileTemplate> templates;
+
+    public IssueProfileTemplateRegistry(IssueProperty issueProperty) {
+        Map<VcPlanId, IssueProfileTemplate> built = new EnumMap<>(VcPlanId.class);
+        issueProperty.getProfiles().forEach((vcPlanId, profile) -> {
+            validate(vcPlanId, profile);
+            built.put(vcPlanId, new IssueProfileTemplate(vcPlanId, profile));
+        });
+        this.templates = Collections.unmodifiableMap(built);
+        log.info("Loaded issue profile templates: {}", templates.keySet());
+    }
+
+    /**
+     * Returns the template for the given VC plan ID.
+     *
+     * @param vcPlanId The VC plan ID label.
+     * @return The issue profile template.
+     * @throws OpenDidException if no template is registered for the plan.
+     */
+    public IssueProfileTemplate getTemplate(String vcPlanId) {
+        IssueProfileTemplate template = templates.get(VcPlanId.valueOfLabel(vcPlanId));
+        if (template == null) {
+            throw new OpenDidException(ErrorCode.VC_PLAN_ID_INVALID);
+        }
+        return template;
+    }
+
+    /**
+     * Checks that the configured profile has every fixed part the issue profile step relies on.
+     *
+     * @param vcPlanId The VC plan ID of the profile.
+     * @param profile The configured profile.
+     * @throws IllegalStateException if the profile is incomplete or uses an unsupported E2E algorithm.
+     */
+    private void validate(VcPlanId vcPlanId, IssueProfile profile) {
+        if (profile == null || profile.getProfile() == null) {
+            throw new IllegalStateException("Issue profile is missing for " + vcPlanId);
+        }
+        if (profile.getProfile().getIssuer() == null || profile.getProfile().getCredentialSchema() == null) {
+            throw new IllegalStateException("Issuer or credential schema is missing in the issue profile for " + vcPlanId);
+        }
+        IssueProcess process = profile.getProfile().getProcess();
+        if (process == null || process.getEndpoints() == null || process.getEndpoints().isEmpty()) {
+            throw new IllegalStateException("Process endpoints are missing in the issue profile for " + vcPlanId);
+        }
+        ReqE2e reqE2e = process.getReqE2e();
+        if (reqE2e == null) {
+            throw new IllegalStateException("reqE2e is missing in the issue profile for " + vcPlanId);
+        }
+        try {
+            EccCurveType.fromValue(reqE2e.getCurve());
+            SymmetricCipherType.fromDisplayName(reqE2e.getCipher());
+            SymmetricPaddingType.fromDisplayName(reqE2e.getPadding());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid reqE2e in the issue profile for " + vcPlanId + ": " + e.getMessage(), e);
+        }
+    }
+}
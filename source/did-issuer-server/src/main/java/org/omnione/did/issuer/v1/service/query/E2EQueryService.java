@@ -57,4 +57,16 @@ public class E2EQueryService {
         return e2ERepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_INVALID));
     }
+
+    /**
+     * Retrieve the E2E of the transaction with the given txId from the database.
+     *
+     * @param txId the txId of the transaction
+     * @return the E2E of the transaction
+     * @throws OpenDidException if the transaction is invalid
+     */
+    public E2E findByTxId(String txId) {
+        return e2ERepository.findByTxId(txId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_INVALID));
+    }
 }
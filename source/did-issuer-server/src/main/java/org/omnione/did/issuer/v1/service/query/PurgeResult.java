@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Number of rows removed by the purge, per table.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class PurgeResult {
+    public static final PurgeResult EMPTY = new PurgeResult(0, 0, 0, 0, 0);
+
+    private final int transactions;
+    private final int subTransactions;
+    private final int e2es;
+    private final int vcProfiles;
+    private final int vcOffers;
+
+    /**
+     * Adds the rows of another purge to this one.
+     *
+     * @param other the other purge
+     * @return the sum of both purges
+     */
+    public PurgeResult plus(PurgeResult other) {
+        return new PurgeResult(transactions + other.transactions, subTransactions + other.subTransactions,
+                e2es + other.e2es, vcProfiles + other.vcProfiles, vcOffers + other.vcOffers);
+    }
+
+    /**
+     * Returns the number of rows removed from all tables.
+     *
+     * @return the total number of rows
+     */
+    public int total() {
+        return transactions + subTransactions + e2es + vcProfiles + vcOffers;
+    }
+}
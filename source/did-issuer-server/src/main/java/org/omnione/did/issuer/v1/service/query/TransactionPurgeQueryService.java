@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import lombok.RequiredArgsConstructor;
+import org.omnione.did.base.db.repository.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The TransactionPurgeQueryService class provides methods for deleting expired transactions and their rows.
+ * Every method deletes one bounded chunk in its own DB transaction, so locks are held only for that chunk.
+ */
+@RequiredArgsConstructor
+@Service
+public class TransactionPurgeQueryService {
+    private final TransactionRepository transactionRepository;
+    private final SubTransactionRepository subTransactionRepository;
+    private final E2ERepository e2ERepository;
+    private final VcProfileRepository vcProfileRepository;
+    private final VcOfferRepository vcOfferRepository;
+
+    /**
+     * Deletes a chunk of transactions that expired before the cutoff,
+     * together with their sub transactions, E2E, VC profile and offer rows.
+     *
+     * @param cutoff transactions that expired before this time are deleted
+     * @param chunkSize the maximum number of transactions to delete
+     * @return the number of deleted rows per table
+     */
+    @Transactional
+    public PurgeResult purgeExpiredTransactions(Instant cutoff, int chunkSize) {
+        List<Long> ids = transactionRepository.findIdsExpiredBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return PurgeResult.EMPTY;
+        }
+        int subTransactions = subTransactionRepository.deleteByTransactionIds(ids);
+        int e2es = e2ERepository.deleteByTransactionIds(ids);
+        int vcProfiles = vcProfileRepository.deleteByTransactionIds(ids);
+        int vcOffers = vcOfferRepository.deleteByTransactionIds(ids);
+        int transactions = transactionRepository.deleteByIds(ids);
+        return new PurgeResult(transactions, subTransactions, e2es, vcProfiles, vcOffers);
+    }
+
+    /**
+     * Deletes a chunk of offers that never started a transaction and were valid until before the cutoff.
+     *
+     * @param cutoff offers valid until before this time are deleted
+     * @param chunkSize the maximum number of offers to delete
+     * @return the number of deleted rows
+     */
+    @Transactional
+    public PurgeResult purgeUnusedOffers(Instant cutoff, int chunkSize) {
+        List<Long> ids = vcOfferRepository.findUnusedIdsValidUntilBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return PurgeResult.EMPTY;
+        }
+        return new PurgeResult(0, 0, 0, 0, vcOfferRepository.deleteByIds(ids));
+    }
+}
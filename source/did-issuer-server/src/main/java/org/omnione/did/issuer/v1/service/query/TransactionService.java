@@ -22,12 +22,14 @@ import org.omnione.did.base.db.constant.SubTransactionType;
 import org.omnione.did.base.db.constant.TransactionStatus;
 import org.omnione.did.base.db.domain.SubTransaction;
 import org.omnione.did.base.db.domain.Transaction;
+import org.omnione.did.base.db.projection.IssueVcWorkingSet;
 import org.omnione.did.base.db.repository.SubTransactionRepository;
 import org.omnione.did.base.db.repository.TransactionRepository;
 import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.omnione.did.base.util.ValidationUtil;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  *
@@ -54,16 +56,23 @@ public class TransactionService {
     }
 
     /**
-     * Inserts a new transaction into the repository.
+     * Inserts a new transaction into the repository together with its first sub-transaction.
+     * The first step is set on the transaction before it is written, so no update follows the insert.
      *
      * @param transaction Transaction to be saved.
+     * @param firstStep   First sub-transaction of the transaction.
      * @return Saved transaction.
      */
-    public Transaction insertTransaction(Transaction transaction) {
-        /**
-         * The save method is called on the transactionRepository object to save the transaction to the database.
-         */
-        return transactionRepository.save(transaction);
+    @Transactional
+    public Transaction insertTransaction(Transaction transaction, SubTransaction firstStep) {
+        transaction.setCurrentStep(firstStep.getStep());
+        transaction.setCurrentStepType(firstStep.getType());
+        transaction.setCurrentStepStatus(firstStep.getStatus());
+        Transaction saved = transactionRepository.save(transaction);
+
+        firstStep.setTransactionId(saved.getId());
+        subTransactionRepository.save(firstStep);
+        return saved;
     }
 
 
@@ -80,14 +89,23 @@ public class TransactionService {
     }
 
     /**
-     * Inserts a new sub-transaction into the repository.
+     * Inserts a new sub-transaction into the repository and records it as the current step of the transaction.
+     * The sub_transaction table is the append-only history; the transaction row holds the current step.
      *
+     * @param transaction    Transaction the step belongs to.
      * @param subTransaction Sub-transaction to be saved.
      * @return Saved sub-transaction.
      */
-    public SubTransaction insertSubTransaction(SubTransaction subTransaction) {
-
-        return subTransactionRepository.save(subTransaction);
+    @Transactional
+    public SubTransaction insertSubTransaction(Transaction transaction, SubTransaction subTransaction) {
+        subTransaction.setTransactionId(transaction.getId());
+        SubTransaction saved = subTransactionRepository.save(subTransaction);
+
+        transaction.setCurrentStep(saved.getStep());
+        transaction.setCurrentStepType(saved.getType());
+        transaction.setCurrentStepStatus(saved.getStatus());
+        transactionRepository.save(transaction);
+        return saved;
     }
 
     /**
@@ -133,14 +151,74 @@ public class TransactionService {
             throw new OpenDidException(ErrorCode.TRANSACTION_INVALID);
         }
 
-        SubTransaction subTransaction = findByTransactionIdOrderByStepDesc(transaction.getId());
-        if (!(subTransaction.getType() == type)
-                || !SubTransactionStatus.COMPLETED.equals(subTransaction.getStatus())) {
+        if (!(transaction.getCurrentStepType() == type)
+                || !SubTransactionStatus.COMPLETED.equals(transaction.getCurrentStepStatus())) {
             updateTransactionStatus(transaction, TransactionStatus.FAILED);
             throw new OpenDidException(ErrorCode.TRANSACTION_INVALID);
         }
     }
 
+    /**
+     * Loads the working set of the issue VC step: the transaction, the user found by ID and the user's VC of the plan.
+     *
+     * @param txId   Transaction ID.
+     * @param userId User ID.
+     * @return Working set of the step.
+     * @throws OpenDidException if the transaction is not found.
+     */
+    public IssueVcWorkingSet findIssueVcWorkingSetByUserId(String txId, Long userId) {
+        return transactionRepository.findIssueVcWorkingSetByUserId(txId, userId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * Loads the working set of the issue VC step: the transaction, the user found by DID and the user's VC of the plan.
+     *
+     * @param txId Transaction ID.
+     * @param did  DID of the user.
+     * @return Working set of the step.
+     * @throws OpenDidException if the transaction is not found.
+     */
+    public IssueVcWorkingSet findIssueVcWorkingSetByDid(String txId, String did) {
+        return transactionRepository.findIssueVcWorkingSetByDid(txId, did)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_NOT_FOUND));
+    }
+
+    /**
+     * Loads the working set of the issue VC step together with the issuance session kept in the database:
+     * the transaction, its VC profile and E2E, the user referenced by the VC profile and the user's VC of the plan.
+     *
+     * @param txId Transaction ID.
+     * @return Working set of the step.
+     * @throws OpenDidException if the transaction is not found.
+     * @throws OpenDidException if the transaction has no session.
+     */
+    public IssueVcWorkingSet findIssueVcSessionWorkingSetByUserId(String txId) {
+        return requireSession(transactionRepository.findIssueVcSessionWorkingSetByUserId(txId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    /**
+     * Loads the working set of the issue VC step together with the issuance session kept in the database:
+     * the transaction, its VC profile and E2E, the user found by the DID of the VC profile and the user's VC of the plan.
+     *
+     * @param txId Transaction ID.
+     * @return Working set of the step.
+     * @throws OpenDidException if the transaction is not found.
+     * @throws OpenDidException if the transaction has no session.
+     */
+    public IssueVcWorkingSet findIssueVcSessionWorkingSetByDid(String txId) {
+        return requireSession(transactionRepository.findIssueVcSessionWorkingSetByDid(txId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_NOT_FOUND)));
+    }
+
+    private IssueVcWorkingSet requireSession(IssueVcWorkingSet workingSet) {
+        if (workingSet.getVcProfile() == null || workingSet.getE2e() == null) {
+            throw new OpenDidException(ErrorCode.TRANSACTION_INVALID);
+        }
+        return workingSet;
+    }
+
     public Transaction findById(Long id) {
         return transactionRepository.findById(id)
                 .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_NOT_FOUND));
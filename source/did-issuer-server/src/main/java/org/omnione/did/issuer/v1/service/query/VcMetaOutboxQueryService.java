@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service.query;
+
+import lombok.RequiredArgsConstructor;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.omnione.did.base.db.repository.VcMetaOutboxRepository;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The VcMetaOutboxQueryService class provides methods for saving and retrieving VC meta outbox entries.
+ * Entries are written in the same DB transaction as the issued VC and dispatched to the storage later.
+ */
+@RequiredArgsConstructor
+@Service
+public class VcMetaOutboxQueryService {
+    private static final List<VcMetaOutboxStatus> OUTSTANDING = List.of(VcMetaOutboxStatus.PENDING, VcMetaOutboxStatus.IN_FLIGHT);
+
+    private final VcMetaOutboxRepository vcMetaOutboxRepository;
+
+    /**
+     * Adds a pending entry to the outbox.
+     *
+     * @param vcId the ID of the VC
+     * @param operation the operation to dispatch
+     * @param payload the serialized payload of the operation
+     * @return the saved entry
+     */
+    public VcMetaOutbox enqueue(String vcId, VcMetaOutboxOperation operation, String payload) {
+        return vcMetaOutboxRepository.save(VcMetaOutbox.builder()
+                .vcId(vcId)
+                .operation(operation)
+                .payload(payload)
+                .status(VcMetaOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Claims the entries that are due for dispatch: pending entries whose next attempt is due,
+     * and in-flight entries whose lease has expired because their dispatcher stopped.
+     * An entry that has an earlier pending or in-flight entry of the same VC is postponed instead,
+     * so the operations of a VC are applied in the order they were written. Earlier failed entries do not block.
+     * Claimed entries are marked in flight and leased by pushing their next attempt time forward,
+     * and the attempt is counted, so another dispatcher does not pick them up while they are sent.
+     *
+     * @param batchSize the maximum number of entries to claim
+     * @param lease the lease duration
+     * @param deferDelay how long a postponed entry waits before it is claimed again
+     * @return the claimed entries that can be sent, oldest first
+     */
+    @Transactional
+    public List<VcMetaOutbox> claimDue(int batchSize, Duration lease, Duration deferDelay) {
+        Instant now = Instant.now();
+        List<VcMetaOutbox> entries = vcMetaOutboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OUTSTANDING, now, PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return entries;
+        }
+
+        Map<String, Long> firstOutstandingIds = new HashMap<>();
+        for (Object[] row : vcMetaOutboxRepository.findFirstIdByVcIdInAndStatusIn(
+                entries.stream().map(VcMetaOutbox::getVcId).collect(Collectors.toSet()), OUTSTANDING)) {
+            firstOutstandingIds.put((String) row[0], (Long) row[1]);
+        }
+
+        List<VcMetaOutbox> claimed = new ArrayList<>(entries.size());
+        for (VcMetaOutbox entry : entries) {
+            Long firstOutstandingId = firstOutstandingIds.get(entry.getVcId());
+            if (firstOutstandingId != null && firstOutstandingId < entry.getId()) {
+                entry.setStatus(VcMetaOutboxStatus.PENDING);
+                entry.setNextAttemptAt(now.plus(deferDelay));
+            } else {
+                entry.setStatus(VcMetaOutboxStatus.IN_FLIGHT);
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(lease));
+                claimed.add(entry);
+            }
+        }
+        vcMetaOutboxRepository.saveAll(entries);
+
+        return claimed;
+    }
+
+    /**
+     * Retrieve the latest outbox entry for the given VC ID.
+     *
+     * @param vcId the ID of the VC
+     * @return the latest entry for the VC
+     * @throws OpenDidException if the entry cannot be found
+     */
+    public VcMetaOutbox findLatestByVcId(String vcId) {
+        return vcMetaOutboxRepository.findFirstByVcIdOrderByIdDesc(vcId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.VC_META_REGISTRATION_NOT_FOUND));
+    }
+
+    /**
+     * Retrieve a page of the entries of an operation with the given status, oldest first.
+     *
+     * @param operation the operation
+     * @param status the status
+     * @param page the page number, starting at 0
+     * @param size the page size
+     * @return the entries of the page
+     */
+    public List<VcMetaOutbox> findByOperationAndStatus(VcMetaOutboxOperation operation, VcMetaOutboxStatus status,
+                                                       int page, int size) {
+        return vcMetaOutboxRepository.findByOperationAndStatusOrderByIdAsc(operation, status, PageRequest.of(page, size));
+    }
+
+    /**
+     * Count the entries of an operation with the given status.
+     *
+     * @param operation the operation
+     * @param status the status
+     * @return the number of entries
+     */
+    public long countByOperationAndStatus(VcMetaOutboxOperation operation, VcMetaOutboxStatus status) {
+        return vcMetaOutboxRepository.countByOperationAndStatus(operation, status);
+    }
+
+    /**
+     * Save the given entries to the database in one transaction.
+     *
+     * @param entries the entries to save
+     */
+    @Transactional
+    public void saveAll(List<VcMetaOutbox> entries) {
+        vcMetaOutboxRepository.saveAll(entries);
+    }
+
+    /**
+     * Save the given entry to the database.
+     *
+     * @param entry the entry to save
+     * @return the saved entry
+     */
+    public VcMetaOutbox save(VcMetaOutbox entry) {
+        return vcMetaOutboxRepository.save(entry);
+    }
+}
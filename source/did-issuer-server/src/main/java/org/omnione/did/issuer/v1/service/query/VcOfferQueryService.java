@@ -23,6 +23,8 @@ import org.omnione.did.base.exception.ErrorCode;
 import org.omnione.did.base.exception.OpenDidException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 /**
  * The VcOfferQueryService class provides methods for saving and retrieving VcOffers.
  * It is designed to facilitate the storage and retrieval of VcOffers, ensuring that the data is accurate and up-to-date.
@@ -53,4 +55,15 @@ public class VcOfferQueryService {
         return vcOfferRepository.findByOfferId(offerId)
                 .orElseThrow(() -> new OpenDidException(ErrorCode.VC_OFFER_NOT_FOUND));
     }
+
+    /**
+     * Retrieve the VcOffer that started the given transaction from the database.
+     * Issuances can start without an offer, so the result may be empty.
+     *
+     * @param transactionId the ID of the transaction
+     * @return the VcOffer that started the transaction, or an empty Optional if there is none
+     */
+    public Optional<VcOffer> findByTransactionId(Long transactionId) {
+        return vcOfferRepository.findByTransactionId(transactionId);
+    }
 }
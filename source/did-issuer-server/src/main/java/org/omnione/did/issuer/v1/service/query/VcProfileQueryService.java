@@ -55,4 +55,16 @@ public class VcProfileQueryService {
         return vcProfileRepository.findByTransactionId(id)
                 .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_INVALID));
     }
+
+    /**
+     * Retrieve the VC profile of the transaction with the given txId from the database.
+     *
+     * @param txId the txId of the transaction
+     * @return the VC profile of the transaction
+     * @throws OpenDidException if the transaction is invalid
+     */
+    public VcProfile findByTxId(String txId) {
+        return vcProfileRepository.findByTxId(txId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.TRANSACTION_INVALID));
+    }
 }
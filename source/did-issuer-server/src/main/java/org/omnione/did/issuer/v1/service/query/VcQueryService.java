@@ -42,10 +42,20 @@ public class VcQueryService {
      * @throws OpenDidException if the VC cannot be retrieved
      */
     public Vc findByVcId(String vcId) {
-        return vcRepository.findByVcId(vcRepository)
+        return vcRepository.findByVcId(vcId)
                 .orElseThrow(() -> new OpenDidException(ErrorCode.VC_NOT_FOUND));
     }
 
+    /**
+     * Retrieve the VC with the given ID from the database, if it exists.
+     *
+     * @param vcId the ID of the VC to retrieve
+     * @return the VC with the given ID
+     */
+    public Optional<Vc> findOptionalByVcId(String vcId) {
+        return vcRepository.findByVcId(vcId);
+    }
+
     /**
      * Save the given VC to the database.
      *
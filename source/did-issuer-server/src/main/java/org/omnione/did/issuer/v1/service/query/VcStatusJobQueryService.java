@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import lombok.RequiredArgsConstructor;
+import org.omnione.did.base.db.constant.VcStatusJobItemResult;
+import org.omnione.did.base.db.constant.VcStatusJobStatus;
+import org.omnione.did.base.db.domain.VcStatusJob;
+import org.omnione.did.base.db.domain.VcStatusJobItem;
+import org.omnione.did.base.db.repository.VcStatusJobItemRepository;
+import org.omnione.did.base.db.repository.VcStatusJobRepository;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.util.RandomUtil;
+import org.omnione.did.issuer.v1.dto.vc.UpdateVcStatusReqDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The VcStatusJobQueryService class provides methods for saving and retrieving bulk VC status jobs and their items.
+ */
+@RequiredArgsConstructor
+@Service
+public class VcStatusJobQueryService {
+    private final VcStatusJobRepository vcStatusJobRepository;
+    private final VcStatusJobItemRepository vcStatusJobItemRepository;
+
+    /**
+     * Adds items to a job, creating the job when no job ID is given.
+     * Items are written in chunks as they are read, and the whole submission is rolled back
+     * if an item is invalid or the job would exceed the maximum number of items.
+     *
+     * @param jobId the ID of the job to add to, or null to create a new job
+     * @param items the vcId/status pairs to add
+     * @param chunkSize the number of items written per batch
+     * @param maxItems the maximum number of items of a job
+     * @return the job, marked as processing
+     * @throws OpenDidException if the job does not exist, an item is invalid or there are too many items
+     */
+    @Transactional
+    public VcStatusJob appendItems(String jobId, Iterator<UpdateVcStatusReqDto> items, int chunkSize, int maxItems) {
+        VcStatusJob job = jobId == null
+                ? vcStatusJobRepository.save(VcStatusJob.builder()
+                        .jobId(RandomUtil.generateUUID())
+                        .status(VcStatusJobStatus.PROCESSING)
+                        .build())
+                : findByJobId(jobId);
+
+        int seq = vcStatusJobItemRepository.findMaxSeqByJobId(job.getId());
+        List<VcStatusJobItem> chunk = new ArrayList<>(chunkSize);
+        while (items.hasNext()) {
+            UpdateVcStatusReqDto item = items.next();
+            if (Objects.isNull(item) || Objects.isNull(item.getVcId()) || Objects.isNull(item.getVcStatus())) {
+                throw new OpenDidException(ErrorCode.REQUEST_BODY_UNREADABLE);
+            }
+            if (++seq > maxItems) {
+                throw new OpenDidException(ErrorCode.VC_STATUS_BULK_TOO_LARGE);
+            }
+            chunk.add(VcStatusJobItem.builder()
+                    .jobId(job.getId())
+                    .seq(seq)
+                    .vcId(item.getVcId())
+                    .vcStatus(item.getVcStatus())
+                    .result(VcStatusJobItemResult.PENDING)
+                    .build());
+            if (chunk.size() >= chunkSize) {
+                vcStatusJobItemRepository.saveAll(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        vcStatusJobItemRepository.saveAll(chunk);
+
+        job.setStatus(VcStatusJobStatus.PROCESSING);
+        return vcStatusJobRepository.save(job);
+    }
+
+    /**
+     * Retrieve a job by its job ID.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws OpenDidException if the job cannot be found
+     */
+    public VcStatusJob findByJobId(String jobId) {
+        return vcStatusJobRepository.findByJobId(jobId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.VC_STATUS_JOB_NOT_FOUND));
+    }
+
+    /**
+     * Retrieve the next pending items of a job, in submission order.
+     *
+     * @param job the job
+     * @param limit the maximum number of items to return
+     * @return the pending items
+     */
+    public List<VcStatusJobItem> findPendingItems(VcStatusJob job, int limit) {
+        return vcStatusJobItemRepository.findByJobIdAndResultOrderBySeqAsc(job.getId(),
+                VcStatusJobItemResult.PENDING, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Retrieve a page of the items of a job, in submission order.
+     *
+     * @param job the job
+     * @param page the page number, starting at 0
+     * @param size the page size
+     * @return the items of the page
+     */
+    public List<VcStatusJobItem> findItems(VcStatusJob job, int page, int size) {
+        return vcStatusJobItemRepository.findByJobIdOrderBySeqAsc(job.getId(), PageRequest.of(page, size));
+    }
+
+    /**
+     * Count the items of a job per result.
+     *
+     * @param job the job
+     * @return the number of items per result
+     */
+    public Map<VcStatusJobItemResult, Long> countItems(VcStatusJob job) {
+        Map<VcStatusJobItemResult, Long> counts = new EnumMap<>(VcStatusJobItemResult.class);
+        for (VcStatusJobItemResult result : VcStatusJobItemResult.values()) {
+            counts.put(result, 0L);
+        }
+        for (Object[] row : vcStatusJobItemRepository.countByJobIdGroupByResult(job.getId())) {
+            counts.put((VcStatusJobItemResult) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Save the results of processed items in one transaction.
+     *
+     * @param items the processed items
+     */
+    @Transactional
+    public void saveItems(List<VcStatusJobItem> items) {
+        vcStatusJobItemRepository.saveAll(items);
+    }
+
+    /**
+     * Retrieve the processing jobs whose lease is free or has expired, i.e. jobs no node is working on.
+     *
+     * @param limit the maximum number of jobs to return
+     * @return the jobs
+     */
+    public List<VcStatusJob> findUnleasedJobs(int limit) {
+        return vcStatusJobRepository.findUnleased(VcStatusJobStatus.PROCESSING, Instant.now(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * Take the lease on a processing job, so that no other node processes it until the lease expires.
+     *
+     * @param job the job
+     * @param owner the node taking the lease
+     * @param lease how long the lease is held
+     * @return true if the lease was taken, false if another node holds it or the job is not processing
+     */
+    @Transactional
+    public boolean claimLease(VcStatusJob job, String owner, Duration lease) {
+        Instant now = Instant.now();
+        return vcStatusJobRepository.claimLease(job.getId(), VcStatusJobStatus.PROCESSING, owner, now,
+                now.plus(lease)) > 0;
+    }
+
+    /**
+     * Extend the lease on a job.
+     *
+     * @param job the job
+     * @param owner the node holding the lease
+     * @param lease how long the lease is held from now
+     * @return true if the lease was extended, false if another node has taken it over
+     */
+    @Transactional
+    public boolean renewLease(VcStatusJob job, String owner, Duration lease) {
+        return vcStatusJobRepository.renewLease(job.getId(), owner, Instant.now().plus(lease)) > 0;
+    }
+
+    /**
+     * Free the lease on a job, so that it can be taken over without waiting for the lease to expire.
+     *
+     * @param job the job
+     * @param owner the node holding the lease
+     */
+    @Transactional
+    public void releaseLease(VcStatusJob job, String owner) {
+        vcStatusJobRepository.releaseLease(job.getId(), owner);
+    }
+
+    /**
+     * Mark a job as completed and free its lease, unless items were added to it in the meantime.
+     *
+     * @param job the job
+     * @param owner the node holding the lease
+     * @return true if the job was completed, false if it still has pending items or another node holds the lease
+     */
+    @Transactional
+    public boolean complete(VcStatusJob job, String owner) {
+        boolean completed = vcStatusJobRepository.complete(job.getId(), owner, VcStatusJobStatus.COMPLETED,
+                VcStatusJobItemResult.PENDING, Instant.now()) > 0;
+        if (completed) {
+            job.setStatus(VcStatusJobStatus.COMPLETED);
+        }
+        return completed;
+    }
+
+    /**
+     * Save the given job to the database.
+     *
+     * @param job the job to save
+     * @return the saved job
+     */
+    @Transactional
+    public VcStatusJob save(VcStatusJob job) {
+        return vcStatusJobRepository.save(job);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import lombok.RequiredArgsConstructor;
+import org.omnione.did.base.db.domain.VcStatusList;
+import org.omnione.did.base.db.repository.VcStatusListRepository;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.util.StatusListUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+
+/**
+ * The VcStatusListQueryService class provides methods for allocating indexes in and updating VC status lists.
+ * Both lock the status list row, so that several nodes can share a list, and run in their own transaction,
+ * so that the lock is not held until the end of a surrounding issuance or revocation.
+ */
+@RequiredArgsConstructor
+@Service
+public class VcStatusListQueryService {
+    private final VcStatusListRepository vcStatusListRepository;
+
+    /**
+     * Reserves consecutive indexes in the status list of a VC plan, creating the list if needed.
+     * The list grows by doubling its capacity when the indexes do not fit.
+     *
+     * @param vcPlanId the ID of the VC plan
+     * @param count the number of indexes to reserve
+     * @param initialCapacity the capacity of a new list
+     * @return the first reserved index
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int allocate(String vcPlanId, int count, int initialCapacity) {
+        VcStatusList statusList = vcStatusListRepository.findForUpdateByVcPlanId(vcPlanId)
+                .orElseGet(() -> VcStatusList.builder()
+                        .vcPlanId(vcPlanId)
+                        .statusSize(StatusListUtil.STATUS_SIZE)
+                        .capacity(initialCapacity)
+                        .nextIndex(0)
+                        .bits(new byte[StatusListUtil.byteLength(initialCapacity, StatusListUtil.STATUS_SIZE)])
+                        .version(0L)
+                        .build());
+
+        int first = statusList.getNextIndex();
+        int next = first + count;
+        if (next > statusList.getCapacity()) {
+            int capacity = statusList.getCapacity();
+            while (capacity < next) {
+                capacity *= 2;
+            }
+            statusList.setBits(Arrays.copyOf(statusList.getBits(),
+                    StatusListUtil.byteLength(capacity, statusList.getStatusSize())));
+            statusList.setCapacity(capacity);
+            statusList.setVersion(statusList.getVersion() + 1);
+        }
+        statusList.setNextIndex(next);
+        vcStatusListRepository.save(statusList);
+        return first;
+    }
+
+    /**
+     * Writes the status of an entry of the status list of a VC plan.
+     * A revoked entry keeps its status.
+     *
+     * @param vcPlanId the ID of the VC plan
+     * @param index the index of the entry
+     * @param value the status list value of the new status
+     * @return true if the entry changed
+     * @throws OpenDidException if the list or the index does not exist
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean setStatus(String vcPlanId, int index, int value) {
+        VcStatusList statusList = vcStatusListRepository.findForUpdateByVcPlanId(vcPlanId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.VC_STATUS_LIST_NOT_FOUND));
+        if (index < 0 || index >= statusList.getNextIndex()) {
+            throw new OpenDidException(ErrorCode.VC_STATUS_LIST_NOT_FOUND);
+        }
+
+        byte[] bits = statusList.getBits();
+        int current = StatusListUtil.read(bits, statusList.getStatusSize(), index);
+        if (current == value || current == StatusListUtil.REVOKED) {
+            return false;
+        }
+        bits = bits.clone();
+        StatusListUtil.write(bits, statusList.getStatusSize(), index, value);
+        statusList.setBits(bits);
+        statusList.setVersion(statusList.getVersion() + 1);
+        vcStatusListRepository.save(statusList);
+        return true;
+    }
+
+    /**
+     * Retrieve the status list of a VC plan.
+     *
+     * @param vcPlanId the ID of the VC plan
+     * @return the status list
+     * @throws OpenDidException if the list does not exist
+     */
+    @Transactional(readOnly = true)
+    public VcStatusList findByVcPlanId(String vcPlanId) {
+        return vcStatusListRepository.findByVcPlanId(vcPlanId)
+                .orElseThrow(() -> new OpenDidException(ErrorCode.VC_STATUS_LIST_NOT_FOUND));
+    }
+}
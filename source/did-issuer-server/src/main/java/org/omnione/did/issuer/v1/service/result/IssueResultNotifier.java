@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.result;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.property.IssueResultProperty;
+import org.omnione.did.issuer.v1.dto.vc.IssueVcResultResDto;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Parks issue result requests until the issuance of their offer completes.
+ * A parked request is answered as soon as the completion is notified, or with the current result when it times out,
+ * so front-ends wait on the server instead of polling the database.
+ */
+@Slf4j
+@Component
+public class IssueResultNotifier {
+    private final IssueResultProperty issueResultProperty;
+    private final Map<String, Set<DeferredResult<IssueVcResultResDto>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger parked = new AtomicInteger();
+
+    public IssueResultNotifier(IssueResultProperty issueResultProperty, MeterRegistry meterRegistry) {
+        this.issueResultProperty = issueResultProperty;
+        Gauge.builder("issuer.issue-result.waiters", parked, AtomicInteger::get)
+                .description("Issue result requests waiting for their issuance to complete")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for the issuance of an offer to complete.
+     * The current result is read once when the request arrives and once when it times out.
+     * When too many requests are already waiting, the current result is returned right away.
+     *
+     * @param offerId the ID of the offer
+     * @param currentResult reads the current result of the offer
+     * @return the result, set when the issuance completes or the wait times out
+     */
+    public DeferredResult<IssueVcResultResDto> await(String offerId, Supplier<IssueVcResultResDto> currentResult) {
+        DeferredResult<IssueVcResultResDto> deferredResult =
+                new DeferredResult<>(issueResultProperty.getTimeout().toMillis());
+        if (parked.incrementAndGet() > issueResultProperty.getMaxWaiters()) {
+            parked.decrementAndGet();
+            setCurrentResult(deferredResult, currentResult);
+            return deferredResult;
+        }
+
+        waiters.computeIfAbsent(offerId, key -> ConcurrentHashMap.newKeySet()).add(deferredResult);
+        deferredResult.onCompletion(() -> remove(offerId, deferredResult));
+        deferredResult.onTimeout(() -> setCurrentResult(deferredResult, currentResult));
+
+        // Registered before reading, so a completion between the read and the park is not missed.
+        IssueVcResultResDto result = readCurrentResult(deferredResult, currentResult);
+        if (result != null && Boolean.TRUE.equals(result.getResult())) {
+            deferredResult.setResult(result);
+        }
+        return deferredResult;
+    }
+
+    /**
+     * Answers the requests waiting for an offer.
+     *
+     * @param offerId the ID of the offer
+     * @param txId the ID of the completed transaction
+     */
+    public void notifyCompleted(String offerId, String txId) {
+        Set<DeferredResult<IssueVcResultResDto>> offerWaiters = waiters.remove(offerId);
+        if (offerWaiters == null) {
+            return;
+        }
+        log.debug("Issuance of offer {} completed, answering {} waiting requests", offerId, offerWaiters.size());
+        IssueVcResultResDto result = IssueVcResultResDto.builder()
+                .txId(txId)
+                .offerId(offerId)
+                .result(true)
+                .build();
+        offerWaiters.forEach(deferredResult -> deferredResult.setResult(result));
+    }
+
+    private void setCurrentResult(DeferredResult<IssueVcResultResDto> deferredResult,
+                                  Supplier<IssueVcResultResDto> currentResult) {
+        IssueVcResultResDto result = readCurrentResult(deferredResult, currentResult);
+        if (result != null) {
+            deferredResult.setResult(result);
+        }
+    }
+
+    private IssueVcResultResDto readCurrentResult(DeferredResult<IssueVcResultResDto> deferredResult,
+                                                  Supplier<IssueVcResultResDto> currentResult) {
+        try {
+            return currentResult.get();
+        } catch (Exception e) {
+            deferredResult.setErrorResult(e);
+            return null;
+        }
+    }
+
+    private void remove(String offerId, DeferredResult<IssueVcResultResDto> deferredResult) {
+        parked.decrementAndGet();
+        waiters.computeIfPresent(offerId, (key, offerWaiters) -> {
+            offerWaiters.remove(deferredResult);
+            return offerWaiters.isEmpty() ? null : offerWaiters;
+        });
+    }
+}
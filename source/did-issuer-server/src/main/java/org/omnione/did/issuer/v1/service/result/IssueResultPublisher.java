@@ -0,0 +1,32 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.result;
+
+/**
+ * Publishes the completion of an issuance to the requests waiting for its result.
+ */
+public interface IssueResultPublisher {
+    /**
+     * Publishes that the issuance of an offer has completed.
+     * Called after the completion is committed; failures are logged and not thrown.
+     *
+     * @param offerId the ID of the offer
+     * @param txId    the ID of the completed transaction
+     */
+    void publish(String offerId, String txId);
+}
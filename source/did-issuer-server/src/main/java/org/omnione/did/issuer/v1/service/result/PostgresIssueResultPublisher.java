@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.result;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.property.IssueResultProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * IssueResultPublisher that relays completions between nodes with Postgres LISTEN/NOTIFY.
+ * Completions are answered locally right away and sent on the configured channel;
+ * a listener thread answers the completions sent by the other nodes. The listener keeps its own
+ * connection open for as long as it runs, so it takes it from a separate, non-pooled data source
+ * instead of holding one of the application's pooled connections.
+ * The channel must be a lower-case Postgres identifier, since it is used in the LISTEN statement.
+ */
+@Slf4j
+public class PostgresIssueResultPublisher implements IssueResultPublisher {
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSource listenerDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final IssueResultNotifier issueResultNotifier;
+    private final IssueResultProperty issueResultProperty;
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * Creates the publisher.
+     *
+     * @param dataSource The pooled data source used to send notifications.
+     * @param listenerDataSource The non-pooled data source the listener takes its connection from.
+     * @param issueResultNotifier The notifier holding the waiting requests of this node.
+     * @param issueResultProperty The issue result properties.
+     * @throws IllegalArgumentException if the channel is not a lower-case Postgres identifier.
+     */
+    public PostgresIssueResultPublisher(DataSource dataSource, DataSource listenerDataSource,
+                                        IssueResultNotifier issueResultNotifier, IssueResultProperty issueResultProperty) {
+        if (!CHANNEL_PATTERN.matcher(issueResultProperty.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid issue result channel: " + issueResultProperty.getChannel());
+        }
+        this.listenerDataSource = listenerDataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.issueResultNotifier = issueResultNotifier;
+        this.issueResultProperty = issueResultProperty;
+    }
+
+    /**
+     * Starts the listener thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "issue-result-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Stops the listener thread.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(String offerId, String txId) {
+        issueResultNotifier.notifyCompleted(offerId, txId);
+        try {
+            jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class,
+                    issueResultProperty.getChannel(), offerId + " " + txId);
+        } catch (Exception e) {
+            log.warn("Failed to notify the completion of offer {}: {}", offerId, e.getMessage());
+        }
+    }
+
+    /**
+     * Listens on the channel until stopped, reconnecting after a failure.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN \"" + issueResultProperty.getChannel() + "\"");
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for issue results on channel {}", issueResultProperty.getChannel());
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications((int) issueResultProperty.getListenInterval().toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Issue result listener failed, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(issueResultProperty.getReconnectDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String[] parts = payload.split(" ", 2);
+        if (parts.length == 2) {
+            issueResultNotifier.notifyCompleted(parts[0], parts[1]);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.omnione.did.base.db.domain.E2E;
+import org.omnione.did.base.db.domain.VcProfile;
+
+/**
+ * State of an issuance that bridges generateIssueProfile and issueVc:
+ * the VC profile handed to the holder and the E2E session of the issuer.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class IssueSession {
+    private final VcProfile vcProfile;
+    private final E2E e2e;
+}
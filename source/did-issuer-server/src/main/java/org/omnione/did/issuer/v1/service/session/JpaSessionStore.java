@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.session;
+
+import lombok.RequiredArgsConstructor;
+import org.omnione.did.issuer.v1.service.query.E2EQueryService;
+import org.omnione.did.issuer.v1.service.query.VcProfileQueryService;
+
+/**
+ * SessionStore that keeps sessions in the e2e and vc_profile tables.
+ * Sessions survive restarts and are shared between nodes. The rows are kept after the issuance.
+ */
+@RequiredArgsConstructor
+public class JpaSessionStore implements SessionStore {
+    private final VcProfileQueryService vcProfileQueryService;
+    private final E2EQueryService e2EQueryService;
+
+    @Override
+    public void save(String txId, IssueSession session) {
+        vcProfileQueryService.save(session.getVcProfile());
+        e2EQueryService.save(session.getE2e());
+    }
+
+    @Override
+    public IssueSession find(String txId) {
+        return IssueSession.builder()
+                .vcProfile(vcProfileQueryService.findByTxId(txId))
+                .e2e(e2EQueryService.findByTxId(txId))
+                .build();
+    }
+
+    @Override
+    public void remove(String txId) {
+    }
+
+    @Override
+    public boolean isStoredInDatabase() {
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.SessionStoreProperty;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * SessionStore that keeps sessions in memory.
+ * Sessions expire after the configured TTL and the store is bounded in size, so nothing is written to the database.
+ * Sessions are lost on restart and are not shared between nodes; use the JPA store for multi-node deployments.
+ * Size and evictions are published through Micrometer under the "issue-session" cache name.
+ */
+public class MemorySessionStore implements SessionStore {
+    private final Cache<String, IssueSession> sessions;
+
+    public MemorySessionStore(SessionStoreProperty property, MeterRegistry meterRegistry) {
+        this(property, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    MemorySessionStore(SessionStoreProperty property, MeterRegistry meterRegistry, Ticker ticker, Executor executor) {
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(property.getTtl())
+                .maximumSize(property.getMaxSize())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "issue-session");
+    }
+
+    @Override
+    public void save(String txId, IssueSession session) {
+        sessions.put(txId, session);
+    }
+
+    @Override
+    public IssueSession find(String txId) {
+        IssueSession session = sessions.getIfPresent(txId);
+        if (session == null) {
+            throw new OpenDidException(ErrorCode.TRANSACTION_INVALID);
+        }
+        return session;
+    }
+
+    @Override
+    public void remove(String txId) {
+        sessions.invalidate(txId);
+    }
+}
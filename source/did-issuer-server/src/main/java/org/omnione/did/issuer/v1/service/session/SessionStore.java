@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.session;
+
+import org.omnione.did.base.exception.OpenDidException;
+
+/**
+ * Stores the short-lived issuance session of a transaction between the profile generation and the VC issuance.
+ */
+public interface SessionStore {
+    /**
+     * Saves the session of a transaction.
+     *
+     * @param txId    Transaction ID.
+     * @param session Session to save.
+     */
+    void save(String txId, IssueSession session);
+
+    /**
+     * Finds the session of a transaction.
+     *
+     * @param txId Transaction ID.
+     * @return Found session.
+     * @throws OpenDidException if there is no session for the transaction.
+     */
+    IssueSession find(String txId);
+
+    /**
+     * Removes the session of a transaction once it is no longer needed.
+     *
+     * @param txId Transaction ID.
+     */
+    void remove(String txId);
+
+    /**
+     * Tells whether sessions are kept in the vc_profile and e2e tables,
+     * so that they can be read in the same query as the other rows of the issuance.
+     *
+     * @return true if sessions are kept in the database.
+     */
+    default boolean isStoredInDatabase() {
+        return false;
+    }
+}
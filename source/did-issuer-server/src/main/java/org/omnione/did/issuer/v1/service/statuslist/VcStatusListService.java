@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.statuslist;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.db.domain.Vc;
+import org.omnione.did.base.db.domain.VcStatusList;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.base.property.VcStatusListProperty;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.base.util.StatusListUtil;
+import org.omnione.did.common.util.DateTimeUtil;
+import org.omnione.did.common.util.JsonUtil;
+import org.omnione.did.data.model.did.Proof;
+import org.omnione.did.data.model.enums.did.ProofPurpose;
+import org.omnione.did.data.model.enums.did.ProofType;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.issuer.v1.dto.vc.StatusListIndexResDto;
+import org.omnione.did.issuer.v1.dto.vc.StatusListMessageDto;
+import org.omnione.did.issuer.v1.dto.vc.StatusListResDto;
+import org.omnione.did.issuer.v1.service.FileWalletService;
+import org.omnione.did.issuer.v1.service.query.VcQueryService;
+import org.omnione.did.issuer.v1.service.query.VcStatusListQueryService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for the status lists of issued VCs.
+ * Each VC plan has one compressed bitstring status list, and every VC issued for the plan gets an index in it.
+ * Verifiers download the signed list once, instead of looking up the VC meta of every VC they verify.
+ * Indexes are reserved from the database in blocks, so issuance rarely waits for the list row lock.
+ * A status write rewrites the whole list under the row lock, so the status writes of a plan are serialized.
+ * Signed lists are cached for max-age and dropped when a status of the list changes on this node.
+ */
+@Slf4j
+@Service
+public class VcStatusListService {
+    static final String STATUS_PURPOSE = "message";
+
+    private final VcStatusListQueryService vcStatusListQueryService;
+    private final VcQueryService vcQueryService;
+    private final FileWalletService walletService;
+    private final IssueProperty issueProperty;
+    private final VcStatusListProperty vcStatusListProperty;
+
+    private final Map<String, IndexBlock> indexBlocks = new ConcurrentHashMap<>();
+    private final Cache<String, StatusListResDto> statusLists;
+
+    public VcStatusListService(VcStatusListQueryService vcStatusListQueryService, VcQueryService vcQueryService,
+                               FileWalletService walletService, IssueProperty issueProperty,
+                               VcStatusListProperty vcStatusListProperty) {
+        this.vcStatusListQueryService = vcStatusListQueryService;
+        this.vcQueryService = vcQueryService;
+        this.walletService = walletService;
+        this.issueProperty = issueProperty;
+        this.vcStatusListProperty = vcStatusListProperty;
+        this.statusLists = Caffeine.newBuilder()
+                .expireAfterWrite(vcStatusListProperty.getMaxAge())
+                .build();
+    }
+
+    /**
+     * Tells whether VCs get a status list index.
+     *
+     * @return true if status lists are enabled.
+     */
+    public boolean isEnabled() {
+        return vcStatusListProperty.isEnabled();
+    }
+
+    /**
+     * Allocates the status list index of a new VC.
+     * Call it outside of a transaction: reserving a new block of indexes runs in its own transaction,
+     * which would otherwise need a second pooled connection.
+     *
+     * @param vcPlanId The ID of the VC plan of the VC.
+     * @return The index, or null if status lists are disabled.
+     */
+    public Integer allocateIndex(String vcPlanId) {
+        if (!vcStatusListProperty.isEnabled()) {
+            return null;
+        }
+        IndexBlock block = indexBlocks.computeIfAbsent(vcPlanId, id -> new IndexBlock());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                int blockSize = Math.max(1, vcStatusListProperty.getBlockSize());
+                block.next = vcStatusListQueryService.allocate(vcPlanId, blockSize,
+                        vcStatusListProperty.getInitialCapacity());
+                block.end = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Updates the status list entry of a VC. VCs without an index are skipped.
+     *
+     * @param vcId The ID of the VC.
+     * @param status The new status.
+     */
+    public void updateStatus(String vcId, VcStatus status) {
+        vcQueryService.findOptionalByVcId(vcId)
+                .ifPresentOrElse(vc -> updateStatus(vc, status),
+                        () -> log.debug("No status list entry for VC. vcId: {}", vcId));
+    }
+
+    /**
+     * Updates the status list entry of a VC. VCs without an index are skipped.
+     *
+     * @param vc The VC.
+     * @param status The new status.
+     */
+    public void updateStatus(Vc vc, VcStatus status) {
+        updateStatus(vc.getVcPlanId(), vc.getStatusListIndex(), status);
+    }
+
+    /**
+     * Updates an entry of the status list of a VC plan. A missing index is skipped.
+     *
+     * @param vcPlanId The ID of the VC plan.
+     * @param statusListIndex The index of the entry, or null.
+     * @param status The new status.
+     */
+    public void updateStatus(String vcPlanId, Integer statusListIndex, VcStatus status) {
+        if (!vcStatusListProperty.isEnabled() || statusListIndex == null) {
+            return;
+        }
+        if (vcStatusListQueryService.setStatus(vcPlanId, statusListIndex, StatusListUtil.toValue(status))) {
+            statusLists.invalidate(vcPlanId);
+        }
+    }
+
+    /**
+     * Retrieves the signed status list of a VC plan.
+     *
+     * @param vcPlanId The ID of the VC plan.
+     * @return StatusListResDto containing the compressed list and its proof.
+     * @throws OpenDidException if the VC plan has no status list.
+     */
+    public StatusListResDto getStatusList(String vcPlanId) {
+        if (!vcStatusListProperty.isEnabled()) {
+            throw new OpenDidException(ErrorCode.VC_STATUS_LIST_NOT_FOUND);
+        }
+        return statusLists.get(vcPlanId, this::buildStatusList);
+    }
+
+    /**
+     * Retrieves the status list entry of a VC.
+     *
+     * @param vcId The ID of the VC.
+     * @return StatusListIndexResDto containing the VC plan and the index of the VC.
+     * @throws OpenDidException if the VC does not exist or has no status list entry.
+     */
+    public StatusListIndexResDto getIndex(String vcId) {
+        Vc vc = vcQueryService.findByVcId(vcId);
+        if (vc.getStatusListIndex() == null) {
+            throw new OpenDidException(ErrorCode.VC_STATUS_LIST_NOT_FOUND);
+        }
+        return StatusListIndexResDto.builder()
+                .vcId(vc.getVcId())
+                .vcPlanId(vc.getVcPlanId())
+                .statusListIndex(vc.getStatusListIndex())
+                .statusListCredential(statusListId(vc.getVcPlanId()))
+                .build();
+    }
+
+    /**
+     * Returns how long a status list may be cached, in seconds.
+     *
+     * @return The max age of a status list.
+     */
+    public long getMaxAgeSeconds() {
+        return vcStatusListProperty.getMaxAge().toSeconds();
+    }
+
+    private StatusListResDto buildStatusList(String vcPlanId) {
+        VcStatusList statusList = vcStatusListQueryService.findByVcPlanId(vcPlanId);
+        StatusListResDto dto = StatusListResDto.builder()
+                .id(statusListId(vcPlanId))
+                .issuer(issueProperty.getDid())
+                .vcPlanId(vcPlanId)
+                .statusPurpose(STATUS_PURPOSE)
+                .statusSize(statusList.getStatusSize())
+                .statusMessages(List.of(
+                        statusMessage(StatusListUtil.ACTIVE, VcStatus.ACTIVE),
+                        statusMessage(StatusListUtil.INACTIVE, VcStatus.INACTIVE),
+                        statusMessage(StatusListUtil.REVOKED, VcStatus.REVOKED)))
+                .size(statusList.getCapacity())
+                .encodedList(StatusListUtil.encode(statusList.getBits()))
+                .version(statusList.getVersion())
+                .validFrom(DateTimeUtil.getCurrentUTCTimeString())
+                .ttl(vcStatusListProperty.getMaxAge().toMillis())
+                .build();
+        sign(dto);
+        return dto;
+    }
+
+    /**
+     * Signs a status list with the assertion key of the issuer.
+     *
+     * @param dto The status list to sign.
+     */
+    private void sign(StatusListResDto dto) {
+        Proof proof = new Proof();
+        proof.setType(ProofType.SECP256R1_SIGNATURE_2018.getRawValue());
+        proof.setProofPurpose(ProofPurpose.ASSERTION_METHOD.getRawValue());
+        proof.setCreated(DateTimeUtil.getCurrentUTCTimeString());
+        proof.setVerificationMethod(issueProperty.getDid() + "#" + issueProperty.getAssertSignKeyId());
+        dto.setProof(proof);
+
+        String source = JsonUtil.serializeAndSort(dto);
+        byte[] bytes = walletService.generateCompactSignature(issueProperty.getAssertSignKeyId(), source);
+
+        proof.setProofValue(BaseMultibaseUtil.encode(bytes));
+    }
+
+    private String statusListId(String vcPlanId) {
+        return issueProperty.getDomain() + "/api/v1/vc/status-list?vcPlanId=" + vcPlanId;
+    }
+
+    private static StatusListMessageDto statusMessage(int value, VcStatus status) {
+        return StatusListMessageDto.builder()
+                .status("0x" + Integer.toHexString(value))
+                .message(status.getRawValue())
+                .build();
+    }
+
+    /**
+     * Indexes reserved by this node that have not been handed out yet.
+     */
+    private static class IndexBlock {
+        private int next;
+        private int end;
+    }
+}
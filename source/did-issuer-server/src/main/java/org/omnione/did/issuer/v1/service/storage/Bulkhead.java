@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of concurrent calls without blocking the callers.
+ * A caller that finds no free permit gets a future that completes once a permit is handed to it,
+ * or once its wait times out. Permits are handed to waiting callers in arrival order.
+ */
+public class Bulkhead {
+    private final int maxConcurrent;
+    private final Deque<CompletableFuture<Boolean>> waiters = new ArrayDeque<>();
+    private int available;
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.available = maxConcurrent;
+    }
+
+    /**
+     * Takes a permit if one is free.
+     * Every permit taken must be given back with release.
+     *
+     * @return true if a permit was taken, false otherwise.
+     */
+    public synchronized boolean tryAcquire() {
+        if (available > 0) {
+            available--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a permit, waiting up to the given time for one to be released.
+     * Every permit taken must be given back with release.
+     *
+     * @param waitNanos The maximum time to wait, in nanoseconds.
+     * @return Future that completes with true once a permit was taken, or with false if the wait timed out.
+     */
+    public CompletableFuture<Boolean> acquire(long waitNanos) {
+        CompletableFuture<Boolean> waiter;
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(true);
+            }
+            if (waitNanos <= 0) {
+                return CompletableFuture.completedFuture(false);
+            }
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (waiter.complete(false)) {
+                synchronized (this) {
+                    waiters.remove(waiter);
+                }
+            }
+        });
+        return waiter;
+    }
+
+    /**
+     * Gives a permit back, handing it to the longest waiting caller if there is one.
+     * The waiter is completed on the calling thread.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Boolean> waiter;
+            synchronized (this) {
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    available++;
+                    return;
+                }
+            }
+            // A waiter that timed out in the meantime does not take the permit.
+            if (waiter.complete(true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of permits in use.
+     *
+     * @return The number of permits in use.
+     */
+    public synchronized int getActive() {
+        return maxConcurrent - available;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.property.StorageCacheProperty;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StorageService decorator that caches resolved DID documents.
+ * Entries are keyed by DID and versionId (the key fragment is dropped, since every key of a
+ * document resolves to the same document), expire after the configured TTL and are bounded in size.
+ * Hit ratio and load latency are published through Micrometer under the "did-document" cache name.
+ * Cached documents are handed out as shared instances and are read-only for callers.
+ * An updated document is picked up after the TTL, or right away once it is evicted through
+ * the DID document cache endpoint.
+ */
+@Slf4j
+public class CachingStorageService implements StorageService {
+    private final StorageService delegate;
+    private final Cache<String, DidDocument> didDocCache;
+
+    public CachingStorageService(StorageService delegate, StorageCacheProperty.CacheSpec cacheSpec, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.didDocCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheSpec.getTtl())
+                .maximumSize(cacheSpec.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, didDocCache, "did-document");
+    }
+
+    /**
+     * Finds a DID document, loading it from the storage on a cache miss.
+     *
+     * @param didKeyUrl URL of the DID key.
+     * @return Found DID document.
+     */
+    @Override
+    public DidDocument findDidDoc(String didKeyUrl) {
+        return didDocCache.get(toCacheKey(didKeyUrl), key -> delegate.findDidDoc(didKeyUrl));
+    }
+
+    /**
+     * Finds a DID document without blocking, loading it from the storage on a cache miss.
+     * The loaded document is cached once the lookup completes successfully.
+     *
+     * @param didKeyUrl URL of the DID key.
+     * @return Future of the found DID document.
+     */
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        String key = toCacheKey(didKeyUrl);
+        DidDocument cached = didDocCache.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return delegate.findDidDocAsync(didKeyUrl)
+                .thenApply(didDocument -> {
+                    didDocCache.put(key, didDocument);
+                    return didDocument;
+                });
+    }
+
+    /**
+     * Evicts every cached version of the given DID document.
+     *
+     * @param did The DID or DID key URL to evict.
+     */
+    @Override
+    public void evictDidDoc(String did) {
+        String prefix = toDid(did);
+        didDocCache.asMap().keySet().removeIf(key -> toDid(key).equals(prefix));
+        log.debug("Evicted cached DID document. did: {}", prefix);
+        delegate.evictDidDoc(did);
+    }
+
+    @Override
+    public void evictVcMeta(String vcId) {
+        delegate.evictVcMeta(vcId);
+    }
+
+    @Override
+    public void registerVcMeta(VcMeta vcMeta) {
+        delegate.registerVcMeta(vcMeta);
+    }
+
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return delegate.registerVcMetaAsync(vcMeta);
+    }
+
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        delegate.updateVcStatus(vcId, vcStatus);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return delegate.updateVcStatusAsync(vcId, vcStatus);
+    }
+
+    @Override
+    public VcMeta getVcMetByVcId(String vcId) {
+        return delegate.getVcMetByVcId(vcId);
+    }
+
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        return delegate.getVcMetByVcIdAsync(vcId);
+    }
+
+    private static String toCacheKey(String didKeyUrl) {
+        int fragment = didKeyUrl.indexOf('#');
+        return fragment < 0 ? didKeyUrl : didKeyUrl.substring(0, fragment);
+    }
+
+    private static String toDid(String didKeyUrl) {
+        String key = toCacheKey(didKeyUrl);
+        int query = key.indexOf('?');
+        return query < 0 ? key : key.substring(0, query);
+    }
+}
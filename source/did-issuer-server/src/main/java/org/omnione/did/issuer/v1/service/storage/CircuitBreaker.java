@@ -0,0 +1,166 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import org.omnione.did.base.property.StorageResilienceProperty;
+
+/**
+ * Count-based circuit breaker.
+ * While closed, the outcome of the last calls is kept; once enough calls were made and the rate of
+ * failed or slow calls reaches its threshold, the breaker opens and rejects every call for the open
+ * duration. It then lets a few trial calls through (half-open) and closes again if all of them
+ * succeed in time, or opens again on the first failed or slow one.
+ */
+public class CircuitBreaker {
+    /**
+     * State of the breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final byte[] outcomes;
+
+    private State state = State.CLOSED;
+    private int calls;
+    private int next;
+    private int failures;
+    private int slowCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(StorageResilienceProperty.CircuitBreakerSpec spec) {
+        this.minimumCalls = spec.getMinimumCalls();
+        this.failureRateThreshold = spec.getFailureRateThreshold();
+        this.slowCallNanos = spec.getSlowCallDuration().toNanos();
+        this.slowCallRateThreshold = spec.getSlowCallRateThreshold();
+        this.openNanos = spec.getOpenDuration().toNanos();
+        this.halfOpenCalls = spec.getHalfOpenCalls();
+        this.outcomes = new byte[spec.getWindowSize()];
+    }
+
+    /**
+     * Asks for a permit to make a call.
+     * Every permitted call must be followed by onSuccess or onFailure.
+     *
+     * @return true if the call may be made, false if it must be rejected.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Records a call that succeeded.
+     *
+     * @param durationNanos Duration of the call.
+     */
+    public synchronized void onSuccess(long durationNanos) {
+        record(durationNanos >= slowCallNanos ? SLOW : 0);
+    }
+
+    /**
+     * Records a call that failed.
+     *
+     * @param durationNanos Duration of the call.
+     */
+    public synchronized void onFailure(long durationNanos) {
+        record((byte) (FAILED | (durationNanos >= slowCallNanos ? SLOW : 0)));
+    }
+
+    /**
+     * Returns the current state. An open breaker whose open duration elapsed is reported open
+     * until the next call moves it to half-open.
+     *
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(byte outcome) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (outcome != 0) {
+                    open();
+                } else if (++halfOpenSuccesses == halfOpenCalls) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (calls == outcomes.length) {
+                    forget(outcomes[next]);
+                } else {
+                    calls++;
+                }
+                outcomes[next] = outcome;
+                next = (next + 1) % outcomes.length;
+                failures += (outcome & FAILED) != 0 ? 1 : 0;
+                slowCalls += (outcome & SLOW) != 0 ? 1 : 0;
+                if (calls >= minimumCalls
+                        && (failures * 100 >= failureRateThreshold * calls || slowCalls * 100 >= slowCallRateThreshold * calls)) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // Calls started before the breaker opened do not change its state.
+            }
+        }
+    }
+
+    private void forget(byte outcome) {
+        failures -= (outcome & FAILED) != 0 ? 1 : 0;
+        slowCalls -= (outcome & SLOW) != 0 ? 1 : 0;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        calls = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StorageService decorator that coalesces concurrent identical lookups.
+ * Concurrent findDidDoc calls for the same DID key URL, and concurrent getVcMetByVcId calls
+ * for the same VC ID, share one in-flight call to the storage and its result or error.
+ * The asynchronous lookups share the same in-flight calls.
+ */
+public class CoalescingStorageService implements StorageService {
+    private final StorageService delegate;
+    private final SingleFlight<String, DidDocument> didDocFlight = new SingleFlight<>();
+    private final SingleFlight<String, VcMeta> vcMetaFlight = new SingleFlight<>();
+
+    public CoalescingStorageService(StorageService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public DidDocument findDidDoc(String didKeyUrl) {
+        return didDocFlight.execute(didKeyUrl, () -> delegate.findDidDoc(didKeyUrl));
+    }
+
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        return didDocFlight.executeAsync(didKeyUrl, () -> delegate.findDidDocAsync(didKeyUrl));
+    }
+
+    @Override
+    public VcMeta getVcMetByVcId(String vcId) {
+        return vcMetaFlight.execute(vcId, () -> delegate.getVcMetByVcId(vcId));
+    }
+
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        return vcMetaFlight.executeAsync(vcId, () -> delegate.getVcMetByVcIdAsync(vcId));
+    }
+
+    @Override
+    public void registerVcMeta(VcMeta vcMeta) {
+        delegate.registerVcMeta(vcMeta);
+    }
+
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return delegate.registerVcMetaAsync(vcMeta);
+    }
+
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        delegate.updateVcStatus(vcId, vcStatus);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return delegate.updateVcStatusAsync(vcId, vcStatus);
+    }
+
+    @Override
+    public void evictDidDoc(String did) {
+        delegate.evictDidDoc(did);
+    }
+
+    @Override
+    public void evictVcMeta(String vcId) {
+        delegate.evictVcMeta(vcId);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.omnione.did.ContractApi;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.pool.BoundedObjectPool;
+import org.omnione.did.base.property.BlockChainPoolProperty;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Pool of blockchain gateways (ContractApi instances) shared by the request threads.
+ * Gateways are created on first use, up to the pool size; callers beyond the pool size wait up to the
+ * configured time, and callers beyond the queue capacity are rejected right away.
+ * A gateway is dropped and replaced by the next borrower only when it lost its connection to the network
+ * or failed unexpectedly; an error the ledger answered with, such as an unknown DID or VC, leaves it in the pool.
+ * Idle gateways are checked periodically with the health check.
+ */
+@Slf4j
+public class ContractApiPool implements AutoCloseable {
+    private final BoundedObjectPool<ContractApi> gatewayPool;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the pool. No gateway is created until the first operation.
+     *
+     * @param gatewayFactory Creates a new gateway.
+     * @param healthCheck Tells whether an idle gateway still works.
+     * @param property The pool properties.
+     * @param meterRegistry The meter registry.
+     */
+    public ContractApiPool(Supplier<ContractApi> gatewayFactory, Predicate<ContractApi> healthCheck,
+                           BlockChainPoolProperty property, MeterRegistry meterRegistry) {
+        GenericObjectPoolConfig<ContractApi> config = new GenericObjectPoolConfig<>();
+        config.setMaxTotal(property.getSize());
+        config.setMaxIdle(property.getSize());
+        config.setMinIdle(0);
+        config.setBlockWhenExhausted(true);
+        config.setMaxWait(property.getMaxWait());
+        config.setFairness(true);
+        config.setTestWhileIdle(true);
+        config.setNumTestsPerEvictionRun(property.getSize());
+        config.setTimeBetweenEvictionRuns(property.getHealthCheckInterval());
+        config.setJmxEnabled(false);
+        this.gatewayPool = new BoundedObjectPool<>("blockchain gateway", new GatewayPoolFactory(gatewayFactory, healthCheck),
+                config, property.getQueueCapacity(), ErrorCode.BLOCKCHAIN_BUSY, ErrorCode.BLOCKCHAIN_INITIALIZATION_FAILED,
+                ContractApiPool::breaksGateway, Counter.builder("issuer.blockchain.rejected").register(meterRegistry));
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("issuer.blockchain.pool.active", gatewayPool, BoundedObjectPool::getNumActive)
+                .register(meterRegistry);
+        Gauge.builder("issuer.blockchain.pool.idle", gatewayPool, BoundedObjectPool::getNumIdle)
+                .register(meterRegistry);
+        Gauge.builder("issuer.blockchain.pool.queue", gatewayPool, BoundedObjectPool::getNumWaiters)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an operation on a pooled gateway.
+     *
+     * @param operation The name of the operation, used as the metric tag.
+     * @param call The operation.
+     * @param <T> The result type.
+     * @return The result of the operation.
+     * @throws OpenDidException if the operation fails, no gateway could be created, or the pool is busy.
+     */
+    public <T> T execute(String operation, Function<ContractApi, T> call) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return gatewayPool.execute(call);
+        } finally {
+            sample.stop(operationTimer(operation));
+        }
+    }
+
+    /**
+     * Runs an operation without a result on a pooled gateway.
+     *
+     * @param operation The name of the operation, used as the metric tag.
+     * @param call The operation.
+     * @throws OpenDidException if the operation fails, no gateway could be created, or the pool is busy.
+     */
+    public void run(String operation, Consumer<ContractApi> call) {
+        execute(operation, contractApi -> {
+            call.accept(contractApi);
+            return null;
+        });
+    }
+
+    /**
+     * Closes the pool and drops every pooled gateway.
+     */
+    @Override
+    public void close() {
+        gatewayPool.close();
+    }
+
+    /**
+     * Tells whether an error of an operation means the gateway must be replaced:
+     * a lost connection to the network, or any error other than one the ledger answered with.
+     */
+    private static boolean breaksGateway(RuntimeException e) {
+        if (e instanceof OpenDidException openDidException) {
+            return openDidException.getErrorCode() == ErrorCode.BLOCKCHAIN_CONNECTION_FAILED;
+        }
+        return true;
+    }
+
+    private Timer operationTimer(String operation) {
+        return operationTimers.computeIfAbsent(operation, name -> Timer.builder("issuer.blockchain.operation")
+                .description("Time of a blockchain operation, including the wait for a gateway")
+                .tag("operation", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Pool factory that creates a new gateway per pooled object
+     * and keeps idle gateways only while they pass the health check.
+     */
+    private static class GatewayPoolFactory extends BasePooledObjectFactory<ContractApi> {
+        private final Supplier<ContractApi> gatewayFactory;
+        private final Predicate<ContractApi> healthCheck;
+
+        GatewayPoolFactory(Supplier<ContractApi> gatewayFactory, Predicate<ContractApi> healthCheck) {
+            this.gatewayFactory = gatewayFactory;
+            this.healthCheck = healthCheck;
+        }
+
+        @Override
+        public ContractApi create() {
+            log.info("Creating blockchain gateway for the pool");
+            return gatewayFactory.get();
+        }
+
+        @Override
+        public PooledObject<ContractApi> wrap(ContractApi contractApi) {
+            return new DefaultPooledObject<>(contractApi);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<ContractApi> pooledObject) {
+            return healthCheck.test(pooledObject.getObject());
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.StorageResilienceProperty;
+import org.omnione.did.base.util.FutureUtil;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * StorageService decorator that keeps a slow or failing ledger from taking the server down with it.
+ * <ul>
+ *     <li>Bulkhead: at most the configured number of storage calls run at once; calls beyond it wait
+ *     up to the configured time and are then rejected with STORAGE_BUSY. The wait never blocks the
+ *     calling thread: a call that had to wait is started on a thread of this service.</li>
+ *     <li>Circuit breaker: once too many recent calls failed or were slow, calls are rejected with
+ *     STORAGE_UNAVAILABLE for a while, instead of piling up on the storage.</li>
+ *     <li>Hedged reads: when enabled, a DID document or VC meta lookup that has not answered within the
+ *     configured percentile of recent lookup latencies is sent a second time, and the first answer wins.</li>
+ * </ul>
+ * Asynchronous VC meta registrations are queued and bounded by the outbox, so they only go through
+ * the circuit breaker. Error responses of the storage with a 4xx status (e.g. an unknown VC) are not
+ * failures for the circuit breaker, while 5xx responses are.
+ * Breaker state, rejections and hedged reads are published under "issuer.storage".
+ */
+@Slf4j
+public class ResilientStorageService implements StorageService {
+    private static final String DID_DOC = "findDidDoc";
+    private static final String VC_META = "getVcMetByVcId";
+
+    private final StorageService delegate;
+    private final Bulkhead bulkhead;
+    private final long bulkheadWaitNanos;
+    private final Executor waiterExecutor;
+    private final CircuitBreaker circuitBreaker;
+    private final StorageResilienceProperty.HedgeSpec hedge;
+    private final Executor hedgeExecutor;
+    private final Map<String, LatencyWindow> readLatencies = new ConcurrentHashMap<>();
+    private final Map<String, Counter> hedgedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    public ResilientStorageService(StorageService delegate, StorageResilienceProperty property, MeterRegistry meterRegistry) {
+        int maxConcurrent = property.getBulkhead().getMaxConcurrent();
+        this.delegate = delegate;
+        this.bulkhead = new Bulkhead(maxConcurrent);
+        this.bulkheadWaitNanos = property.getBulkhead().getMaxWait().toNanos();
+        this.waiterExecutor = newExecutor("storage-call-", maxConcurrent);
+        this.circuitBreaker = new CircuitBreaker(property.getCircuitBreaker());
+        this.hedge = property.getHedge();
+        this.hedgeExecutor = hedge.isEnabled() ? newExecutor("storage-read-", maxConcurrent) : null;
+        this.meterRegistry = meterRegistry;
+
+        this.bulkheadRejections = Counter.builder("issuer.storage.rejected")
+                .tag("reason", "bulkhead")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("issuer.storage.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        Gauge.builder("issuer.storage.bulkhead.active", bulkhead, Bulkhead::getActive)
+                .register(meterRegistry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("issuer.storage.circuit.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public DidDocument findDidDoc(String didKeyUrl) {
+        return FutureUtil.join(findDidDocAsync(didKeyUrl));
+    }
+
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        return read(DID_DOC, () -> delegate.findDidDocAsync(didKeyUrl));
+    }
+
+    @Override
+    public VcMeta getVcMetByVcId(String vcId) {
+        return FutureUtil.join(getVcMetByVcIdAsync(vcId));
+    }
+
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        return read(VC_META, () -> delegate.getVcMetByVcIdAsync(vcId));
+    }
+
+    @Override
+    public void registerVcMeta(VcMeta vcMeta) {
+        FutureUtil.join(registerVcMetaAsync(vcMeta));
+    }
+
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return execute(() -> delegate.registerVcMetaAsync(vcMeta), null, null, false);
+    }
+
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        FutureUtil.join(updateVcStatusAsync(vcId, vcStatus));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return execute(() -> delegate.updateVcStatusAsync(vcId, vcStatus), null, null, true);
+    }
+
+    @Override
+    public void evictDidDoc(String did) {
+        delegate.evictDidDoc(did);
+    }
+
+    @Override
+    public void evictVcMeta(String vcId) {
+        delegate.evictVcMeta(vcId);
+    }
+
+    /**
+     * Returns the state of the circuit breaker.
+     *
+     * @return The circuit breaker state.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> CompletableFuture<T> read(String operation, Supplier<CompletableFuture<T>> call) {
+        LatencyWindow latencies = readLatencies.computeIfAbsent(operation, key -> new LatencyWindow(256));
+        if (hedgeExecutor == null) {
+            return execute(call, null, latencies, true);
+        }
+
+        CompletableFuture<T> primary = execute(call, hedgeExecutor, latencies, true);
+        if (primary.isDone()) {
+            return primary;
+        }
+        HedgedRead<T> read = new HedgedRead<>();
+        read.add(primary);
+        CompletableFuture.delayedExecutor(hedgeDelayNanos(latencies), TimeUnit.NANOSECONDS).execute(() -> {
+            if (read.result.isDone() || !bulkhead.tryAcquire()) {
+                return;
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                return;
+            }
+            hedgedCounter(operation).increment();
+            read.add(invoke(call, hedgeExecutor, latencies, true));
+        });
+        return read.result;
+    }
+
+    private <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call, Executor executor, LatencyWindow latencies,
+                                             boolean bulkheaded) {
+        if (!bulkheaded) {
+            return executePermitted(call, executor, latencies, false);
+        }
+        CompletableFuture<Boolean> permit = bulkhead.acquire(bulkheadWaitNanos);
+        if (permit.isDone()) {
+            return permit.join()
+                    ? executePermitted(call, executor, latencies, true)
+                    : rejectBusy();
+        }
+        // The permit is handed over by the thread releasing it, which must not run the call.
+        return permit.thenComposeAsync(granted -> granted
+                ? executePermitted(call, executor, latencies, true)
+                : rejectBusy(), waiterExecutor);
+    }
+
+    private <T> CompletableFuture<T> rejectBusy() {
+        bulkheadRejections.increment();
+        return CompletableFuture.failedFuture(new OpenDidException(ErrorCode.STORAGE_BUSY));
+    }
+
+    /**
+     * Makes a call that holds a bulkhead permit if bulkheaded, unless the circuit breaker rejects it.
+     */
+    private <T> CompletableFuture<T> executePermitted(Supplier<CompletableFuture<T>> call, Executor executor,
+                                                      LatencyWindow latencies, boolean bulkheaded) {
+        if (!circuitBreaker.tryAcquire()) {
+            if (bulkheaded) {
+                bulkhead.release();
+            }
+            circuitRejections.increment();
+            return CompletableFuture.failedFuture(new OpenDidException(ErrorCode.STORAGE_UNAVAILABLE));
+        }
+        return invoke(call, executor, latencies, bulkheaded);
+    }
+
+    /**
+     * Makes a call that holds a circuit breaker permit, and a bulkhead permit if bulkheaded, and records its outcome.
+     */
+    private <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> call, Executor executor, LatencyWindow latencies,
+                                            boolean bulkheaded) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        if (executor == null) {
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+        } else {
+            future = CompletableFuture.supplyAsync(call, executor).thenCompose(started -> started);
+        }
+        return future.whenComplete((value, e) -> {
+            long duration = System.nanoTime() - start;
+            if (bulkheaded) {
+                bulkhead.release();
+            }
+            if (e == null) {
+                circuitBreaker.onSuccess(duration);
+                if (latencies != null) {
+                    latencies.record(duration);
+                }
+            } else if (isStorageFailure(e)) {
+                circuitBreaker.onFailure(duration);
+            } else {
+                circuitBreaker.onSuccess(duration);
+            }
+        });
+    }
+
+    private long hedgeDelayNanos(LatencyWindow latencies) {
+        long min = hedge.getMinDelay().toNanos();
+        long max = hedge.getMaxDelay().toNanos();
+        long percentile = latencies.percentile(hedge.getPercentile(), hedge.getMinSamples());
+        return percentile < 0 ? max : Math.min(max, Math.max(min, percentile));
+    }
+
+    private Counter hedgedCounter(String operation) {
+        return hedgedCounters.computeIfAbsent(operation, name -> Counter.builder("issuer.storage.hedged")
+                .tag("operation", name)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Tells whether an error means the storage is unhealthy, as opposed to the storage rejecting the request.
+     * Error responses relayed from the storage carry the HTTP status they were received with.
+     */
+    private static boolean isStorageFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof OpenDidException openDidException) {
+            return openDidException.getHttpStatus() >= 500;
+        }
+        return true;
+    }
+
+    private static Executor newExecutor(String threadPrefix, int maxConcurrent) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * The attempts of one hedged read. The result is the first successful attempt, or the error of the
+     * first attempt once every attempt made has failed.
+     */
+    private static class HedgedRead<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile Throwable firstError;
+
+        void add(CompletableFuture<T> attempt) {
+            pending.incrementAndGet();
+            attempt.whenComplete((value, e) -> {
+                if (e == null) {
+                    result.complete(value);
+                    return;
+                }
+                if (firstError == null) {
+                    firstError = e;
+                }
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(firstError);
+                }
+            });
+        }
+    }
+
+    /**
+     * Latencies of the last successful calls of one operation.
+     */
+    private static class LatencyWindow {
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * Returns the given percentile of the recorded latencies, or -1 if fewer than minSamples were recorded.
+         */
+        long percentile(double percentile, int minSamples) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < minSamples || count == 0) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.data.model.vc.VcMeta;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind stage for VC meta registrations.
+ * The ledger has no batch registration, so registrations are pipelined instead: they are queued
+ * and sent as soon as one of at most maxInFlight workers is free, without a collection window.
+ * maxInFlight should not exceed the gateway pool size, since each worker holds a gateway while it sends.
+ * A full queue fails the registration right away instead of blocking the caller.
+ * Each caller gets a future that completes with the result of its own registration.
+ */
+@Slf4j
+public class VcMetaBatchRegistrar implements AutoCloseable {
+    private final Consumer<VcMeta> writer;
+    private final ThreadPoolExecutor submitExecutor;
+
+    /**
+     * Creates a registrar and its workers.
+     *
+     * @param writer The function that registers a single VC meta on the ledger.
+     * @param maxInFlight The maximum number of registrations sent at the same time.
+     * @param queueCapacity The maximum number of registrations waiting to be sent.
+     */
+    public VcMetaBatchRegistrar(Consumer<VcMeta> writer, int maxInFlight, int queueCapacity) {
+        this.writer = writer;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.submitExecutor = new ThreadPoolExecutor(maxInFlight, maxInFlight,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "vc-meta-submit-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a VC meta for registration.
+     *
+     * @param vcMeta The VC meta to register.
+     * @return A future that completes when the VC meta is registered, or exceptionally if it fails.
+     */
+    public CompletableFuture<Void> submit(VcMeta vcMeta) {
+        PendingVcMeta pending = new PendingVcMeta(vcMeta, new CompletableFuture<>());
+        try {
+            submitExecutor.execute(pending);
+        } catch (RejectedExecutionException e) {
+            log.error("VC meta registration queue is not accepting registrations. vcId: {}", vcMeta.getId());
+            pending.fail();
+        }
+        return pending.getFuture();
+    }
+
+    /**
+     * Stops accepting registrations and waits for the queued ones to finish.
+     * Registrations still queued after the wait are failed.
+     */
+    @Override
+    public void close() {
+        submitExecutor.shutdown();
+        try {
+            submitExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Runnable queued : submitExecutor.shutdownNow()) {
+            ((PendingVcMeta) queued).fail();
+        }
+    }
+
+    /**
+     * A queued VC meta and the future of its caller.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private class PendingVcMeta implements Runnable {
+        private final VcMeta vcMeta;
+        private final CompletableFuture<Void> future;
+
+        @Override
+        public void run() {
+            try {
+                writer.accept(vcMeta);
+                future.complete(null);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        private void fail() {
+            future.completeExceptionally(new OpenDidException(ErrorCode.BLOCKCHAIN_VC_META_REGISTRATION_FAILED));
+        }
+    }
+}
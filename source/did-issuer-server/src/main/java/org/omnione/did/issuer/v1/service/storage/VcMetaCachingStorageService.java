@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.omnione.did.base.property.StorageCacheProperty;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * StorageService decorator that caches VC metadata by VC ID.
+ * Entries are loaded on a miss, added when this node registers a VC meta and updated when this node
+ * changes a VC status, so local writes are visible immediately. Changes made elsewhere become visible
+ * once the entry expires, which bounds the staleness to the configured TTL.
+ * A non-blocking load that was started before a local write is not cached, so that it cannot
+ * overwrite the written metadata with what the storage returned before the write.
+ * Hit ratio and load latency are published through Micrometer under the "vc-meta" cache name.
+ */
+@Slf4j
+public class VcMetaCachingStorageService implements StorageService {
+    private final StorageService delegate;
+    private final Cache<String, VcMeta> vcMetaCache;
+    // Non-blocking loads in flight by VC ID. A local write removes the entry, which discards the load.
+    private final ConcurrentMap<String, Object> pendingLoads = new ConcurrentHashMap<>();
+
+    public VcMetaCachingStorageService(StorageService delegate, StorageCacheProperty.CacheSpec cacheSpec, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.vcMetaCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheSpec.getTtl())
+                .maximumSize(cacheSpec.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, vcMetaCache, "vc-meta");
+    }
+
+    @Override
+    public DidDocument findDidDoc(String didKeyUrl) {
+        return delegate.findDidDoc(didKeyUrl);
+    }
+
+    @Override
+    public CompletableFuture<DidDocument> findDidDocAsync(String didKeyUrl) {
+        return delegate.findDidDocAsync(didKeyUrl);
+    }
+
+    /**
+     * Retrieves VC metadata, loading it from the storage on a cache miss.
+     *
+     * @param vcId Identifier of the VC.
+     * @return Found VC metadata.
+     */
+    @Override
+    public VcMeta getVcMetByVcId(String vcId) {
+        return vcMetaCache.get(vcId, key -> delegate.getVcMetByVcId(vcId));
+    }
+
+    /**
+     * Retrieves VC metadata without blocking, loading it from the storage on a cache miss.
+     * The loaded metadata is cached once the lookup completes successfully,
+     * unless a local write to the same VC happened while the lookup was in flight.
+     *
+     * @param vcId Identifier of the VC.
+     * @return Future of the found VC metadata.
+     */
+    @Override
+    public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+        VcMeta cached = vcMetaCache.getIfPresent(vcId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Object load = new Object();
+        pendingLoads.put(vcId, load);
+        return delegate.getVcMetByVcIdAsync(vcId)
+                .whenComplete((vcMeta, e) -> pendingLoads.computeIfPresent(vcId, (key, pending) -> {
+                    if (pending != load) {
+                        return pending;
+                    }
+                    if (e == null) {
+                        vcMetaCache.put(vcId, vcMeta);
+                    }
+                    return null;
+                }));
+    }
+
+    /**
+     * Registers VC metadata and caches it once the registration succeeded.
+     *
+     * @param vcMeta VC metadata to register.
+     */
+    @Override
+    public void registerVcMeta(VcMeta vcMeta) {
+        delegate.registerVcMeta(vcMeta);
+        discardPendingLoad(vcMeta.getId());
+        vcMetaCache.put(vcMeta.getId(), vcMeta);
+    }
+
+    /**
+     * Registers VC metadata and caches it when the registration completes successfully.
+     *
+     * @param vcMeta VC metadata to register.
+     * @return Future that completes when the VC metadata is registered.
+     */
+    @Override
+    public CompletableFuture<Void> registerVcMetaAsync(VcMeta vcMeta) {
+        return delegate.registerVcMetaAsync(vcMeta)
+                .thenRun(() -> {
+                    discardPendingLoad(vcMeta.getId());
+                    vcMetaCache.put(vcMeta.getId(), vcMeta);
+                });
+    }
+
+    /**
+     * Updates the VC status and the cached VC metadata, if any.
+     * The cached entry is replaced by a copy so that callers holding the previous instance are not affected.
+     *
+     * @param vcId     Identifier of the VC.
+     * @param vcStatus New status of the VC.
+     */
+    @Override
+    public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        try {
+            delegate.updateVcStatus(vcId, vcStatus);
+        } catch (RuntimeException e) {
+            discardPendingLoad(vcId);
+            vcMetaCache.invalidate(vcId);
+            throw e;
+        }
+        discardPendingLoad(vcId);
+        vcMetaCache.asMap().computeIfPresent(vcId, (key, cached) -> withStatus(cached, vcStatus));
+    }
+
+    /**
+     * Updates the VC status without blocking, and the cached VC metadata once the update completes.
+     *
+     * @param vcId     Identifier of the VC.
+     * @param vcStatus New status of the VC.
+     * @return Future that completes when the status is updated.
+     */
+    @Override
+    public CompletableFuture<Void> updateVcStatusAsync(String vcId, VcStatus vcStatus) {
+        return delegate.updateVcStatusAsync(vcId, vcStatus)
+                .whenComplete((ignored, e) -> {
+                    discardPendingLoad(vcId);
+                    if (e != null) {
+                        vcMetaCache.invalidate(vcId);
+                    } else {
+                        vcMetaCache.asMap().computeIfPresent(vcId, (key, cached) -> withStatus(cached, vcStatus));
+                    }
+                });
+    }
+
+    @Override
+    public void evictDidDoc(String did) {
+        delegate.evictDidDoc(did);
+    }
+
+    /**
+     * Evicts the cached VC metadata of the given VC.
+     *
+     * @param vcId Identifier of the VC.
+     */
+    @Override
+    public void evictVcMeta(String vcId) {
+        discardPendingLoad(vcId);
+        vcMetaCache.invalidate(vcId);
+        log.debug("Evicted cached VC meta. vcId: {}", vcId);
+        delegate.evictVcMeta(vcId);
+    }
+
+    /**
+     * Discards the non-blocking load of a VC in flight, if any, before a local write is applied to the cache.
+     * A load that completes before this call is cached and then updated by the write; one that completes after it is dropped.
+     *
+     * @param vcId Identifier of the VC.
+     */
+    private void discardPendingLoad(String vcId) {
+        pendingLoads.remove(vcId);
+    }
+
+    private static VcMeta withStatus(VcMeta vcMeta, VcStatus vcStatus) {
+        VcMeta updated = new VcMeta();
+        updated.setId(vcMeta.getId());
+        updated.setIssuer(vcMeta.getIssuer());
+        updated.setSubject(vcMeta.getSubject());
+        updated.setCredentialSchema(vcMeta.getCredentialSchema());
+        updated.setStatus(vcStatus.getRawValue());
+        updated.setIssuanceDate(vcMeta.getIssuanceDate());
+        updated.setValidFrom(vcMeta.getValidFrom());
+        updated.setValidUntil(vcMeta.getValidUntil());
+        updated.setFormatVersion(vcMeta.getFormatVersion());
+        updated.setLanguage(vcMeta.getLanguage());
+        return updated;
+    }
+}
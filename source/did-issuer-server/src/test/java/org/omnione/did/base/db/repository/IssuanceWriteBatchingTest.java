@@ -0,0 +1,468 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.omnione.did.base.datamodel.data.AccE2e;
+import org.omnione.did.base.datamodel.data.ProfileInfo;
+import org.omnione.did.base.datamodel.data.ReqVc;
+import org.omnione.did.base.datamodel.enums.EccCurveType;
+import org.omnione.did.base.datamodel.enums.OfferType;
+import org.omnione.did.base.datamodel.enums.SymmetricCipherType;
+import org.omnione.did.base.datamodel.enums.SymmetricPaddingType;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.db.constant.SubTransactionStatus;
+import org.omnione.did.base.db.constant.SubTransactionType;
+import org.omnione.did.base.db.constant.TransactionStatus;
+import org.omnione.did.base.db.constant.TransactionType;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.domain.*;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.base.property.KeyPoolProperty;
+import org.omnione.did.base.property.VcStatusListProperty;
+import org.omnione.did.base.util.BaseCryptoUtil;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.issuer.v1.dto.demo.InsertUserReqDto;
+import org.omnione.did.issuer.v1.dto.vc.IssueVcReqDto;
+import org.omnione.did.issuer.v1.dto.vc.IssueVcResDto;
+import org.omnione.did.issuer.v1.service.EphemeralKeyPoolService;
+import org.omnione.did.issuer.v1.service.EphemeralKeyPoolService.EphemeralKey;
+import org.omnione.did.issuer.v1.service.FileWalletService;
+import org.omnione.did.issuer.v1.service.NationalIdIssueServiceImpl;
+import org.omnione.did.issuer.v1.service.StorageService;
+import org.omnione.did.issuer.v1.service.profile.IssuanceTemplateRegistry;
+import org.omnione.did.issuer.v1.service.profile.IssueProfileTemplateRegistry;
+import org.omnione.did.issuer.v1.service.query.*;
+import org.omnione.did.issuer.v1.service.session.IssueSession;
+import org.omnione.did.issuer.v1.service.session.JpaSessionStore;
+import org.omnione.did.issuer.v1.service.session.SessionStore;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the JDBC statements and round-trips of one complete issuance.
+ * The writes of the other issuance steps are replayed through JPA against the Liquibase schema on H2,
+ * each step in its own transaction as in the issue service, with the VC profile and E2E kept in the JPA session store.
+ * The issue VC step runs through NationalIdIssueServiceImpl itself, from the transaction lookup and the session read
+ * to the status list index reservation and the write transaction; only the storage and the wallet are mocked.
+ * Status list indexes are reserved one at a time, so every issuance pays for a reservation.
+ * Entity IDs come from pooled sequences, so inserts are deferred to the flush and batched with the other writes.
+ */
+@DisplayName("Issuance Write Batching")
+@IssuerJpaTest
+@Import({TransactionService.class, VcMetaOutboxQueryService.class, VcProfileQueryService.class, E2EQueryService.class,
+        VcQueryService.class, VcOfferQueryService.class, UserQueryService.class, VcStatusListQueryService.class,
+        VcSchemaService.class, IssuanceTemplateRegistry.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IssuanceWriteBatchingTest {
+    private static final String VC_PLAN_ID = "vcplanid000000000002";
+    private static final int WARMUP = 3;
+    private static final int ISSUANCE_ROUND_TRIPS = 24;
+    // The transaction, the working set with the session, and the status list of the plan.
+    private static final int ISSUE_VC_QUERIES = 3;
+    // The queries and the status list update, then in the write transaction the re-read of the transaction loaded before it,
+    // the inserts of the outbox entry, the VC and the sub-transaction, and the update of the current step.
+    private static final int ISSUE_VC_STATEMENTS = 9;
+    private static final int OUTBOX_BATCH = 50;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private VcOfferRepository vcOfferRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private VcProfileQueryService vcProfileQueryService;
+    @Autowired
+    private E2EQueryService e2EQueryService;
+    @Autowired
+    private VcMetaOutboxQueryService vcMetaOutboxQueryService;
+    @Autowired
+    private VcQueryService vcQueryService;
+    @Autowired
+    private VcOfferQueryService vcOfferQueryService;
+    @Autowired
+    private UserQueryService userQueryService;
+    @Autowired
+    private VcStatusListQueryService vcStatusListQueryService;
+    @Autowired
+    private IssuanceTemplateRegistry issuanceTemplateRegistry;
+    @Autowired
+    private IssueProperty issueProperty;
+
+    private StatementCounter counter;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private SessionStore sessionStore;
+    private EphemeralKeyPoolService keyPoolService;
+    private NationalIdIssueServiceImpl issueService;
+
+    @BeforeAll
+    void setUp() {
+        counter = (StatementCounter) dataSource;
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sessionStore = new JpaSessionStore(vcProfileQueryService, e2EQueryService);
+
+        KeyPoolProperty keyPoolProperty = new KeyPoolProperty();
+        keyPoolProperty.setEnabled(false);
+        keyPoolService = new EphemeralKeyPoolService(keyPoolProperty, new SimpleMeterRegistry());
+        keyPoolService.start();
+
+        FileWalletService walletService = mock(FileWalletService.class);
+        when(walletService.generateCompactSignature(anyString(), anyString())).thenReturn(new byte[65]);
+        VcStatusListProperty vcStatusListProperty = new VcStatusListProperty();
+        vcStatusListProperty.setBlockSize(1);
+        VcStatusListService vcStatusListService = new VcStatusListService(vcStatusListQueryService, vcQueryService,
+                walletService, issueProperty, vcStatusListProperty);
+
+        issueService = new NationalIdIssueServiceImpl(sessionStore, vcOfferQueryService, transactionService, vcQueryService,
+                issueProperty, mock(StorageService.class), walletService, keyPoolService, vcMetaOutboxQueryService,
+                mock(IssueProfileTemplateRegistry.class), issuanceTemplateRegistry, vcStatusListService,
+                transactionTemplate, userQueryService);
+
+        // Hibernate reads two sequence values for the first block of every sequence, so warm up past them.
+        for (int i = 0; i < WARMUP; i++) {
+            issue();
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        keyPoolService.stop();
+    }
+
+    @Test
+    @DisplayName("A complete issuance reads no generated keys and stays within its round-trips")
+    void issuanceRoundTrips() {
+        counter.reset();
+        issue();
+
+        assertEquals(0, counter.generatedKeys, "inserts should not read back generated keys");
+        assertTrue(counter.roundTrips <= ISSUANCE_ROUND_TRIPS,
+                counter.roundTrips + " round-trips per issuance, expected at most " + ISSUANCE_ROUND_TRIPS);
+    }
+
+    @Test
+    @DisplayName("The issue VC step reads its working set and session in one query")
+    void issueVcStatements() {
+        PreparedIssuance issuance = prepareIssueVc();
+        IssueVcReqDto request = issueVcRequest(issuance);
+
+        statistics.clear();
+        issueService.issueVc(request);
+
+        assertEquals(ISSUE_VC_QUERIES, statistics.getQueryExecutionCount(),
+                "the session should be read with the transaction, user and VC, without separate profile or E2E queries");
+        assertTrue(statistics.getPrepareStatementCount() <= ISSUE_VC_STATEMENTS,
+                statistics.getPrepareStatementCount() + " statements for issue VC, expected at most " + ISSUE_VC_STATEMENTS);
+        completeVc(issuance.txId());
+    }
+
+    @Test
+    @DisplayName("Writes to the same table in one flush share a round-trip")
+    void outboxWritesAreBatched() {
+        counter.reset();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < OUTBOX_BATCH; i++) {
+                vcMetaOutboxQueryService.enqueue(UUID.randomUUID().toString(), VcMetaOutboxOperation.REGISTER_VC_META, "{}");
+            }
+        });
+        assertTrue(counter.statements >= OUTBOX_BATCH,
+                counter.statements + " statements for " + OUTBOX_BATCH + " inserts");
+        assertTrue(counter.roundTrips <= 2, counter.roundTrips + " round-trips for one batch of inserts");
+
+        counter.reset();
+        List<VcMetaOutbox> claimed = transactionTemplate.execute(status ->
+                vcMetaOutboxQueryService.claimDue(OUTBOX_BATCH, Duration.ofMinutes(1), Duration.ofSeconds(2)));
+        assertEquals(OUTBOX_BATCH, claimed.size());
+        assertEquals(2 + OUTBOX_BATCH, counter.statements, "one query for the due entries, one for their predecessors");
+        assertEquals(3, counter.roundTrips, "the lease updates should go out as one batch");
+    }
+
+    /**
+     * Replays the database work of requestOffer, inspectIssuePropose and generateIssueProfile,
+     * then runs issueVc and replays completeVc.
+     */
+    private void issue() {
+        PreparedIssuance issuance = prepareIssueVc();
+        IssueVcResDto response = issueService.issueVc(issueVcRequest(issuance));
+        assertEquals(issuance.txId(), response.getTxId());
+        completeVc(issuance.txId());
+    }
+
+    /**
+     * Replays requestOffer, inspectIssuePropose and generateIssueProfile for a new user.
+     *
+     * @return the issuance, with the session values the holder needs for the issue VC request
+     */
+    private PreparedIssuance prepareIssueVc() {
+        String offerId = UUID.randomUUID().toString();
+        String txId = UUID.randomUUID().toString();
+        String holderDid = "did:omn:" + UUID.randomUUID();
+        String profileId = UUID.randomUUID().toString();
+        String nonce = BaseCryptoUtil.generateNonceWithMultibase(16);
+        EphemeralKey serverKey = keyPoolService.take(EccCurveType.SECP_256_R1);
+        User user = transactionTemplate.execute(status -> userRepository.save(User.builder()
+                .pii(UUID.randomUUID().toString())
+                .did(holderDid)
+                .data(toJson(new InsertUserReqDto()))
+                .build()));
+
+        transactionTemplate.executeWithoutResult(status -> vcOfferRepository.save(VcOffer.builder()
+                .offerId(offerId)
+                .did("did:omn:issuer")
+                .validUntil(Instant.now().plusSeconds(86400L))
+                .offerType(OfferType.ISSUE_OFFER)
+                .vcPlanId(VC_PLAN_ID)
+                .build()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            VcOffer vcOffer = vcOfferRepository.findByOfferId(offerId).orElseThrow();
+            Transaction transaction = transactionService.insertTransaction(Transaction.builder()
+                    .txId(txId)
+                    .refId("ref")
+                    .vcPlanId(VC_PLAN_ID)
+                    .expiredAt(Instant.now().plusSeconds(3600L))
+                    .type(TransactionType.ISSUE_VC)
+                    .status(TransactionStatus.COMPLETED)
+                    .build(), SubTransaction.builder()
+                    .step(1)
+                    .type(SubTransactionType.INSPECT_ISSUE_PROPOSE)
+                    .status(SubTransactionStatus.COMPLETED)
+                    .build());
+            vcOffer.setTransactionId(transaction.getId());
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction transaction = transactionService.validateAndFindTransaction(txId, SubTransactionType.INSPECT_ISSUE_PROPOSE);
+            userRepository.findByDid(holderDid).orElseThrow();
+            sessionStore.save(txId, IssueSession.builder()
+                    .vcProfile(VcProfile.builder()
+                            .profileId(profileId)
+                            .transactionId(transaction.getId())
+                            .did(holderDid)
+                            .nonce(nonce)
+                            .userId(user.getId())
+                            .build())
+                    .e2e(E2E.builder()
+                            .curve("Secp256r1")
+                            .cipher("AES-256-CBC")
+                            .padding("PKCS5")
+                            .nonce(nonce)
+                            .sessionKey(serverKey.getEncodedPrivateKey())
+                            .transactionId(transaction.getId())
+                            .build())
+                    .build());
+            appendStep(transaction, 2, SubTransactionType.GENERATE_ISSUE_PROFILE);
+        });
+        return new PreparedIssuance(txId, profileId, nonce, serverKey.getEncodedPublicKey());
+    }
+
+    /**
+     * Builds the issue VC request of the holder, with the request VC encrypted for the session.
+     *
+     * @param issuance the issuance to request the VC of
+     * @return the request
+     */
+    private IssueVcReqDto issueVcRequest(PreparedIssuance issuance) {
+        EphemeralKey clientKey = keyPoolService.take(EccCurveType.SECP_256_R1);
+        byte[] sharedSecret = BaseCryptoUtil.generateSharedSecret(BaseMultibaseUtil.decode(issuance.serverPublicKey()),
+                BaseMultibaseUtil.decode(clientKey.getEncodedPrivateKey()), EccCurveType.SECP_256_R1);
+        byte[] key = BaseCryptoUtil.mergeSharedSecretAndNonce(sharedSecret, BaseMultibaseUtil.decode(issuance.nonce()),
+                SymmetricCipherType.AES_256_CBC);
+        byte[] iv = BaseCryptoUtil.generateInitialVector();
+        String reqVc = toJson(ReqVc.builder()
+                .refId("ref")
+                .profile(ProfileInfo.builder()
+                        .id(issuance.profileId())
+                        .issuerNonce(issuance.nonce())
+                        .build())
+                .build());
+
+        IssueVcReqDto request = new IssueVcReqDto();
+        request.setId(UUID.randomUUID().toString());
+        request.setTxId(issuance.txId());
+        request.setAccE2e(AccE2e.builder()
+                .publicKey(clientKey.getEncodedPublicKey())
+                .iv(BaseMultibaseUtil.encode(iv))
+                .build());
+        request.setEncReqVc(BaseMultibaseUtil.encode(BaseCryptoUtil.encrypt(reqVc, key, iv,
+                SymmetricCipherType.AES_256_CBC, SymmetricPaddingType.PKCS5)));
+        return request;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return new ObjectMapper().writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void completeVc(String txId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction transaction = transactionService.validateAndFindTransaction(txId, SubTransactionType.ISSUE_VC);
+            transactionService.updateTransactionStatus(transaction, TransactionStatus.FINISH);
+            appendStep(transaction, 4, SubTransactionType.COMPLETE_VC);
+        });
+    }
+
+    private void appendStep(Transaction transaction, int step, SubTransactionType type) {
+        transactionService.insertSubTransaction(transaction, SubTransaction.builder()
+                .step(step)
+                .type(type)
+                .status(SubTransactionStatus.COMPLETED)
+                .build());
+    }
+
+    private record PreparedIssuance(String txId, String profileId, String nonce, String serverPublicKey) {
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(IssueProperty.class)
+    static class IssuanceConfig {
+        @Bean
+        static BeanPostProcessor statementCounter() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof StatementCounter)
+                            ? new StatementCounter(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * DataSource that counts the statements sent to the database and the round-trips they take.
+     * A batch counts each of its statements once and the whole batch as one round-trip.
+     */
+    private static class StatementCounter extends DelegatingDataSource {
+        private int statements;
+        private int roundTrips;
+        private int generatedKeys;
+
+        StatementCounter(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void reset() {
+            statements = 0;
+            roundTrips = 0;
+            generatedKeys = 0;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement) {
+                            if (args != null && args.length > 1 && (Integer.valueOf(Statement.RETURN_GENERATED_KEYS).equals(args[1])
+                                    || args[1] instanceof String[] || args[1] instanceof int[])) {
+                                generatedKeys++;
+                            }
+                            return count(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private Statement count(Statement statement) {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), statementInterfaces(statement),
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "addBatch" -> statements++;
+                            case "executeBatch", "executeLargeBatch" -> roundTrips++;
+                            case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+                                statements++;
+                                roundTrips++;
+                            }
+                            default -> {
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Class<?>[] statementInterfaces(Statement statement) {
+            if (statement instanceof CallableStatement) {
+                return new Class<?>[]{CallableStatement.class};
+            }
+            if (statement instanceof PreparedStatement) {
+                return new Class<?>[]{PreparedStatement.class};
+            }
+            return new Class<?>[]{Statement.class};
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
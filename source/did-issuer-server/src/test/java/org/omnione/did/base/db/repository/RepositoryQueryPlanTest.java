@@ -0,0 +1,341 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.base.db.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression suite for the queries of the repositories in {@code base.db.repository}.
+ * A synthetic dataset is loaded into the Liquibase schema of the JPA slice, each repository method is called once,
+ * and the SQL Hibernate generates for it is captured with a statement inspector.
+ * The captured SQL must use an index and stay within the latency budget on average, run with the parameters of each case.
+ * Every query is run once before any is measured, so JIT compilation of the shared H2 code paths and
+ * the garbage left by the dataset load do not land on whichever query happens to be measured first.
+ * Batch queries return up to a page of rows, so they get a larger budget than the single-row lookups.
+ * Liquibase quotes the reserved table name {@code user} in upper case on H2, so the dataset refers to it as {@code "USER"}.
+ * The dataset size and budget can be raised with {@code -DqueryPlan.rows} and {@code -DqueryPlan.budgetMicros}.
+ */
+@DisplayName("Repository Query Plans")
+@IssuerJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+    private static final int ROWS = Integer.getInteger("queryPlan.rows", 100_000);
+    private static final long BUDGET_MICROS = Long.getLong("queryPlan.budgetMicros", 2_000L);
+    private static final long BATCH_BUDGET_MICROS = BUDGET_MICROS * 5;
+    private static final int WARMUP = 500;
+    private static final int MEASURED = 2000;
+    private static final int PAGE = 500;
+    private static final int OUTBOX_PAGE = 50;
+    private static final String VC_PLAN_ID = "vcplanid000000000002";
+    private static final List<VcMetaOutboxStatus> UNFINISHED = List.of(VcMetaOutboxStatus.PENDING, VcMetaOutboxStatus.IN_FLIGHT);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+    @Autowired
+    private CertificateVcRepository certificateVcRepository;
+    @Autowired
+    private E2ERepository e2ERepository;
+    @Autowired
+    private RevokeVcRepository revokeVcRepository;
+    @Autowired
+    private SubTransactionRepository subTransactionRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VcMetaOutboxRepository vcMetaOutboxRepository;
+    @Autowired
+    private VcOfferRepository vcOfferRepository;
+    @Autowired
+    private VcProfileRepository vcProfileRepository;
+    @Autowired
+    private VcRepository vcRepository;
+
+    private final Map<String, String> capturedSql = new HashMap<>();
+    private Connection connection;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        connection = dataSource.getConnection();
+        loadDataset();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (QueryCase queryCase : repositoryQueries().toList()) {
+            statementInspector.statements.clear();
+            transactionTemplate.executeWithoutResult(status -> queryCase.call().accept(ROWS / 2));
+            assertEquals(1, statementInspector.statements.size(),
+                    queryCase.name() + " should run one statement: " + statementInspector.statements);
+            String sql = statementInspector.statements.get(0);
+            assertEquals(queryCase.parameters().apply(ROWS / 2).length, sql.chars().filter(c -> c == '?').count(),
+                    queryCase.name() + " binds other parameters than the case: " + sql);
+            capturedSql.put(queryCase.name(), sql);
+        }
+
+        for (QueryCase queryCase : repositoryQueries().toList()) {
+            try (PreparedStatement statement = connection.prepareStatement(capturedSql.get(queryCase.name()))) {
+                for (int i = 0; i < WARMUP; i++) {
+                    execute(statement, queryCase);
+                }
+            }
+        }
+        System.gc();
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    Stream<QueryCase> repositoryQueries() {
+        return Stream.of(
+                new QueryCase("CertificateVcRepository.findFirstByOrderByCreatedAtDesc",
+                        i -> certificateVcRepository.findFirstByOrderByCreatedAtDesc(), i -> new Object[]{1}),
+                new QueryCase("E2ERepository.findByTransactionId",
+                        i -> e2ERepository.findByTransactionId((long) i), i -> new Object[]{(long) i}),
+                new QueryCase("E2ERepository.findByTxId",
+                        i -> e2ERepository.findByTxId("tx-" + i), i -> new Object[]{"tx-" + i}),
+                new QueryCase("RevokeVcRepository.findByTransactionId",
+                        i -> revokeVcRepository.findByTransactionId((long) i), i -> new Object[]{(long) i}),
+                new QueryCase("RevokeVcRepository.findByVcId",
+                        i -> revokeVcRepository.findByVcId("vc-" + i), i -> new Object[]{"vc-" + i}),
+                new QueryCase("SubTransactionRepository.findFirstByTransactionIdOrderByStepDesc",
+                        i -> subTransactionRepository.findFirstByTransactionIdOrderByStepDesc((long) i),
+                        i -> new Object[]{(long) i, 1}),
+                new QueryCase("TransactionRepository.findByTxId",
+                        i -> transactionRepository.findByTxId("tx-" + i), i -> new Object[]{"tx-" + i}),
+                new QueryCase("TransactionRepository.findIdsExpiredBefore",
+                        i -> transactionRepository.findIdsExpiredBefore(purgeCutoff(), PageRequest.of(0, PAGE)),
+                        i -> new Object[]{Timestamp.from(purgeCutoff()), 0, PAGE}, BATCH_BUDGET_MICROS),
+                new QueryCase("TransactionRepository.findIssueVcWorkingSetByUserId",
+                        i -> transactionRepository.findIssueVcWorkingSetByUserId("tx-" + i, (long) i),
+                        i -> new Object[]{(long) i, "tx-" + i}),
+                new QueryCase("TransactionRepository.findIssueVcWorkingSetByDid",
+                        i -> transactionRepository.findIssueVcWorkingSetByDid("tx-" + i, "did:omn:holder-" + i),
+                        i -> new Object[]{"did:omn:holder-" + i, "tx-" + i}),
+                new QueryCase("TransactionRepository.findIssueVcSessionWorkingSetByUserId",
+                        i -> transactionRepository.findIssueVcSessionWorkingSetByUserId("tx-" + i), i -> new Object[]{"tx-" + i}),
+                new QueryCase("TransactionRepository.findIssueVcSessionWorkingSetByDid",
+                        i -> transactionRepository.findIssueVcSessionWorkingSetByDid("tx-" + i), i -> new Object[]{"tx-" + i}),
+                new QueryCase("UserRepository.findByPii",
+                        i -> userRepository.findByPii("pii-" + i), i -> new Object[]{"pii-" + i}),
+                new QueryCase("UserRepository.findByDid",
+                        i -> userRepository.findByDid("did:omn:holder-" + i), i -> new Object[]{"did:omn:holder-" + i}),
+                new QueryCase("VcMetaOutboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc",
+                        i -> vcMetaOutboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByIdAsc(UNFINISHED,
+                                Instant.now(), PageRequest.of(0, OUTBOX_PAGE)),
+                        i -> new Object[]{"PENDING", "IN_FLIGHT", Timestamp.from(Instant.now()), 0, OUTBOX_PAGE}, BATCH_BUDGET_MICROS),
+                new QueryCase("VcMetaOutboxRepository.findFirstIdByVcIdInAndStatusIn",
+                        i -> vcMetaOutboxRepository.findFirstIdByVcIdInAndStatusIn(
+                                List.of("vc-" + i, "vc-" + (i + 1), "vc-" + (i + 2)), UNFINISHED),
+                        i -> new Object[]{"vc-" + i, "vc-" + (i + 1), "vc-" + (i + 2), "PENDING", "IN_FLIGHT"}, BATCH_BUDGET_MICROS),
+                new QueryCase("VcMetaOutboxRepository.findFirstByVcIdOrderByIdDesc",
+                        i -> vcMetaOutboxRepository.findFirstByVcIdOrderByIdDesc("vc-" + i), i -> new Object[]{"vc-" + i, 1}),
+                new QueryCase("VcOfferRepository.findByOfferId",
+                        i -> vcOfferRepository.findByOfferId("offer-" + i), i -> new Object[]{"offer-" + i}),
+                new QueryCase("VcOfferRepository.findUnusedIdsValidUntilBefore",
+                        i -> vcOfferRepository.findUnusedIdsValidUntilBefore(purgeCutoff(), PageRequest.of(0, PAGE)),
+                        i -> new Object[]{Timestamp.from(purgeCutoff()), 0, PAGE}, BATCH_BUDGET_MICROS),
+                new QueryCase("VcProfileRepository.findByTransactionId",
+                        i -> vcProfileRepository.findByTransactionId((long) i), i -> new Object[]{(long) i}),
+                new QueryCase("VcProfileRepository.findByTxId",
+                        i -> vcProfileRepository.findByTxId("tx-" + i), i -> new Object[]{"tx-" + i}),
+                new QueryCase("VcRepository.findByVcId",
+                        i -> vcRepository.findByVcId("vc-" + i), i -> new Object[]{"vc-" + i}),
+                new QueryCase("VcRepository.findByUserId",
+                        i -> vcRepository.findByUserId((long) i), i -> new Object[]{(long) i}),
+                new QueryCase("VcRepository.findByUserIdAndVcPlanId",
+                        i -> vcRepository.findByUserIdAndVcPlanId((long) i, VC_PLAN_ID), i -> new Object[]{(long) i, VC_PLAN_ID}),
+                new QueryCase("VcRepository.findByTxId",
+                        i -> vcRepository.findByTxId("tx-" + i), i -> new Object[]{"tx-" + i})
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("Repository query uses an index and stays within the latency budget")
+    void queryUsesIndex(QueryCase queryCase) throws Exception {
+        String sql = capturedSql.get(queryCase.name());
+        String plan = explain(sql, queryCase);
+        assertFalse(plan.toLowerCase(Locale.ROOT).contains("tablescan"),
+                queryCase.name() + " scans the whole table:\n" + plan);
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP; i++) {
+                execute(statement, queryCase);
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < MEASURED; i++) {
+                execute(statement, queryCase);
+            }
+            long averageMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started) / MEASURED;
+            assertTrue(averageMicros <= queryCase.budgetMicros(),
+                    queryCase.name() + " took " + averageMicros + "us on average, budget is " + queryCase.budgetMicros() + "us");
+        }
+    }
+
+    private String explain(String sql, QueryCase queryCase) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+            bind(statement, queryCase.parameters().apply(ROWS / 2));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private void execute(PreparedStatement statement, QueryCase queryCase) throws Exception {
+        bind(statement, queryCase.parameters().apply(ThreadLocalRandom.current().nextInt(1, ROWS + 1)));
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                resultSet.getObject(1);
+            }
+        }
+    }
+
+    private void bind(PreparedStatement statement, Object[] parameters) throws Exception {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static Instant purgeCutoff() {
+        return Instant.now().minus(Duration.ofDays(7));
+    }
+
+    /**
+     * Loads ROWS issuance flows: a transaction with three sub transactions, an offer, a profile, an E2E row,
+     * a user with one VC, a revocation and an outbox entry. One in a thousand outbox entries is still pending.
+     */
+    private void loadDataset() throws Exception {
+        List<String> inserts = List.of(
+                "insert into transaction (tx_id, type, status, vc_plan_id, expired_at) "
+                        + "select 'tx-' || x, 'ISSUE_VC', 'COMPLETED', 'vcplanid000000000002', current_timestamp from %1$s",
+                "insert into sub_transaction (step, type, status, transaction_id) "
+                        + "select s.x, 'ISSUE_VC', 'COMPLETED', t.x from %1$s t cross join %2$s s",
+                "insert into vc_offer (offer_id, vc_plan_id, offer_type, did, valid_until, transaction_id) "
+                        + "select 'offer-' || x, 'vcplanid000000000002', 'ISSUE_OFFER', 'did:omn:issuer', current_timestamp, x from %1$s",
+                "insert into \"USER\" (pii, did, data) select 'pii-' || x, 'did:omn:holder-' || x, '{}' from %1$s",
+                "insert into vc_profile (profile_id, did, nonce, transaction_id, user_id) "
+                        + "select 'profile-' || x, 'did:omn:holder-' || x, 'nonce-' || x, x, x from %1$s",
+                "insert into e2e (session_key, nonce, curve, cipher, padding, transaction_id) "
+                        + "select 'session-' || x, 'nonce-' || x, 'Secp256r1', 'AES-256-CBC', 'PKCS5', x from %1$s",
+                "insert into vc (did, vc_id, issued_at, expired_at, user_id, vc_plan_id, tx_id) "
+                        + "select 'did:omn:holder-' || x, 'vc-' || x, current_timestamp, current_timestamp, x, "
+                        + "case when mod(x, 2) = 0 then 'vcplanid000000000001' else 'vcplanid000000000002' end, 'tx-' || x from %1$s",
+                "insert into revoke_vc (nonce, vc_id, status, transaction_id) "
+                        + "select 'revoke-nonce-' || x, 'vc-' || x, 'REVOKED', x from %1$s",
+                "insert into vc_meta_outbox (vc_id, operation, payload, status, attempts, next_attempt_at) "
+                        + "select 'vc-' || x, 'REGISTER_VC_META', '{}', case when mod(x, 1000) = 0 then 'PENDING' else 'COMPLETED' end, 0, "
+                        + "current_timestamp from %1$s",
+                "insert into certificate_vc (vc, created_at) "
+                        + "select '{}', dateadd('SECOND', x, timestamp '2024-01-01 00:00:00') from %1$s"
+        );
+        try (Statement statement = connection.createStatement()) {
+            for (String insert : inserts) {
+                statement.execute(String.format(insert, range(ROWS), range(3)));
+            }
+            statement.execute("analyze");
+        }
+    }
+
+    private static String range(int size) {
+        return "system_range(1, " + size + ")";
+    }
+
+    /**
+     * A repository query: the repository call that generates its SQL and the JDBC parameters of that SQL for a row of the dataset.
+     */
+    record QueryCase(String name, IntConsumer call, IntFunction<Object[]> parameters, long budgetMicros) {
+        QueryCase(String name, IntConsumer call, IntFunction<Object[]> parameters) {
+            this(name, call, parameters, BUDGET_MICROS);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate prepares.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class StatementInspectorConfig {
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector statementInspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.RepositoryProperty;
+import org.omnione.did.base.util.FutureUtil;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.provider.Provider;
+import org.omnione.did.data.model.vc.CredentialSchema;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.RepositoryServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Repository Async Client")
+class RepositoryAsyncClientTest {
+    private static final String HOLDER_DID_DOC = """
+            {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["pin"],"authentication":["pin"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:holder","keyAgreement":["keyagree"],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:holder","id":"pin","publicKeyMultibase":"z27ynpQpiC4sTdUrchjPkHLb5vFHzW8TSjbKz3vDV2eDSU","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:holder","id":"keyagree","publicKeyMultibase":"z27ynpQpiC4sTdUrchjPkHLb5vFHzW8TSjbKz3vDV2eDSU","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
+            """;
+
+    private StubRepositoryServer server;
+    private RepositoryAsyncClient client;
+    private RepositoryServiceImpl repositoryService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubRepositoryServer();
+        RepositoryProperty property = new RepositoryProperty();
+        property.setUrl(server.getUrl());
+        property.setMaxConnections(4);
+        property.setMaxConnectionsPerRoute(4);
+        property.setConnectionRequestTimeout(Duration.ofSeconds(10));
+        client = new RepositoryAsyncClient(property, new ObjectMapper());
+        repositoryService = new RepositoryServiceImpl(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("VC meta and DID documents round trip through the repository API")
+    void roundTrip() {
+        server.putDidDoc("did:omn:holder", HOLDER_DID_DOC);
+        repositoryService.registerVcMeta(vcMeta("vc-1"));
+
+        DidDocument didDocument = FutureUtil.join(repositoryService.findDidDocAsync("did:omn:holder?versionId=1#pin"));
+        assertEquals("did:omn:holder", didDocument.getId());
+
+        assertEquals(VcStatus.ACTIVE.getRawValue(), repositoryService.getVcMetByVcId("vc-1").getStatus());
+        FutureUtil.join(repositoryService.updateVcStatusAsync("vc-1", VcStatus.REVOKED));
+        assertEquals(VcStatus.REVOKED.getRawValue(), repositoryService.getVcMetByVcId("vc-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Error responses fail the future with the repository error")
+    void errorMapping() {
+        OpenDidException notFound = assertThrows(OpenDidException.class,
+                () -> FutureUtil.join(client.getVcMetaData("vc-unknown")));
+        assertEquals("SSRVREP00404", notFound.getErrorResponse().getCode());
+
+        OpenDidException didDocNotFound = assertThrows(OpenDidException.class,
+                () -> repositoryService.findDidDoc("did:omn:unknown#pin"));
+        assertEquals("SSRVREP00404", didDocNotFound.getErrorResponse().getCode());
+        assertEquals(404, didDocNotFound.getHttpStatus());
+    }
+
+    @Test
+    @DisplayName("Concurrent calls are capped by the pool and reuse keep-alive connections")
+    void pooledConnections() {
+        repositoryService.registerVcMeta(vcMeta("vc-1"));
+        server.setLatency(Duration.ofMillis(50));
+
+        List<CompletableFuture<VcMeta>> lookups = IntStream.range(0, 40)
+                .mapToObj(i -> repositoryService.getVcMetByVcIdAsync("vc-1"))
+                .toList();
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(41, server.getRequestCount());
+        assertTrue(server.getMaxInFlight() <= 4, "max in flight: " + server.getMaxInFlight());
+        assertTrue(server.getMaxInFlight() > 1, "max in flight: " + server.getMaxInFlight());
+        assertTrue(server.getClientPorts().size() <= 4, "connections: " + server.getClientPorts().size());
+    }
+
+    private static VcMeta vcMeta(String vcId) {
+        Provider issuer = new Provider();
+        issuer.setDid("did:omn:issuer");
+        issuer.setCertVcRef("http://127.0.0.1:8091/issuer/api/v1/certificate-vc");
+
+        CredentialSchema credentialSchema = new CredentialSchema();
+        credentialSchema.setId("http://127.0.0.1:8091/issuer/api/v1/vc/vcschema?name=mdl");
+        credentialSchema.setType("OsdSchemaCredential");
+
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId(vcId);
+        vcMeta.setIssuer(issuer);
+        vcMeta.setSubject("did:omn:holder");
+        vcMeta.setCredentialSchema(credentialSchema);
+        vcMeta.setStatus(VcStatus.ACTIVE.getRawValue());
+        vcMeta.setIssuanceDate("2024-07-12T08:35:16Z");
+        vcMeta.setValidFrom("2024-07-12T08:35:16Z");
+        vcMeta.setValidUntil("2025-07-12T08:35:16Z");
+        vcMeta.setFormatVersion("1.0");
+        vcMeta.setLanguage("ko");
+        return vcMeta;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the repository server, for tests and benchmarks.
+ * Serves the DID document and VC meta API of the repository from memory, after an optional
+ * artificial latency, and records the peak number of concurrent requests and the client ports seen.
+ */
+public class StubRepositoryServer implements AutoCloseable {
+    private static final String API_PATH = "/repository/api/v1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> didDocs = new ConcurrentHashMap<>();
+    private final Map<String, ObjectNode> vcMetas = new ConcurrentHashMap<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-repository");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+    private volatile Duration latency = Duration.ZERO;
+
+    static {
+        // Without it, small responses wait for the client's delayed ACK and every call takes ~40ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    public StubRepositoryServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(API_PATH + "/did-doc", this::handleDidDoc);
+        server.createContext(API_PATH + "/vc-meta", this::handleVcMeta);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the server, to be used as the repository URL.
+     *
+     * @return The base URL.
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/repository";
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    public void putDidDoc(String did, String didDocJson) {
+        didDocs.put(did, BaseMultibaseUtil.encode(didDocJson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    public Set<Integer> getClientPorts() {
+        return clientPorts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleDidDoc(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> {
+            String didDoc = didDocs.get(queryParam(exchange, "did"));
+            if (didDoc == null) {
+                return notFound(exchange, "DID document not found.");
+            }
+            return respond(exchange, 200, objectMapper.createObjectNode().put("didDoc", didDoc).toString());
+        });
+    }
+
+    private void handleVcMeta(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> switch (exchange.getRequestMethod()) {
+            case "GET" -> {
+                ObjectNode vcMeta = vcMetas.get(queryParam(exchange, "vcId"));
+                if (vcMeta == null) {
+                    yield notFound(exchange, "VC meta not found.");
+                }
+                String encoded = BaseMultibaseUtil.encode(vcMeta.toString().getBytes(StandardCharsets.UTF_8));
+                yield respond(exchange, 200, objectMapper.createObjectNode().put("vcMeta", encoded).toString());
+            }
+            case "POST" -> {
+                ObjectNode vcMeta = (ObjectNode) objectMapper.readTree(exchange.getRequestBody());
+                vcMetas.put(vcMeta.get("id").asText(), vcMeta);
+                yield respond(exchange, 200, "");
+            }
+            case "PUT" -> {
+                ObjectNode request = (ObjectNode) objectMapper.readTree(exchange.getRequestBody());
+                ObjectNode vcMeta = vcMetas.get(request.get("vcId").asText());
+                if (vcMeta == null) {
+                    yield notFound(exchange, "VC meta not found.");
+                }
+                vcMeta.put("status", request.get("vcStatus").asText());
+                yield respond(exchange, 200, "");
+            }
+            default -> respond(exchange, 405, "");
+        });
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            handler.handle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private Void notFound(HttpExchange exchange, String description) throws IOException {
+        return respond(exchange, 404, objectMapper.createObjectNode()
+                .put("code", "SSRVREP00404")
+                .put("description", description)
+                .toString());
+    }
+
+    private static Void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        return null;
+    }
+
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Void handle() throws IOException;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.VcStatusBulkProperty;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.issuer.v1.dto.vc.BulkUpdateVcStatusItemDto;
+import org.omnione.did.issuer.v1.dto.vc.BulkUpdateVcStatusResDto;
+import org.omnione.did.issuer.v1.dto.vc.UpdateVcStatusReqDto;
+import org.omnione.did.issuer.v1.dto.vc.UpdateVcStatusResDto;
+import org.omnione.did.issuer.v1.service.VcStatusService;
+import org.omnione.did.issuer.v1.service.query.VcStatusJobQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs bulk VC status jobs against the Liquibase schema on H2.
+ */
+@DisplayName("VC Status Bulk")
+@IssuerJpaTest
+@Import(VcStatusJobQueryService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VcStatusBulkTest {
+    private static final int CHUNK_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VcStatusJobQueryService vcStatusJobQueryService;
+    private final Map<String, List<VcStatus>> applied = Collections.synchronizedMap(new HashMap<>());
+    private final Set<String> revoked = new HashSet<>();
+    private VcStatusBulkService vcStatusBulkService;
+
+    @BeforeAll
+    void setUp() {
+        VcStatusService vcStatusService = mock(VcStatusService.class);
+        when(vcStatusService.updateVcStatus(any())).thenAnswer(invocation -> {
+            UpdateVcStatusReqDto request = invocation.getArgument(0);
+            if (revoked.contains(request.getVcId())) {
+                throw new OpenDidException(ErrorCode.REVOKED_VC);
+            }
+            applied.computeIfAbsent(request.getVcId(), vcId -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(request.getVcStatus());
+            return UpdateVcStatusResDto.builder().build();
+        });
+
+        VcStatusBulkProperty property = new VcStatusBulkProperty();
+        property.setChunkSize(CHUNK_SIZE);
+        property.setParallelism(4);
+        property.setMaxItems(500);
+        vcStatusBulkService = new VcStatusBulkService(vcStatusService, vcStatusJobQueryService, property, new ObjectMapper());
+        vcStatusBulkService.start();
+    }
+
+    @AfterAll
+    void tearDown() {
+        vcStatusBulkService.stop();
+    }
+
+    @BeforeEach
+    void clear() {
+        applied.clear();
+        revoked.clear();
+    }
+
+    @Test
+    @DisplayName("Every item is processed and its result is reported")
+    void processesItems() throws Exception {
+        revoked.add("vc-7");
+        List<UpdateVcStatusReqDto> items = new ArrayList<>(IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> item("vc-" + i, VcStatus.INACTIVE))
+                .toList());
+        items.add(item("vc-1", VcStatus.ACTIVE));
+        items.add(item("vc-1", VcStatus.REVOKED));
+
+        BulkUpdateVcStatusResDto submitted = vcStatusBulkService.submit(null, items);
+        assertNotNull(submitted.getJobId());
+        assertEquals(122, submitted.getTotal());
+
+        BulkUpdateVcStatusResDto job = awaitCompleted(submitted.getJobId());
+        assertEquals(121, job.getSucceeded());
+        assertEquals(1, job.getFailed());
+        assertEquals(0, job.getPending());
+        assertEquals(List.of(VcStatus.INACTIVE, VcStatus.ACTIVE, VcStatus.REVOKED), applied.get("vc-1"));
+
+        BulkUpdateVcStatusItemDto failed = job.getItems().get(6);
+        assertEquals("vc-7", failed.getVcId());
+        assertEquals("FAILED", failed.getResult());
+        assertEquals(ErrorCode.REVOKED_VC.getCode(), failed.getErrorCode());
+        assertEquals(2, vcStatusBulkService.getJob(submitted.getJobId(), 2, 60).getItems().size());
+    }
+
+    @Test
+    @DisplayName("NDJSON items can be added to a job in several requests")
+    void appendsNdjson() throws Exception {
+        BulkUpdateVcStatusResDto first = vcStatusBulkService.submitNdjson(null, ndjson(
+                "{\"vcId\":\"vc-a\",\"vcStatus\":\"INACTIVE\"}\n\n{\"vcId\":\"vc-b\",\"vcStatus\":\"INACTIVE\"}\n"));
+        vcStatusBulkService.submitNdjson(first.getJobId(), ndjson("{\"vcId\":\"vc-a\",\"vcStatus\":\"ACTIVE\"}"));
+
+        BulkUpdateVcStatusResDto job = awaitCompleted(first.getJobId());
+        assertEquals(3, job.getSucceeded());
+        assertEquals(List.of(1, 2, 3), job.getItems().stream().map(BulkUpdateVcStatusItemDto::getSeq).toList());
+        assertEquals(List.of(VcStatus.INACTIVE, VcStatus.ACTIVE), applied.get("vc-a"));
+    }
+
+    @Test
+    @DisplayName("An interrupted job is resumed by its job ID")
+    void resumesPendingItems() throws Exception {
+        String jobId = vcStatusJobQueryService.appendItems(null,
+                List.of(item("vc-r1", VcStatus.INACTIVE), item("vc-r2", VcStatus.INACTIVE)).iterator(), CHUNK_SIZE, 500)
+                .getJobId();
+        assertEquals(2, vcStatusBulkService.getJob(jobId, 0, 10).getPending());
+
+        vcStatusBulkService.resume(jobId);
+
+        assertEquals(2, awaitCompleted(jobId).getSucceeded());
+    }
+
+    @Test
+    @DisplayName("A job leased by another node is left to it and taken over once the lease expires")
+    void takesOverExpiredLease() throws Exception {
+        String jobId = vcStatusJobQueryService.appendItems(null,
+                List.of(item("vc-l1", VcStatus.INACTIVE)).iterator(), CHUNK_SIZE, 500).getJobId();
+        jdbcTemplate.update("update vc_status_job set lease_owner = 'other-node', lease_until = ? where job_id = ?",
+                Timestamp.from(Instant.now().plusSeconds(3600)), jobId);
+
+        vcStatusBulkService.resume(jobId);
+        vcStatusBulkService.recover();
+        Thread.sleep(200);
+        assertEquals(1, vcStatusBulkService.getJob(jobId, 0, 10).getPending());
+
+        jdbcTemplate.update("update vc_status_job set lease_until = ? where job_id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), jobId);
+        vcStatusBulkService.recover();
+
+        assertEquals(1, awaitCompleted(jobId).getSucceeded());
+        assertEquals(0, count("vc_status_job where lease_owner is not null"));
+    }
+
+    @Test
+    @DisplayName("A submission that is too large or invalid is rejected as a whole")
+    void rejectsInvalidSubmission() {
+        int jobs = count("vc_status_job");
+        int items = count("vc_status_job_item");
+        List<UpdateVcStatusReqDto> tooMany = IntStream.rangeClosed(1, 501)
+                .mapToObj(i -> item("vc-" + i, VcStatus.INACTIVE))
+                .toList();
+
+        OpenDidException e = assertThrows(OpenDidException.class, () -> vcStatusBulkService.submit(null, tooMany));
+        assertEquals(ErrorCode.VC_STATUS_BULK_TOO_LARGE, e.getErrorCode());
+        e = assertThrows(OpenDidException.class, () -> vcStatusBulkService.submitNdjson(null, ndjson("{\"vcId\":")));
+        assertEquals(ErrorCode.REQUEST_BODY_UNREADABLE, e.getErrorCode());
+        e = assertThrows(OpenDidException.class, () -> vcStatusBulkService.resume("unknown-job"));
+        assertEquals(ErrorCode.VC_STATUS_JOB_NOT_FOUND, e.getErrorCode());
+
+        assertEquals(jobs, count("vc_status_job"));
+        assertEquals(items, count("vc_status_job_item"));
+    }
+
+    private BulkUpdateVcStatusResDto awaitCompleted(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        BulkUpdateVcStatusResDto job = vcStatusBulkService.getJob(jobId, 0, 1000);
+        while (!"COMPLETED".equals(job.getStatus()) || job.getPending() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "job did not complete: " + job);
+            Thread.sleep(20);
+            job = vcStatusBulkService.getJob(jobId, 0, 1000);
+        }
+        return job;
+    }
+
+    private static UpdateVcStatusReqDto item(String vcId, VcStatus vcStatus) {
+        UpdateVcStatusReqDto item = new UpdateVcStatusReqDto();
+        item.setVcId(vcId);
+        item.setVcStatus(vcStatus);
+        return item;
+    }
+
+    private static ByteArrayInputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.profile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.constants.VcPlanId;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.common.util.JsonUtil;
+import org.omnione.did.data.model.did.Proof;
+import org.omnione.did.data.model.profile.ReqE2e;
+import org.omnione.did.data.model.profile.issue.InnerIssueProfile;
+import org.omnione.did.data.model.profile.issue.IssueProcess;
+import org.omnione.did.data.model.profile.issue.IssueProfile;
+import org.omnione.did.data.model.provider.ProviderDetail;
+import org.omnione.did.data.model.vc.CredentialSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Issue Profile Template")
+class IssueProfileTemplateTest {
+    private static final int THREADS = 16;
+    private static final int PROFILES_PER_THREAD = 50;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private IssueProfileTemplateRegistry registry;
+    private KeyPair signKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        IssueProfile configured = configuredProfile("AES-256-CBC");
+        Map<VcPlanId, IssueProfile> profiles = new EnumMap<>(VcPlanId.class);
+        profiles.put(VcPlanId.VCPLANID000000000002, configured);
+        IssueProperty issueProperty = new IssueProperty();
+        issueProperty.setProfiles(profiles);
+        registry = new IssueProfileTemplateRegistry(issueProperty);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        signKey = generator.generateKeyPair();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrently generated and signed profiles stay internally consistent")
+    void concurrentProfilesAreConsistent() throws Exception {
+        IssueProfileTemplate template = registry.getTemplate(VcPlanId.VCPLANID000000000002.getLabel());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Expected>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Expected> generated = new ArrayList<>();
+                for (int i = 0; i < PROFILES_PER_THREAD; i++) {
+                    String suffix = thread + "-" + i;
+                    IssueProfile profile = template.newInstance("profile-" + suffix, "zKey" + suffix, "zNonce" + suffix);
+                    sign(profile);
+                    generated.add(new Expected(profile, "profile-" + suffix, "zKey" + suffix, "zNonce" + suffix));
+                }
+                return generated;
+            }));
+        }
+        start.countDown();
+
+        int verified = 0;
+        for (Future<List<Expected>> future : futures) {
+            for (Expected expected : future.get(30, TimeUnit.SECONDS)) {
+                IssueProfile profile = expected.profile();
+                ReqE2e reqE2e = profile.getProfile().getProcess().getReqE2e();
+                assertEquals(expected.id(), profile.getId());
+                assertEquals(expected.publicKey(), reqE2e.getPublicKey());
+                assertEquals(expected.nonce(), reqE2e.getNonce());
+                assertEquals(expected.nonce(), profile.getProfile().getProcess().getIssuerNonce());
+                assertTrue(verify(profile), "Signature does not match profile " + expected.id());
+                verified++;
+            }
+        }
+        assertEquals(THREADS * PROFILES_PER_THREAD, verified);
+    }
+
+    @Test
+    @DisplayName("Per-request instances do not change the template")
+    void instancesDoNotChangeTemplate() {
+        IssueProfileTemplate template = registry.getTemplate(VcPlanId.VCPLANID000000000002.getLabel());
+
+        IssueProfile first = template.newInstance("profile-1", "zKey1", "zNonce1");
+        IssueProfile second = template.newInstance("profile-2", "zKey2", "zNonce2");
+        sign(first);
+
+        assertNotSame(first.getProfile().getProcess().getReqE2e(), second.getProfile().getProcess().getReqE2e());
+        assertSame(first.getProfile().getIssuer(), second.getProfile().getIssuer());
+        assertNull(second.getProof());
+        assertEquals("zNonce2", second.getProfile().getProcess().getIssuerNonce());
+        assertThrows(UnsupportedOperationException.class, () -> first.getProfile().getProcess().getEndpoints().add("x"));
+        assertEquals("Secp256r1", template.getCurve());
+    }
+
+    @Test
+    @DisplayName("Incomplete configured profiles are rejected at startup")
+    void incompleteProfileRejected() {
+        IssueProfile configured = configuredProfile("DES");
+        IssueProperty issueProperty = new IssueProperty();
+        issueProperty.setProfiles(Map.of(VcPlanId.VCPLANID000000000001, configured));
+
+        assertThrows(IllegalStateException.class, () -> new IssueProfileTemplateRegistry(issueProperty));
+    }
+
+    private IssueProfile configuredProfile(String cipher) {
+        ProviderDetail issuer = new ProviderDetail();
+        issuer.setDid("did:omn:issuer");
+        issuer.setName("issuer");
+        issuer.setCertVcRef("http://127.0.0.1:8091/issuer/api/v1/certificate-vc");
+
+        CredentialSchema credentialSchema = new CredentialSchema();
+        credentialSchema.setId("http://127.0.0.1:8091/issuer/api/v1/vc/vcschema?name=national_id");
+        credentialSchema.setType("OsdSchemaCredential");
+
+        ReqE2e reqE2e = new ReqE2e();
+        reqE2e.setCurve("Secp256r1");
+        reqE2e.setCipher(cipher);
+        reqE2e.setPadding("PKCS5");
+
+        IssueProcess process = new IssueProcess();
+        process.setEndpoints(new ArrayList<>(List.of("http://127.0.0.1:8091/issuer")));
+        process.setReqE2e(reqE2e);
+
+        InnerIssueProfile inner = new InnerIssueProfile();
+        inner.setIssuer(issuer);
+        inner.setCredentialSchema(credentialSchema);
+        inner.setProcess(process);
+
+        IssueProfile profile = new IssueProfile();
+        profile.setType("IssueProfile");
+        profile.setTitle("National ID");
+        profile.setDescription("National ID");
+        profile.setEncoding("UTF-8");
+        profile.setLanguage("ko");
+        profile.setProfile(inner);
+        return profile;
+    }
+
+    private void sign(IssueProfile profile) {
+        Proof proof = new Proof();
+        proof.setType("Secp256r1Signature2018");
+        proof.setProofPurpose("assertionMethod");
+        proof.setVerificationMethod("did:omn:issuer#assert");
+        profile.setProof(proof);
+        try {
+            Signature signature = Signature.getInstance("SHA256withECDSA");
+            signature.initSign(signKey.getPrivate());
+            signature.update(JsonUtil.serializeAndSort(profile).getBytes(StandardCharsets.UTF_8));
+            proof.setProofValue(Base64.getEncoder().encodeToString(signature.sign()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean verify(IssueProfile profile) throws Exception {
+        Proof proof = profile.getProof();
+        String proofValue = proof.getProofValue();
+        proof.setProofValue(null);
+        try {
+            Signature signature = Signature.getInstance("SHA256withECDSA");
+            signature.initVerify(signKey.getPublic());
+            signature.update(JsonUtil.serializeAndSort(profile).getBytes(StandardCharsets.UTF_8));
+            return signature.verify(Base64.getDecoder().decode(proofValue));
+        } finally {
+            proof.setProofValue(proofValue);
+        }
+    }
+
+    private record Expected(IssueProfile profile, String id, String publicKey, String nonce) {
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.property.PurgeProperty;
+import org.omnione.did.issuer.v1.service.TransactionPurgeJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the expired transaction purge against the Liquibase schema on H2.
+ */
+@DisplayName("Transaction Purge")
+@IssuerJpaTest
+@Import(TransactionPurgeQueryService.class)
+class TransactionPurgeTest {
+    private static final int EXPIRED = 250;
+    private static final int LIVE = 40;
+    private static final int UNUSED_OFFERS = 30;
+    private static final int CHUNK_SIZE = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionPurgeQueryService transactionPurgeQueryService;
+
+    @BeforeEach
+    void loadDataset() {
+        for (String table : new String[]{"sub_transaction", "e2e", "vc_profile", "vc_offer", "transaction"}) {
+            jdbcTemplate.update("delete from " + table);
+        }
+        // Transactions 1..EXPIRED expired 30 days ago, the following LIVE transactions expire in an hour.
+        jdbcTemplate.update("insert into transaction (id, tx_id, type, status, vc_plan_id, expired_at) "
+                + "select x, 'tx-' || x, 'VC_ISSUE', 'COMPLETED', 'vcplanid000000000001', "
+                + "case when x <= ? then dateadd('DAY', -30, current_timestamp) else dateadd('HOUR', 1, current_timestamp) end "
+                + "from system_range(1, ?)", EXPIRED, EXPIRED + LIVE);
+        jdbcTemplate.update("insert into sub_transaction (step, type, status, transaction_id) "
+                + "select s.x, 'ISSUE_VC', 'COMPLETED', t.id from transaction t cross join system_range(1, 3) s");
+        jdbcTemplate.update("insert into e2e (session_key, nonce, curve, cipher, padding, transaction_id) "
+                + "select 'session-' || id, 'nonce', 'Secp256r1', 'AES-256-CBC', 'PKCS5', id from transaction");
+        jdbcTemplate.update("insert into vc_profile (profile_id, did, nonce, transaction_id, user_id) "
+                + "select 'profile-' || id, 'did:omn:holder', 'nonce', id, id from transaction");
+        jdbcTemplate.update("insert into vc_offer (offer_id, vc_plan_id, offer_type, did, valid_until, transaction_id) "
+                + "select 'offer-' || id, 'vcplanid000000000001', 'IssueOffer', 'did:omn:issuer', expired_at, id from transaction");
+        jdbcTemplate.update("insert into vc_offer (offer_id, vc_plan_id, offer_type, did, valid_until) "
+                + "select 'unused-offer-' || x, 'vcplanid000000000001', 'IssueOffer', 'did:omn:issuer', "
+                + "case when mod(x, 2) = 0 then dateadd('DAY', -30, current_timestamp) else dateadd('HOUR', 1, current_timestamp) end "
+                + "from system_range(1, ?)", UNUSED_OFFERS);
+    }
+
+    @Test
+    @DisplayName("Expired transactions and their rows are purged, live ones are kept")
+    void purgesExpiredTransactions() {
+        PurgeResult result = newJob(10).purge();
+
+        assertEquals(EXPIRED, result.getTransactions());
+        assertEquals(EXPIRED * 3, result.getSubTransactions());
+        assertEquals(EXPIRED, result.getE2es());
+        assertEquals(EXPIRED, result.getVcProfiles());
+        assertEquals(EXPIRED + UNUSED_OFFERS / 2, result.getVcOffers());
+
+        assertEquals(LIVE, count("transaction"));
+        assertEquals(LIVE * 3, count("sub_transaction"));
+        assertEquals(LIVE, count("e2e"));
+        assertEquals(LIVE, count("vc_profile"));
+        assertEquals(LIVE + UNUSED_OFFERS / 2, count("vc_offer"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from transaction where expired_at < current_timestamp", Integer.class));
+    }
+
+    @Test
+    @DisplayName("A run deletes at most its chunk limit and the next run continues")
+    void boundedByChunks() {
+        PurgeResult first = newJob(2).purge();
+        assertEquals(2 * CHUNK_SIZE, first.getTransactions());
+        assertEquals(EXPIRED + LIVE - 2 * CHUNK_SIZE, count("transaction"));
+
+        PurgeResult second = newJob(2).purge();
+        assertEquals(EXPIRED - 2 * CHUNK_SIZE, second.getTransactions());
+        assertEquals(LIVE, count("transaction"));
+        assertEquals(0, newJob(2).purge().total());
+    }
+
+    private TransactionPurgeJob newJob(int maxChunks) {
+        PurgeProperty property = new PurgeProperty();
+        property.setRetention(Duration.ofDays(7));
+        property.setChunkSize(CHUNK_SIZE);
+        property.setMaxChunks(maxChunks);
+        property.setChunkPause(Duration.ZERO);
+        return new TransactionPurgeJob(transactionPurgeQueryService, property, new SimpleMeterRegistry());
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.query;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims VC meta outbox entries against the Liquibase schema on H2.
+ */
+@DisplayName("VC Meta Outbox Claim")
+@IssuerJpaTest
+@Import(VcMetaOutboxQueryService.class)
+class VcMetaOutboxClaimTest {
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final Duration DEFER_DELAY = Duration.ofSeconds(2);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VcMetaOutboxQueryService vcMetaOutboxQueryService;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("delete from vc_meta_outbox");
+    }
+
+    @Test
+    @DisplayName("An entry after a failed entry of the same VC is claimed")
+    void failedPredecessorDoesNotBlock() {
+        insert(1, "vc-1", "FAILED", 10, 0);
+        insert(2, "vc-1", "PENDING", 0, 0);
+
+        assertEquals(List.of(2L), claimedIds());
+        assertEquals("IN_FLIGHT", status(2));
+        assertEquals(1, attempts(2));
+    }
+
+    @Test
+    @DisplayName("An entry after an outstanding entry of the same VC is postponed")
+    void outstandingPredecessorBlocks() {
+        insert(1, "vc-1", "PENDING", 0, 0);
+        insert(2, "vc-1", "PENDING", 0, 0);
+        insert(3, "vc-2", "IN_FLIGHT", 1, 60);
+        insert(4, "vc-2", "PENDING", 0, 0);
+
+        assertEquals(List.of(1L), claimedIds());
+        assertEquals("PENDING", status(2));
+        assertEquals(0, attempts(2));
+        assertEquals("PENDING", status(4));
+        assertTrue(dueLater(2));
+        assertTrue(dueLater(4));
+    }
+
+    @Test
+    @DisplayName("An in-flight entry is claimed again only after its lease expires")
+    void inFlightEntryKeepsItsLease() {
+        insert(1, "vc-1", "PENDING", 0, 0);
+
+        assertEquals(List.of(1L), claimedIds());
+        assertEquals(List.of(), claimedIds());
+
+        jdbcTemplate.update("update vc_meta_outbox set next_attempt_at = dateadd('SECOND', -1, current_timestamp) where id = 1");
+        assertEquals(List.of(1L), claimedIds());
+        assertEquals(2, attempts(1));
+    }
+
+    private List<Long> claimedIds() {
+        return vcMetaOutboxQueryService.claimDue(50, LEASE, DEFER_DELAY).stream()
+                .map(VcMetaOutbox::getId)
+                .toList();
+    }
+
+    private void insert(long id, String vcId, String status, int attempts, int dueInSeconds) {
+        jdbcTemplate.update("insert into vc_meta_outbox (id, vc_id, operation, payload, status, attempts, next_attempt_at) "
+                + "values (?, ?, 'REGISTER_VC_META', '{}', ?, ?, dateadd('SECOND', ?, current_timestamp))",
+                id, vcId, status, attempts, dueInSeconds);
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("select status from vc_meta_outbox where id = ?", String.class, id);
+    }
+
+    private int attempts(long id) {
+        return jdbcTemplate.queryForObject("select attempts from vc_meta_outbox where id = ?", Integer.class, id);
+    }
+
+    private boolean dueLater(long id) {
+        return jdbcTemplate.queryForObject(
+                "select next_attempt_at > current_timestamp from vc_meta_outbox where id = ?", Boolean.class, id);
+    }
+}
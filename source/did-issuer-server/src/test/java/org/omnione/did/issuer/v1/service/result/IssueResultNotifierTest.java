@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.result;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.constants.UrlConstant;
+import org.omnione.did.base.property.IssueResultProperty;
+import org.omnione.did.issuer.v1.controller.IssueController;
+import org.omnione.did.issuer.v1.dto.vc.IssueVcResultResDto;
+import org.omnione.did.issuer.v1.service.IssueService;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Issue Result Notifier")
+class IssueResultNotifierTest {
+    private static final String WAIT_URL = UrlConstant.Issuer.V1 + UrlConstant.Issuer.ISSUE_VC
+            + UrlConstant.Issuer.RESULT + UrlConstant.Issuer.WAIT;
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private IssueResultProperty property;
+    private IssueResultNotifier notifier;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        property = new IssueResultProperty();
+        notifier = new IssueResultNotifier(property, new SimpleMeterRegistry());
+        IssueService issueService = mock(IssueService.class);
+        when(issueService.issueVcResult(anyString())).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            return IssueVcResultResDto.builder()
+                    .txId(completed.get() ? "tx-1" : null)
+                    .offerId(invocation.getArgument(0))
+                    .result(completed.get())
+                    .build();
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new IssueController(issueService, notifier)).build();
+    }
+
+    @Test
+    @DisplayName("A completed issuance is answered right away")
+    void completedIsAnsweredRightAway() throws Exception {
+        completed.set(true);
+        MvcResult result = mockMvc.perform(get(WAIT_URL).param("offerId", "offer-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(true));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("A parked request is answered by the completion without reading the database again")
+    void parkedRequestIsAnsweredByCompletion() throws Exception {
+        MvcResult result = mockMvc.perform(get(WAIT_URL).param("offerId", "offer-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThrows(IllegalStateException.class, () -> result.getAsyncResult(0), "the request should still be parked");
+
+        notifier.notifyCompleted("offer-2", "tx-2");
+        notifier.notifyCompleted("offer-1", "tx-1");
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.txId").value("tx-1"))
+                .andExpect(jsonPath("$.result").value(true));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("A timed out request is answered with the current result")
+    void timeoutReturnsCurrentResult() throws Exception {
+        MvcResult result = mockMvc.perform(get(WAIT_URL).param("offerId", "offer-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value(false));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("Requests over the waiter limit are answered right away")
+    void waiterLimit() throws Exception {
+        property.setMaxWaiters(1);
+        mockMvc.perform(get(WAIT_URL).param("offerId", "offer-1"))
+                .andExpect(request().asyncStarted());
+
+        MvcResult result = mockMvc.perform(get(WAIT_URL).param("offerId", "offer-2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.offerId").value("offer-2"))
+                .andExpect(jsonPath("$.result").value(false));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.db.domain.E2E;
+import org.omnione.did.base.db.domain.VcProfile;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.SessionStoreProperty;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Memory Session Store")
+class MemorySessionStoreTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("A saved session is found until it is removed")
+    void saveFindRemove() {
+        MemorySessionStore sessionStore = newSessionStore(10);
+        IssueSession session = newSession(1L);
+
+        sessionStore.save("tx-1", session);
+        assertSame(session, sessionStore.find("tx-1"));
+
+        sessionStore.remove("tx-1");
+        assertInvalid(sessionStore, "tx-1");
+    }
+
+    @Test
+    @DisplayName("Sessions expire after the TTL")
+    void sessionExpires() {
+        MemorySessionStore sessionStore = newSessionStore(10);
+        sessionStore.save("tx-1", newSession(1L));
+
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertNotNull(sessionStore.find("tx-1"));
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertInvalid(sessionStore, "tx-1");
+    }
+
+    @Test
+    @DisplayName("The store is bounded in size")
+    void storeIsBounded() {
+        MemorySessionStore sessionStore = newSessionStore(100);
+        for (long i = 1; i <= 1000; i++) {
+            sessionStore.save("tx-" + i, newSession(i));
+        }
+
+        int found = 0;
+        for (long i = 1; i <= 1000; i++) {
+            try {
+                sessionStore.find("tx-" + i);
+                found++;
+            } catch (OpenDidException e) {
+                assertEquals(ErrorCode.TRANSACTION_INVALID, e.getErrorCode());
+            }
+        }
+        assertTrue(found <= 100, found + " sessions kept, bound is 100");
+    }
+
+    private MemorySessionStore newSessionStore(long maxSize) {
+        SessionStoreProperty property = new SessionStoreProperty();
+        property.setTtl(Duration.ofHours(1));
+        property.setMaxSize(maxSize);
+        return new MemorySessionStore(property, new SimpleMeterRegistry(), nanos::get, Runnable::run);
+    }
+
+    private static IssueSession newSession(Long transactionId) {
+        return IssueSession.builder()
+                .vcProfile(VcProfile.builder().transactionId(transactionId).profileId("profile-" + transactionId).build())
+                .e2e(E2E.builder().transactionId(transactionId).sessionKey("session-" + transactionId).build())
+                .build();
+    }
+
+    private static void assertInvalid(MemorySessionStore sessionStore, String txId) {
+        OpenDidException e = assertThrows(OpenDidException.class, () -> sessionStore.find(txId));
+        assertEquals(ErrorCode.TRANSACTION_INVALID, e.getErrorCode());
+    }
+}
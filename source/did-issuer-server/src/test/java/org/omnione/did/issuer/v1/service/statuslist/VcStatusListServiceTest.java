@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.statuslist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.db.IssuerJpaTest;
+import org.omnione.did.base.db.domain.Vc;
+import org.omnione.did.base.property.IssueProperty;
+import org.omnione.did.base.property.VcStatusListProperty;
+import org.omnione.did.base.util.BaseMultibaseUtil;
+import org.omnione.did.base.util.StatusListUtil;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.issuer.v1.dto.vc.StatusListResDto;
+import org.omnione.did.issuer.v1.service.FileWalletService;
+import org.omnione.did.issuer.v1.service.query.VcQueryService;
+import org.omnione.did.issuer.v1.service.query.VcStatusListQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Allocates status list indexes and publishes status lists against the Liquibase schema on H2.
+ */
+@DisplayName("VC Status List")
+@IssuerJpaTest
+@Import(VcStatusListQueryService.class)
+class VcStatusListServiceTest {
+    private static final String VC_PLAN_ID = "vcplanid000000000001";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VcStatusListQueryService vcStatusListQueryService;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("delete from vc_status_list");
+    }
+
+    @Test
+    @DisplayName("Indexes are handed out in order from reserved blocks and the list grows as needed")
+    void allocatesIndexes() {
+        VcStatusListService service = newService(8, 3);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, service.allocateIndex(VC_PLAN_ID));
+        }
+
+        assertEquals(21, jdbcTemplate.queryForObject(
+                "select next_index from vc_status_list where vc_plan_id = ?", Integer.class, VC_PLAN_ID));
+        assertEquals(32, jdbcTemplate.queryForObject(
+                "select capacity from vc_status_list where vc_plan_id = ?", Integer.class, VC_PLAN_ID));
+        // A second node continues after the block reserved by the first.
+        assertEquals(21, newService(8, 3).allocateIndex(VC_PLAN_ID));
+    }
+
+    @Test
+    @DisplayName("Status changes are published in the compressed list and a revoked entry stays revoked")
+    void publishesStatusChanges() throws IOException {
+        VcStatusListService service = newService(1024, 50);
+        Vc first = vc(service.allocateIndex(VC_PLAN_ID));
+        Vc second = vc(service.allocateIndex(VC_PLAN_ID));
+        Vc third = vc(service.allocateIndex(VC_PLAN_ID));
+
+        StatusListResDto initial = service.getStatusList(VC_PLAN_ID);
+        service.updateStatus(first, VcStatus.REVOKED);
+        service.updateStatus(second, VcStatus.INACTIVE);
+        service.updateStatus(first, VcStatus.ACTIVE);
+
+        StatusListResDto updated = service.getStatusList(VC_PLAN_ID);
+        assertEquals(initial.getVersion() + 2, updated.getVersion());
+        assertEquals(1024, updated.getSize());
+        assertNotNull(updated.getProof().getProofValue());
+
+        byte[] bits = decode(updated.getEncodedList());
+        assertEquals(StatusListUtil.byteLength(1024, StatusListUtil.STATUS_SIZE), bits.length);
+        assertEquals(StatusListUtil.REVOKED, StatusListUtil.read(bits, updated.getStatusSize(), first.getStatusListIndex()));
+        assertEquals(StatusListUtil.INACTIVE, StatusListUtil.read(bits, updated.getStatusSize(), second.getStatusListIndex()));
+        assertEquals(StatusListUtil.ACTIVE, StatusListUtil.read(bits, updated.getStatusSize(), third.getStatusListIndex()));
+    }
+
+    private VcStatusListService newService(int initialCapacity, int blockSize) {
+        VcStatusListProperty property = new VcStatusListProperty();
+        property.setInitialCapacity(initialCapacity);
+        property.setBlockSize(blockSize);
+        property.setMaxAge(Duration.ofMinutes(1));
+        IssueProperty issueProperty = new IssueProperty();
+        issueProperty.setDid("did:omn:issuer");
+        issueProperty.setDomain("http://127.0.0.1:8091/issuer");
+        issueProperty.setAssertSignKeyId("assert");
+        FileWalletService walletService = mock(FileWalletService.class);
+        when(walletService.generateCompactSignature(anyString(), anyString())).thenReturn(new byte[65]);
+        return new VcStatusListService(vcStatusListQueryService, mock(VcQueryService.class), walletService,
+                issueProperty, property);
+    }
+
+    private static Vc vc(int statusListIndex) {
+        return Vc.builder()
+                .vcPlanId(VC_PLAN_ID)
+                .statusListIndex(statusListIndex)
+                .build();
+    }
+
+    private static byte[] decode(String encodedList) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(BaseMultibaseUtil.decode(encodedList)))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Coalescing Storage Service")
+class CoalescingStorageServiceTest {
+    private static final int CALLERS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent findDidDoc calls for the same key share one backend call")
+    void findDidDocCoalesced() throws Exception {
+        BlockingStorageService backend = new BlockingStorageService(null);
+        CoalescingStorageService storageService = new CoalescingStorageService(backend);
+
+        List<Future<DidDocument>> results = callConcurrently(() -> storageService.findDidDoc("did:omn:holder?versionId=1#pin"), backend);
+
+        DidDocument first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<DidDocument> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, backend.didDocCalls.get());
+    }
+
+    @Test
+    @DisplayName("Concurrent getVcMetByVcId calls share one backend call and its error")
+    void getVcMetaErrorShared() throws Exception {
+        OpenDidException failure = new OpenDidException(ErrorCode.BLOCKCHAIN_VC_META_RETRIEVAL_FAILED);
+        BlockingStorageService backend = new BlockingStorageService(failure);
+        CoalescingStorageService storageService = new CoalescingStorageService(backend);
+
+        List<Future<VcMeta>> results = callConcurrently(() -> storageService.getVcMetByVcId("vc-1"), backend);
+
+        for (Future<VcMeta> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, backend.vcMetaCalls.get());
+    }
+
+    @Test
+    @DisplayName("Sequential calls are not cached")
+    void sequentialCallsNotCoalesced() {
+        BlockingStorageService backend = new BlockingStorageService(null);
+        backend.release.countDown();
+        CoalescingStorageService storageService = new CoalescingStorageService(backend);
+
+        storageService.findDidDoc("did:omn:holder");
+        storageService.findDidDoc("did:omn:holder");
+
+        assertEquals(2, backend.didDocCalls.get());
+    }
+
+    /**
+     * Starts CALLERS concurrent calls and releases the backend once every caller other than
+     * the one running the backend call is parked waiting for it.
+     */
+    private <T> List<Future<T>> callConcurrently(Callable<T> call, BlockingStorageService backend) throws Exception {
+        List<Thread> callers = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                callers.add(Thread.currentThread());
+                start.await();
+                arrived.incrementAndGet();
+                return call.call();
+            }));
+        }
+        start.countDown();
+
+        assertTrue(backend.entered.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (arrived.get() < CALLERS || countWaiting(callers, backend.caller) < CALLERS - 1) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the in-flight call");
+            Thread.sleep(5);
+        }
+        backend.release.countDown();
+        return results;
+    }
+
+    private static long countWaiting(List<Thread> callers, Thread leader) {
+        return callers.stream()
+                .filter(thread -> thread != leader)
+                .filter(thread -> thread.getState() == Thread.State.WAITING)
+                .count();
+    }
+
+    /**
+     * Backend stub that counts calls and blocks until released.
+     */
+    private static class BlockingStorageService implements StorageService {
+        private final AtomicInteger didDocCalls = new AtomicInteger();
+        private final AtomicInteger vcMetaCalls = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final RuntimeException failure;
+        private volatile Thread caller;
+
+        BlockingStorageService(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public DidDocument findDidDoc(String didKeyUrl) {
+            didDocCalls.incrementAndGet();
+            block();
+            return new DidDocument();
+        }
+
+        @Override
+        public VcMeta getVcMetByVcId(String vcId) {
+            vcMetaCalls.incrementAndGet();
+            block();
+            return new VcMeta();
+        }
+
+        @Override
+        public void registerVcMeta(VcMeta vcMeta) {
+        }
+
+        @Override
+        public void updateVcStatus(String vcId, VcStatus vcStatus) {
+        }
+
+        private void block() {
+            caller = Thread.currentThread();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.ContractApi;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.BlockChainPoolProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Contract API Pool")
+class ContractApiPoolTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger created = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private ContractApiPool pool;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Gateways are created on first use and reused afterwards")
+    void lazyCreation() {
+        pool = newPool(2, 0);
+        assertEquals(0, created.get());
+
+        ContractApi first = pool.execute("op", contractApi -> contractApi);
+        ContractApi second = pool.execute("op", contractApi -> contractApi);
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(2, meterRegistry.get("issuer.blockchain.operation").tag("operation", "op").timer().count());
+    }
+
+    @Test
+    @DisplayName("A gateway that lost its connection is replaced")
+    void brokenGatewayReplaced() {
+        pool = newPool(1, 0);
+        ContractApi broken = pool.execute("op", contractApi -> contractApi);
+
+        OpenDidException failure = new OpenDidException(ErrorCode.BLOCKCHAIN_CONNECTION_FAILED);
+        assertSame(failure, assertThrows(OpenDidException.class, () -> pool.run("op", contractApi -> {
+            throw failure;
+        })));
+
+        ContractApi replacement = pool.execute("op", contractApi -> contractApi);
+        assertNotSame(broken, replacement);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    @DisplayName("A gateway is kept when the ledger rejects the request")
+    void gatewayKeptOnLedgerError() {
+        pool = newPool(1, 0);
+        ContractApi gateway = pool.execute("op", contractApi -> contractApi);
+
+        assertThrows(OpenDidException.class, () -> pool.run("op", contractApi -> {
+            throw new OpenDidException(ErrorCode.BLOCKCHAIN_VC_META_RETRIEVAL_FAILED);
+        }));
+
+        assertSame(gateway, pool.execute("op", contractApi -> contractApi));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    @DisplayName("Callers beyond the pool size and queue capacity are rejected")
+    void rejectedWhenBusy() throws Exception {
+        pool = newPool(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        running.add(executor.submit(() -> pool.run("op", contractApi -> {
+            started.countDown();
+            await(release);
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        running.add(executor.submit(() -> pool.run("op", contractApi -> { })));
+        while (meterRegistry.get("issuer.blockchain.pool.queue").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+
+        OpenDidException e = assertThrows(OpenDidException.class, () -> pool.run("op", contractApi -> { }));
+        assertEquals(ErrorCode.BLOCKCHAIN_BUSY, e.getErrorCode());
+        assertEquals(1, meterRegistry.get("issuer.blockchain.rejected").counter().count());
+
+        release.countDown();
+        for (Future<?> future : running) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, created.get());
+    }
+
+    private ContractApiPool newPool(int size, int queueCapacity) {
+        BlockChainPoolProperty property = new BlockChainPoolProperty();
+        property.setSize(size);
+        property.setQueueCapacity(queueCapacity);
+        property.setMaxWait(Duration.ofSeconds(5));
+        return new ContractApiPool(() -> {
+            created.incrementAndGet();
+            return mock(ContractApi.class);
+        }, contractApi -> true, property, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
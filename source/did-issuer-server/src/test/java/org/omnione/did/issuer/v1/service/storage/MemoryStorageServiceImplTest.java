@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.MemoryStorageProperty;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.provider.Provider;
+import org.omnione.did.data.model.vc.CredentialSchema;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.MemoryStorageServiceImpl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Memory Storage Service")
+class MemoryStorageServiceImplTest {
+    private static final String HOLDER_DID_DOC = """
+            {"@context":["https://www.w3.org/ns/did/v1"],"assertionMethod":["pin"],"authentication":["pin"],"controller":"did:omn:tas","created":"2024-07-12T08:35:16Z","deactivated":false,"id":"did:omn:holder","keyAgreement":["keyagree"],"updated":"2024-07-12T08:35:17Z","verificationMethod":[{"authType":1,"controller":"did:omn:holder","id":"pin","publicKeyMultibase":"z27ynpQpiC4sTdUrchjPkHLb5vFHzW8TSjbKz3vDV2eDSU","type":"Secp256r1VerificationKey2018"},{"authType":1,"controller":"did:omn:holder","id":"keyagree","publicKeyMultibase":"z27ynpQpiC4sTdUrchjPkHLb5vFHzW8TSjbKz3vDV2eDSU","type":"Secp256r1VerificationKey2018"}],"versionId":"1"}
+            """;
+
+    @TempDir
+    private Path seedDir;
+
+    @Test
+    @DisplayName("Seeded DID documents and VC metas are served and VC status updates are stored")
+    void seedAndUpdate() throws Exception {
+        Files.createDirectories(seedDir.resolve("did-docs"));
+        Files.createDirectories(seedDir.resolve("vc-metas"));
+        Files.writeString(seedDir.resolve("did-docs/holder.json"), HOLDER_DID_DOC);
+        Files.writeString(seedDir.resolve("vc-metas/vc-1.json"), vcMeta("vc-1").toJson());
+
+        MemoryStorageProperty property = new MemoryStorageProperty();
+        property.setDidDocSeed(seedDir.toUri() + "did-docs/*.json");
+        property.setVcMetaSeed(seedDir.toUri() + "vc-metas/*.json");
+        MemoryStorageServiceImpl storageService = new MemoryStorageServiceImpl(property);
+        storageService.seed();
+
+        assertEquals("did:omn:holder", storageService.findDidDoc("did:omn:holder?versionId=1#pin").getId());
+        VcMeta seeded = storageService.getVcMetByVcId("vc-1");
+        storageService.updateVcStatus("vc-1", VcStatus.REVOKED);
+
+        assertEquals(VcStatus.ACTIVE.getRawValue(), seeded.getStatus());
+        assertEquals(VcStatus.REVOKED.getRawValue(), storageService.getVcMetByVcId("vc-1").getStatus());
+        OpenDidException notFound = assertThrows(OpenDidException.class, () -> storageService.findDidDoc("did:omn:unknown#pin"));
+        assertEquals(ErrorCode.DID_DOC_NOT_FOUND, notFound.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Calls fail at the configured error rate")
+    void errorRate() {
+        MemoryStorageProperty property = new MemoryStorageProperty();
+        property.setWriteErrorRate(1.0);
+        MemoryStorageServiceImpl storageService = new MemoryStorageServiceImpl(property);
+
+        OpenDidException injected = assertThrows(OpenDidException.class, () -> storageService.registerVcMeta(vcMeta("vc-1")));
+        assertEquals(ErrorCode.STORAGE_INJECTED_FAILURE, injected.getErrorCode());
+        assertThrows(OpenDidException.class, () -> storageService.getVcMetByVcId("vc-1"));
+    }
+
+    @Test
+    @DisplayName("Asynchronous calls complete after the configured latency without blocking the caller")
+    void latency() {
+        MemoryStorageProperty property = new MemoryStorageProperty();
+        property.getWriteLatency().setDistribution(MemoryStorageProperty.Distribution.FIXED);
+        property.getWriteLatency().setMean(Duration.ofMillis(200));
+        MemoryStorageServiceImpl storageService = new MemoryStorageServiceImpl(property);
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> registration = storageService.registerVcMetaAsync(vcMeta("vc-1"));
+        assertFalse(registration.isDone());
+        registration.join();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(200)) >= 0);
+        assertEquals("vc-1", storageService.getVcMetByVcId("vc-1").getId());
+    }
+
+    private static VcMeta vcMeta(String vcId) {
+        Provider issuer = new Provider();
+        issuer.setDid("did:omn:issuer");
+        issuer.setCertVcRef("http://127.0.0.1:8091/issuer/api/v1/certificate-vc");
+
+        CredentialSchema credentialSchema = new CredentialSchema();
+        credentialSchema.setId("http://127.0.0.1:8091/issuer/api/v1/vc/vcschema?name=mdl");
+        credentialSchema.setType("OsdSchemaCredential");
+
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId(vcId);
+        vcMeta.setIssuer(issuer);
+        vcMeta.setSubject("did:omn:holder");
+        vcMeta.setCredentialSchema(credentialSchema);
+        vcMeta.setStatus(VcStatus.ACTIVE.getRawValue());
+        vcMeta.setIssuanceDate("2024-07-12T08:35:16Z");
+        vcMeta.setValidFrom("2024-07-12T08:35:16Z");
+        vcMeta.setValidUntil("2025-07-12T08:35:16Z");
+        vcMeta.setFormatVersion("1.0");
+        vcMeta.setLanguage("ko");
+        return vcMeta;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.StorageResilienceProperty;
+import org.omnione.did.base.response.ErrorResponse;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Resilient Storage Service")
+class ResilientStorageServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubStorageService backend = new StubStorageService();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        backend.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("The circuit opens on sustained failures, rejects fast and closes after successful trial calls")
+    void circuitBreaker() throws Exception {
+        StorageResilienceProperty property = new StorageResilienceProperty();
+        property.getCircuitBreaker().setWindowSize(10);
+        property.getCircuitBreaker().setMinimumCalls(4);
+        property.getCircuitBreaker().setOpenDuration(Duration.ofMillis(200));
+        property.getCircuitBreaker().setHalfOpenCalls(2);
+        ResilientStorageService storageService = new ResilientStorageService(backend, property, meterRegistry);
+
+        backend.failure = new IllegalStateException("ledger down");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> storageService.getVcMetByVcId("vc-1"));
+        }
+        OpenDidException rejected = assertThrows(OpenDidException.class, () -> storageService.getVcMetByVcId("vc-1"));
+        assertEquals(ErrorCode.STORAGE_UNAVAILABLE, rejected.getErrorCode());
+        assertEquals(4, backend.vcMetaCalls.get());
+        assertEquals(CircuitBreaker.State.OPEN, storageService.getCircuitState());
+        assertEquals(1, meterRegistry.get("issuer.storage.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(1, meterRegistry.get("issuer.storage.rejected").tag("reason", "circuit_open").counter().count());
+
+        Thread.sleep(250);
+        backend.failure = null;
+        storageService.getVcMetByVcId("vc-1");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, storageService.getCircuitState());
+        storageService.getVcMetByVcId("vc-1");
+        assertEquals(CircuitBreaker.State.CLOSED, storageService.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Error responses of the storage trip the circuit only with a 5xx status")
+    void relayedErrors() {
+        StorageResilienceProperty property = new StorageResilienceProperty();
+        property.getCircuitBreaker().setWindowSize(10);
+        property.getCircuitBreaker().setMinimumCalls(4);
+        ResilientStorageService storageService = new ResilientStorageService(backend, property, meterRegistry);
+
+        backend.failure = new OpenDidException(new ErrorResponse("SRDI00001", "VC not found"), 404);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(OpenDidException.class, () -> storageService.getVcMetByVcId("vc-1"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, storageService.getCircuitState());
+
+        backend.failure = new OpenDidException(new ErrorResponse("SRDI00500", "ledger down"), 500);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(OpenDidException.class, () -> storageService.getVcMetByVcId("vc-1"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, storageService.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("An asynchronous call beyond the bulkhead waits without blocking its caller")
+    void bulkheadAsync() throws Exception {
+        StorageResilienceProperty property = new StorageResilienceProperty();
+        property.getBulkhead().setMaxConcurrent(2);
+        property.getBulkhead().setMaxWait(Duration.ofSeconds(5));
+        ResilientStorageService storageService = new ResilientStorageService(backend, property, meterRegistry);
+        backend.blockUpdates = true;
+
+        Future<?> first = executor.submit(() -> storageService.updateVcStatus("vc-1", VcStatus.REVOKED));
+        Future<?> second = executor.submit(() -> storageService.updateVcStatus("vc-2", VcStatus.REVOKED));
+        assertTrue(backend.updatesEntered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> third = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> storageService.updateVcStatusAsync("vc-3", VcStatus.REVOKED));
+        assertFalse(third.isDone());
+
+        backend.release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+        assertEquals(0, meterRegistry.get("issuer.storage.rejected").tag("reason", "bulkhead").counter().count());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the bulkhead are rejected once the wait times out")
+    void bulkhead() throws Exception {
+        StorageResilienceProperty property = new StorageResilienceProperty();
+        property.getBulkhead().setMaxConcurrent(2);
+        property.getBulkhead().setMaxWait(Duration.ofMillis(50));
+        ResilientStorageService storageService = new ResilientStorageService(backend, property, meterRegistry);
+        backend.blockUpdates = true;
+
+        Future<?> first = executor.submit(() -> storageService.updateVcStatus("vc-1", VcStatus.REVOKED));
+        Future<?> second = executor.submit(() -> storageService.updateVcStatus("vc-2", VcStatus.REVOKED));
+        assertTrue(backend.updatesEntered.await(5, TimeUnit.SECONDS));
+
+        OpenDidException rejected = assertThrows(OpenDidException.class,
+                () -> storageService.updateVcStatus("vc-3", VcStatus.REVOKED));
+        assertEquals(ErrorCode.STORAGE_BUSY, rejected.getErrorCode());
+        assertEquals(1, meterRegistry.get("issuer.storage.rejected").tag("reason", "bulkhead").counter().count());
+        assertEquals(2, meterRegistry.get("issuer.storage.bulkhead.active").gauge().value());
+
+        backend.release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(0, meterRegistry.get("issuer.storage.bulkhead.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("A slow read is hedged and the first answer wins")
+    void hedgedRead() {
+        StorageResilienceProperty property = new StorageResilienceProperty();
+        property.getHedge().setEnabled(true);
+        property.getHedge().setMaxDelay(Duration.ofMillis(50));
+        ResilientStorageService storageService = new ResilientStorageService(backend, property, meterRegistry);
+        backend.blockFirstLookup = true;
+
+        VcMeta vcMeta = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> storageService.getVcMetByVcId("vc-1"));
+
+        assertEquals("vc-1", vcMeta.getId());
+        assertEquals(2, backend.vcMetaCalls.get());
+        assertEquals(1, meterRegistry.get("issuer.storage.hedged").tag("operation", "getVcMetByVcId").counter().count());
+    }
+
+    /**
+     * Backend stub that can fail, or block until released.
+     */
+    private static class StubStorageService implements StorageService {
+        private final AtomicInteger vcMetaCalls = new AtomicInteger();
+        private final CountDownLatch updatesEntered = new CountDownLatch(2);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+        private volatile boolean blockUpdates;
+        private volatile boolean blockFirstLookup;
+
+        @Override
+        public DidDocument findDidDoc(String didKeyUrl) {
+            return new DidDocument();
+        }
+
+        @Override
+        public VcMeta getVcMetByVcId(String vcId) {
+            if (vcMetaCalls.incrementAndGet() == 1 && blockFirstLookup) {
+                await();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            VcMeta vcMeta = new VcMeta();
+            vcMeta.setId(vcId);
+            return vcMeta;
+        }
+
+        @Override
+        public void registerVcMeta(VcMeta vcMeta) {
+        }
+
+        @Override
+        public void updateVcStatus(String vcId, VcStatus vcStatus) {
+            if (blockUpdates) {
+                updatesEntered.countDown();
+                await();
+            }
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
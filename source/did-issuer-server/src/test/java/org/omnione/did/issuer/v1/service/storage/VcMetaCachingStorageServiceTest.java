@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.StorageCacheProperty;
+import org.omnione.did.data.model.did.DidDocument;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VC Meta Caching Storage Service")
+class VcMetaCachingStorageServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryStorageService backend = new InMemoryStorageService();
+    private final VcMetaCachingStorageService storageService =
+            new VcMetaCachingStorageService(backend, new StorageCacheProperty.CacheSpec(), meterRegistry);
+
+    @Test
+    @DisplayName("Lookups are read through and served from the cache afterwards")
+    void readThrough() {
+        backend.vcMetas.put("vc-1", vcMeta("vc-1", VcStatus.ACTIVE));
+
+        VcMeta first = storageService.getVcMetByVcId("vc-1");
+        VcMeta second = storageService.getVcMetByVcId("vc-1");
+
+        assertSame(first, second);
+        assertEquals(1, backend.lookups.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "vc-meta").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Registered VC meta and status updates are visible without a lookup")
+    void writeThrough() {
+        VcMeta registered = vcMeta("vc-1", VcStatus.ACTIVE);
+        storageService.registerVcMeta(registered);
+        assertSame(registered, storageService.getVcMetByVcId("vc-1"));
+
+        storageService.updateVcStatus("vc-1", VcStatus.REVOKED);
+
+        VcMeta updated = storageService.getVcMetByVcId("vc-1");
+        assertEquals(VcStatus.REVOKED.getRawValue(), updated.getStatus());
+        assertEquals(VcStatus.ACTIVE.getRawValue(), registered.getStatus());
+        assertEquals(0, backend.lookups.get());
+    }
+
+    @Test
+    @DisplayName("A failed status update or a manual eviction drops the cached entry")
+    void invalidation() {
+        backend.vcMetas.put("vc-1", vcMeta("vc-1", VcStatus.ACTIVE));
+        storageService.getVcMetByVcId("vc-1");
+
+        backend.failUpdates = true;
+        assertThrows(OpenDidException.class, () -> storageService.updateVcStatus("vc-1", VcStatus.REVOKED));
+        storageService.getVcMetByVcId("vc-1");
+        assertEquals(2, backend.lookups.get());
+
+        storageService.evictVcMeta("vc-1");
+        storageService.getVcMetByVcId("vc-1");
+        assertEquals(3, backend.lookups.get());
+    }
+
+    @Test
+    @DisplayName("A non-blocking lookup that overlaps a status update is not cached")
+    void overlappingLookupIsDiscarded() {
+        CompletableFuture<VcMeta> lookup = new CompletableFuture<>();
+        backend.pendingLookup = lookup;
+        CompletableFuture<VcMeta> loaded = storageService.getVcMetByVcIdAsync("vc-1");
+
+        storageService.updateVcStatus("vc-1", VcStatus.REVOKED);
+        backend.vcMetas.put("vc-1", vcMeta("vc-1", VcStatus.REVOKED));
+        lookup.complete(vcMeta("vc-1", VcStatus.ACTIVE));
+
+        assertEquals(VcStatus.ACTIVE.getRawValue(), loaded.join().getStatus());
+        assertEquals(VcStatus.REVOKED.getRawValue(), storageService.getVcMetByVcId("vc-1").getStatus());
+        assertEquals(1, backend.lookups.get());
+    }
+
+    private static VcMeta vcMeta(String vcId, VcStatus vcStatus) {
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId(vcId);
+        vcMeta.setStatus(vcStatus.getRawValue());
+        return vcMeta;
+    }
+
+    private static class InMemoryStorageService implements StorageService {
+        private final Map<String, VcMeta> vcMetas = new HashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private boolean failUpdates;
+        private CompletableFuture<VcMeta> pendingLookup;
+
+        @Override
+        public DidDocument findDidDoc(String didKeyUrl) {
+            return null;
+        }
+
+        @Override
+        public void registerVcMeta(VcMeta vcMeta) {
+            vcMetas.put(vcMeta.getId(), vcMeta);
+        }
+
+        @Override
+        public void updateVcStatus(String vcId, VcStatus vcStatus) {
+            if (failUpdates) {
+                throw new OpenDidException(ErrorCode.BLOCKCHAIN_VC_STATUS_UPDATE_FAILED);
+            }
+        }
+
+        @Override
+        public VcMeta getVcMetByVcId(String vcId) {
+            lookups.incrementAndGet();
+            return vcMetas.get(vcId);
+        }
+
+        @Override
+        public CompletableFuture<VcMeta> getVcMetByVcIdAsync(String vcId) {
+            return pendingLookup != null ? pendingLookup : CompletableFuture.completedFuture(getVcMetByVcId(vcId));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 OmniOne.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.omnione.did.issuer.v1.service.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.omnione.did.base.datamodel.data.VcStatusUpdate;
+import org.omnione.did.base.db.constant.VcMetaOutboxOperation;
+import org.omnione.did.base.db.constant.VcMetaOutboxStatus;
+import org.omnione.did.base.db.domain.VcMetaOutbox;
+import org.omnione.did.base.exception.ErrorCode;
+import org.omnione.did.base.exception.OpenDidException;
+import org.omnione.did.base.property.OutboxProperty;
+import org.omnione.did.data.model.enums.vc.VcStatus;
+import org.omnione.did.data.model.vc.VcMeta;
+import org.omnione.did.issuer.v1.service.StorageService;
+import org.omnione.did.issuer.v1.service.VcMetaOutboxDispatcher;
+import org.omnione.did.issuer.v1.service.query.VcMetaOutboxQueryService;
+import org.omnione.did.issuer.v1.service.statuslist.VcStatusListService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Dispatches revocations of superseded VCs from the VC meta outbox against a mocked storage.
+ */
+@DisplayName("VC Meta Outbox Revocation")
+class VcMetaOutboxRevocationTest {
+    private final VcMetaOutboxQueryService vcMetaOutboxQueryService = mock(VcMetaOutboxQueryService.class);
+    private final StorageService storageService = mock(StorageService.class);
+    private final VcStatusListService vcStatusListService = mock(VcStatusListService.class);
+    private final VcMetaOutboxDispatcher dispatcher = new VcMetaOutboxDispatcher(vcMetaOutboxQueryService,
+            storageService, new OutboxProperty(), vcStatusListService);
+
+    @Test
+    @DisplayName("An active VC is revoked on the storage and in its status list")
+    void revokesActiveVc() {
+        VcMetaOutbox entry = claim(revocation("vc-1"));
+        when(storageService.getVcMetByVcIdAsync("vc-1"))
+                .thenReturn(CompletableFuture.completedFuture(vcMeta(VcStatus.ACTIVE)));
+        when(storageService.updateVcStatusAsync("vc-1", VcStatus.REVOKED))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        dispatcher.dispatch();
+
+        verify(storageService).evictVcMeta("vc-1");
+        verify(storageService).updateVcStatusAsync("vc-1", VcStatus.REVOKED);
+        verify(vcStatusListService).updateStatus("vcplanid000000000001", 7, VcStatus.REVOKED);
+        assertEquals(VcMetaOutboxStatus.COMPLETED, entry.getStatus());
+    }
+
+    @Test
+    @DisplayName("A retried revocation of a VC that is already revoked does not update the storage again")
+    void skipsRevokedVc() {
+        VcMetaOutbox entry = claim(revocation("vc-1"));
+        when(storageService.getVcMetByVcIdAsync("vc-1"))
+                .thenReturn(CompletableFuture.completedFuture(vcMeta(VcStatus.REVOKED)));
+
+        dispatcher.dispatch();
+
+        verify(storageService, never()).updateVcStatusAsync(anyString(), any());
+        verify(vcStatusListService).updateStatus("vcplanid000000000001", 7, VcStatus.REVOKED);
+        assertEquals(VcMetaOutboxStatus.COMPLETED, entry.getStatus());
+    }
+
+    @Test
+    @DisplayName("A failed revocation stays pending for a retry")
+    void retriesFailedRevocation() {
+        VcMetaOutbox entry = claim(revocation("vc-1"));
+        when(storageService.getVcMetByVcIdAsync("vc-1"))
+                .thenReturn(CompletableFuture.failedFuture(new OpenDidException(ErrorCode.STORAGE_UNAVAILABLE)));
+
+        dispatcher.dispatch();
+
+        verifyNoInteractions(vcStatusListService);
+        assertEquals(VcMetaOutboxStatus.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertTrue(entry.getNextAttemptAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("A revocation that times out is not retried before its lease ends")
+    void timedOutRevocationKeepsItsLease() {
+        OutboxProperty property = new OutboxProperty();
+        property.setLease(Duration.ofMillis(100));
+        VcMetaOutboxDispatcher dispatcher = new VcMetaOutboxDispatcher(vcMetaOutboxQueryService,
+                storageService, property, vcStatusListService);
+        Instant leaseEnd = Instant.now().plus(Duration.ofMinutes(5));
+        VcMetaOutbox entry = claim(revocation("vc-1"));
+        entry.setNextAttemptAt(leaseEnd);
+        when(storageService.getVcMetByVcIdAsync("vc-1")).thenReturn(new CompletableFuture<>());
+
+        dispatcher.dispatch();
+
+        assertEquals(VcMetaOutboxStatus.PENDING, entry.getStatus());
+        assertEquals(leaseEnd, entry.getNextAttemptAt());
+    }
+
+    private VcMetaOutbox claim(VcMetaOutbox entry) {
+        when(vcMetaOutboxQueryService.claimDue(anyInt(), any(), any())).thenReturn(List.of(entry));
+        return entry;
+    }
+
+    private static VcMetaOutbox revocation(String vcId) {
+        return VcMetaOutbox.builder()
+                .id(1L)
+                .vcId(vcId)
+                .operation(VcMetaOutboxOperation.UPDATE_VC_STATUS)
+                .payload(VcStatusUpdate.builder()
+                        .vcStatus(VcStatus.REVOKED.getRawValue())
+                        .vcPlanId("vcplanid000000000001")
+                        .statusListIndex(7)
+                        .build()
+                        .toJson())
+                .status(VcMetaOutboxStatus.IN_FLIGHT)
+                .attempts(1)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+
+    private static VcMeta vcMeta(VcStatus status) {
+        VcMeta vcMeta = new VcMeta();
+        vcMeta.setId("vc-1");
+        vcMeta.setStatus(status.getRawValue());
+        return vcMeta;
+    }
+}